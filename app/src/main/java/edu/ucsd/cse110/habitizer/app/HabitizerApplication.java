@@ -1,23 +1,42 @@
 package edu.ucsd.cse110.habitizer.app;
 
 import android.app.Application;
+import android.content.pm.ApplicationInfo;
+import android.util.Log;
 
 import androidx.room.Room;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import edu.ucsd.cse110.habitizer.app.data.db.AsyncRoomRoutineRepository;
 import edu.ucsd.cse110.habitizer.app.data.db.HabitizerDatabase;
 import edu.ucsd.cse110.habitizer.app.data.db.RoomRoutineRepository;
-import edu.ucsd.cse110.habitizer.lib.data.InMemoryDataSource;
-import edu.ucsd.cse110.habitizer.lib.domain.RoutineRepository;
+import edu.ucsd.cse110.habitizer.lib.data.ConcurrentDataSource;
+import edu.ucsd.cse110.habitizer.lib.data.RoutineDataSource;
+import edu.ucsd.cse110.habitizer.lib.domain.AsyncRoutineRepository;
+import edu.ucsd.cse110.habitizer.lib.domain.ExecutorRoutineRepository;
 import edu.ucsd.cse110.habitizer.lib.domain.SimpleRoutineRepository;
+import edu.ucsd.cse110.observables.Instrumentation;
 
 public class HabitizerApplication extends Application {
-    private RoutineRepository routineRepository;
+    private AsyncRoutineRepository routineRepository;
+    // The one background thread for the database: queries, writes and mapping rows to
+    // routines. It lives as long as the app, so it is a daemon and never shut down.
+    private final ExecutorService databaseExecutor = Executors.newSingleThreadExecutor(task -> {
+        var thread = new Thread(task, "habitizer-database");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @Override
     public void onCreate() {
         super.onCreate();
 
-        InMemoryDataSource dataSource = InMemoryDataSource.fromDefault();
+        // Measure subjects in debug builds; the numbers are logged when the UI goes away
+        Instrumentation.setEnabled((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0);
+
+        RoutineDataSource dataSource = ConcurrentDataSource.fromDefault();
 
         boolean useRoom = true;
 
@@ -26,28 +45,34 @@ public class HabitizerApplication extends Application {
                             getApplicationContext(),
                             HabitizerDatabase.class,
                             "habitizer-database")
-                    .allowMainThreadQueries()
+                    .addMigrations(HabitizerDatabase.MIGRATION_1_2)
                     .build();
-            routineRepository = new RoomRoutineRepository(
-                    database.routineDao(), database.routineTaskDao());
+            // Queries and writes run on the repository's own thread, never on the main one
+            routineRepository = new AsyncRoomRoutineRepository(new RoomRoutineRepository(
+                    database.routineDao(), database.routineTaskDao(), databaseExecutor), databaseExecutor);
 
             var sharedPreferences = getSharedPreferences("habitizer", MODE_PRIVATE);
             var isFirstRun = sharedPreferences.getBoolean("isFirstRun", true);
 
             if (isFirstRun) {
-                var routines = dataSource.findRoutineList().getValue();
-
-                for (var routine : routines) {
-                    routineRepository.saveRoutine(routine);
-                }
-                sharedPreferences.edit().putBoolean("isFirstRun", false).apply();
+                routineRepository.saveRoutines(dataSource.findRoutineList().getValue())
+                        .thenRun(() -> sharedPreferences.edit().putBoolean("isFirstRun", false).apply());
             }
         } else {
-            routineRepository = new SimpleRoutineRepository(dataSource);
+            // In memory, so nothing blocks
+            routineRepository = ExecutorRoutineRepository.immediate(new SimpleRoutineRepository(dataSource));
+        }
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (level == TRIM_MEMORY_UI_HIDDEN && Instrumentation.isEnabled()) {
+            Log.d("Instrumentation", Instrumentation.dump());
         }
     }
 
-    public RoutineRepository getRoutineRepository() {
+    public AsyncRoutineRepository getRoutineRepository() {
 
         return routineRepository;
     }
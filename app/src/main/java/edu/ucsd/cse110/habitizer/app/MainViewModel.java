@@ -2,32 +2,52 @@ package edu.ucsd.cse110.habitizer.app;
 
 import static androidx.lifecycle.ViewModelProvider.AndroidViewModelFactory.APPLICATION_KEY;
 
-import android.os.Handler;
-import android.os.Looper;
-import android.os.SystemClock;
-
 import androidx.lifecycle.ViewModel;
 import androidx.lifecycle.viewmodel.ViewModelInitializer;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+import edu.ucsd.cse110.habitizer.app.util.HandlerScheduler;
+import edu.ucsd.cse110.habitizer.lib.domain.AsyncRoutineRepository;
+import edu.ucsd.cse110.habitizer.lib.domain.Clock;
+import edu.ucsd.cse110.habitizer.lib.domain.Deadline;
 import edu.ucsd.cse110.habitizer.lib.domain.ElapsedTimer;
-import edu.ucsd.cse110.habitizer.lib.domain.RegularTimer;
+import edu.ucsd.cse110.habitizer.lib.domain.ExecutorRoutineRepository;
+import edu.ucsd.cse110.habitizer.lib.domain.MonotonicTimer;
 import edu.ucsd.cse110.habitizer.lib.domain.Routine;
 import edu.ucsd.cse110.habitizer.lib.domain.RoutineRepository;
 import edu.ucsd.cse110.habitizer.lib.domain.RoutineTask;
+import edu.ucsd.cse110.habitizer.lib.domain.Scheduler;
+import edu.ucsd.cse110.habitizer.lib.domain.TickSource;
 import edu.ucsd.cse110.habitizer.lib.util.MutableSubject;
+import edu.ucsd.cse110.habitizer.lib.util.Observer;
 import edu.ucsd.cse110.habitizer.lib.util.SimpleSubject;
 import edu.ucsd.cse110.habitizer.lib.util.Subject;
+import edu.ucsd.cse110.habitizer.lib.util.TimeFormat;
+import edu.ucsd.cse110.observables.Subjects;
 
 public class MainViewModel extends ViewModel {
-    private final RoutineRepository routineRepository;
+    private final AsyncRoutineRepository routineRepository;
+    // Where the repository's results are handed back: the main thread in the app
+    private final Executor callbacks;
+    // Each listed routine's tasks, followed on their own so that a change to one routine
+    // only touches that routine; let go of with the routine or in onCleared
+    private final Map<Integer, Subject<List<RoutineTask>>> storedTasks = new HashMap<>();
+    private final Map<Integer, Observer<List<RoutineTask>>> onStoredTasks = new HashMap<>();
+    private final Map<Integer, List<RoutineTask>> knownTasks = new HashMap<>();
 
     private final MutableSubject<Routine> currentRoutine;
     private final MutableSubject<List<Routine>> routineList;
+    // The repository's live query; let go of in onCleared so it stops with the model
+    private final Subject<List<Routine>> storedRoutines;
+    private final Observer<List<Routine>> onStoredRoutines;
     private final MutableSubject<List<RoutineTask>> taskList;
 
     private Routine routine;
@@ -39,12 +59,22 @@ public class MainViewModel extends ViewModel {
     private final MutableSubject<String> goalTime;
     private final MutableSubject<Boolean> isRoutineDone;
     private final MutableSubject<Boolean> isRoutinePaused;
+    private final MutableSubject<Boolean> isOverGoal;
 
     private boolean isFirstRun;
-    private final ElapsedTimer routineTimer;
-    private final ElapsedTimer taskTimer;
-    private final Handler timerHandler = new Handler(Looper.getMainLooper());
-    private static final long TIMER_INTERVAL_MS = 1000;
+    private final MonotonicTimer routineTimer;
+    private final MonotonicTimer taskTimer;
+    private final Clock clock;
+    private final Scheduler scheduler;
+    private Deadline goalDeadline;
+
+    // Wakes up only when a displayed minute changes or a checkpoint is due
+    private final TickSource ticks;
+    private Subject<Integer> checkpoints;
+
+    // Running timers are only written to the repository this often
+    // (and on every state change); display updates stay in memory.
+    public static final long DEFAULT_CHECKPOINT_INTERVAL_MS = 30_000;
 
     public static final ViewModelInitializer<MainViewModel> initializer =
             new ViewModelInitializer<>(
@@ -55,53 +85,138 @@ public class MainViewModel extends ViewModel {
                         return new MainViewModel(app.getRoutineRepository());
                     });
 
-    public MainViewModel(RoutineRepository routineRepository) {
-        this.routineRepository = routineRepository;
+    public MainViewModel(AsyncRoutineRepository routineRepository) {
+        this(routineRepository, Clock.system(), HandlerScheduler.mainThread());
+    }
 
-        routineList = new SimpleSubject<>();
-        currentRoutine = new SimpleSubject<>();
-        taskList = new SimpleSubject<>();
+    public MainViewModel(AsyncRoutineRepository routineRepository, Clock clock, Scheduler scheduler) {
+        this(routineRepository, clock, scheduler, task -> scheduler.schedule(task, 0));
+    }
+
+    // For repositories that answer right away, like SimpleRoutineRepository
+    public MainViewModel(RoutineRepository routineRepository, Clock clock, Scheduler scheduler) {
+        this(ExecutorRoutineRepository.immediate(routineRepository), clock, scheduler, Runnable::run);
+    }
 
-        routineElapsedTime = new SimpleSubject<>();
-        taskElapsedTime = new SimpleSubject<>();
-        goalTime = new SimpleSubject<>();
-        isRoutineDone = new SimpleSubject<>();
-        isRoutinePaused = new SimpleSubject<>();
+    public MainViewModel(AsyncRoutineRepository routineRepository, Clock clock, Scheduler scheduler,
+                         Executor callbacks) {
+        this.routineRepository = routineRepository;
+        this.callbacks = callbacks;
+        this.clock = clock;
+        this.scheduler = scheduler;
+        this.ticks = new TickSource(scheduler);
+
+        // Named for Instrumentation, which only measures them when enabled
+        routineList = SimpleSubject.named("MainViewModel.routineList", new SimpleSubject<>());
+        currentRoutine = SimpleSubject.named("MainViewModel.currentRoutine", new SimpleSubject<>());
+        taskList = SimpleSubject.named("MainViewModel.taskList", new SimpleSubject<>());
+
+        // Republished on every save; only real changes reach the views
+        routineElapsedTime = SimpleSubject.named("MainViewModel.routineElapsedTime", new SimpleSubject<>(true));
+        taskElapsedTime = SimpleSubject.named("MainViewModel.taskElapsedTime", new SimpleSubject<>(true));
+        goalTime = SimpleSubject.named("MainViewModel.goalTime", new SimpleSubject<>(true));
+        isRoutineDone = SimpleSubject.named("MainViewModel.isRoutineDone", new SimpleSubject<>(true));
+        isRoutinePaused = SimpleSubject.named("MainViewModel.isRoutinePaused", new SimpleSubject<>(true));
+        isOverGoal = SimpleSubject.named("MainViewModel.isOverGoal", new SimpleSubject<>(true));
 
         isFirstRun = true;
 
-        this.routineTimer = new RegularTimer();
-        this.taskTimer = new RegularTimer();
+        this.routineTimer = new MonotonicTimer(clock);
+        this.taskTimer = new MonotonicTimer(clock);
 
-        routineRepository.findRoutineList().observe(routines -> {
+        ticks.subscribe(routineTimer, TickSource.Granularity.MINUTES).observe(seconds -> {
+            if (seconds != null) routineElapsedTime.setValue(routineTimer.getRoundedDownTime());
+        });
+        ticks.subscribe(taskTimer, TickSource.Granularity.MINUTES).observe(seconds -> {
+            if (seconds != null) taskElapsedTime.setValue(taskTimer.getRoundedDownTime());
+        });
+        setCheckpointInterval(DEFAULT_CHECKPOINT_INTERVAL_MS);
+
+        storedRoutines = routineRepository.findRoutineList();
+        onStoredRoutines = routines -> {
             if (routines == null) return;
             routineList.setValue(routines);
-        });
+        };
+        storedRoutines.observe(onStoredRoutines);
 
         routineList.observe(routines -> {
-            SystemClock.sleep(500);
             if (routines == null) return;
             numRoutines = routines.size();
             this.routines = routines;
-            for (var routine : routines) {
-                routine.setTasks(routineRepository.findTaskList(routine.id()));
-                numTasks += routine.tasks().size();
-                if (routine.isInProgress() || routine.isInEdit()) {
-                    currentRoutine.setValue(routine);
-                }
-            }
+            followTasks(routines);
         });
 
         currentRoutine.observe(routine -> {
             if (routine == null) return;
             this.routine = routine;
 
-            isRoutineDone.setValue(routine.isDone());
-            isRoutinePaused.setValue(routine.isPaused());
-            goalTime.setValue(String.valueOf(routine.goalTime()));
-            routineElapsedTime.setValue(routineTimer.getRoundedDownTime());
-            taskElapsedTime.setValue(taskTimer.getRoundedDownTime());
-            taskList.setValue(routine.tasks());
+            // One batch, so that no observer sees some of these updated and others not
+            Subjects.batch(() -> {
+                isRoutineDone.setValue(routine.isDone());
+                isRoutinePaused.setValue(routine.isPaused());
+                goalTime.setValue(String.valueOf(routine.goalTime()));
+                watchGoal(routine.goalTime());
+                publishTime();
+                taskList.setValue(routine.tasks());
+            });
+        });
+    }
+
+    // Fills in the tasks of the routines already followed from what is known of them, and
+    // follows the others, which are filled in when their tasks arrive; no routine's tasks
+    // are asked for again just because the list changed
+    private void followTasks(List<Routine> routines) {
+        var listed = new HashSet<Integer>();
+        for (var routine : routines) {
+            listed.add(routine.id());
+            if (!storedTasks.containsKey(routine.id())) {
+                followTasks(routine.id());
+                continue;
+            }
+            var tasks = knownTasks.get(routine.id());
+            if (tasks != null) applyTasks(routine, tasks);
+        }
+        for (var id : new ArrayList<>(storedTasks.keySet())) {
+            if (!listed.contains(id)) unfollowTasks(id);
+        }
+    }
+
+    private void followTasks(int routineId) {
+        var subject = routineRepository.findTasks(routineId);
+        Observer<List<RoutineTask>> observer = tasks -> {
+            if (tasks == null) return;
+            knownTasks.put(routineId, tasks);
+            if (routines == null) return;
+            for (var routine : routines) {
+                if (routine.id() == routineId) applyTasks(routine, tasks);
+            }
+        };
+        storedTasks.put(routineId, subject);
+        onStoredTasks.put(routineId, observer);
+        subject.observe(observer);
+    }
+
+    private void unfollowTasks(int routineId) {
+        storedTasks.remove(routineId).removeObserver(onStoredTasks.remove(routineId));
+        knownTasks.remove(routineId);
+    }
+
+    private void applyTasks(Routine routine, List<RoutineTask> tasks) {
+        routine.setTasks(tasks);
+        numTasks += routine.tasks().size();
+        if (routine.isInProgress() || routine.isInEdit()) {
+            currentRoutine.setValue(routine);
+        }
+    }
+
+    // The repository works in the background, but a failure must not go unnoticed:
+    // rethrow it on the main thread, where a synchronous repository would have thrown it
+    private void reportFailure(CompletableFuture<?> work) {
+        work.exceptionally(error -> {
+            callbacks.execute(() -> {
+                throw new IllegalStateException("Routine repository failed", error);
+            });
+            return null;
         });
     }
 
@@ -136,7 +251,7 @@ public class MainViewModel extends ViewModel {
         saveRoutine(this.routine);
     }
     public void saveRoutine(Routine routine) {
-        routineRepository.saveRoutine(routine);
+        reportFailure(routineRepository.saveRoutine(routine));
     }
 
     public boolean getIsFirstRun() {
@@ -159,8 +274,8 @@ public class MainViewModel extends ViewModel {
                 saveRoutine(this.routine);
             }
 
-            timerHandler.removeMessages(0);
             taskTimer.resetTimer();
+            this.routine.startNextTask(clock.epochMillis());
 
             updateTime();
 
@@ -170,8 +285,13 @@ public class MainViewModel extends ViewModel {
     }
 
     public void removeTask(RoutineTask task) {
+        // Routine.removeTask drops every task with the title, so delete all of those
+        var removedIds = new ArrayList<Integer>();
+        for (var t : this.routine.tasks()) {
+            if (t.title().equals(task.title()) && t.id() != null) removedIds.add(t.id());
+        }
         this.routine.removeTask(task);
-        this.routineRepository.deleteRoutine(this.routine.id());
+        if (!removedIds.isEmpty()) reportFailure(routineRepository.deleteTasks(removedIds));
 
         saveRoutine(this.routine);
     }
@@ -187,12 +307,21 @@ public class MainViewModel extends ViewModel {
     public Subject<String> getGoalTime() {
         return goalTime;
     }
+    public Subject<String> getRoutineElapsedTime() {
+        return routineElapsedTime;
+    }
+    public Subject<String> getTaskElapsedTime() {
+        return taskElapsedTime;
+    }
     public Subject<Boolean> getIsRoutineDone() {
         return isRoutineDone;
     }
     public Subject<Boolean> getIsRoutinePaused() {
         return isRoutinePaused;
     }
+    public Subject<Boolean> getIsOverGoal() {
+        return isOverGoal;
+    }
 
     public void updateInProgressRoutine(Routine routine, boolean newInProgress) {
         routine.setInProgress(newInProgress);
@@ -203,13 +332,45 @@ public class MainViewModel extends ViewModel {
         saveRoutine(routine);
     }
 
+    // Writes the current timer values to the repository
     private void updateTime() {
         this.routine.setElapsedTime(routineTimer.getSeconds(), taskTimer.getSeconds());
         saveRoutine(this.routine);
     }
+    // Pushes the current timer values to the UI without touching the repository
+    private void publishTime() {
+        routineElapsedTime.setValue(routineTimer.getRoundedDownTime());
+        taskElapsedTime.setValue(taskTimer.getRoundedDownTime());
+        if (goalDeadline != null) isOverGoal.setValue(goalDeadline.isReached());
+    }
+    // Checkpoints land on every whole interval of routine time, which must be whole seconds;
+    // a bad interval is rejected before the current checkpoints are touched
+    public void setCheckpointInterval(long intervalMs) {
+        if (intervalMs <= 0 || intervalMs % 1000 != 0 || intervalMs / 1000 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Checkpoint interval must be a positive number of whole seconds");
+        }
+        var granularity = TickSource.Granularity.every((int) (intervalMs / 1000));
+        if (checkpoints != null) ticks.unsubscribe(checkpoints);
+        checkpoints = ticks.subscribe(routineTimer, granularity);
+        checkpoints.observe(seconds -> {
+            if (seconds != null && this.routine != null) updateTime();
+        });
+    }
     public void updateGoalTime(int newTime) {
         this.routine.setGoalTime(newTime);
         saveRoutine(this.routine);
+        watchGoal(newTime);
+    }
+    // Goal time is in minutes; the deadline follows the routine timer through
+    // pauses and advances and calls back once when the goal is passed
+    private void watchGoal(int goalMinutes) {
+        int goalSeconds = goalMinutes * 60;
+        if (goalDeadline == null) {
+            goalDeadline = new Deadline(scheduler, routineTimer, goalSeconds, () -> isOverGoal.setValue(true));
+        } else {
+            goalDeadline.setGoalSeconds(goalSeconds);
+        }
+        isOverGoal.setValue(goalDeadline.isReached());
     }
     public void addRoutineTask(String taskName) {
         RoutineTask task = new RoutineTask(null, null, taskName, false, -1);
@@ -257,29 +418,40 @@ public class MainViewModel extends ViewModel {
         return taskTimer;
     }
     public String getRoundedDownTime(int seconds) {
-        int minutes = (seconds % 3600) / 60;
-        if (minutes == 0) {
-            return "-";
-        }
-        return String.format(Locale.getDefault(), "%01d", minutes);
+        return TimeFormat.roundedDownMinutes(seconds);
     }
 
     public String getRoundedUpTime(int seconds) {
-        if (seconds < 55) {
-            if (seconds % 5 == 0) {
-                return String.format(Locale.getDefault(), "%01ds", seconds);
-            }
-            int temp = (seconds / 5)+1;
-            int rounded_seconds = temp*5;
-            return String.format(Locale.getDefault(), "%01ds", rounded_seconds);
-        }
-        int minutes = (seconds % 3600) / 60;
-        return String.format(Locale.getDefault(), "%01d", minutes+1);
+        return TimeFormat.roundedUpTaskTime(seconds);
     }
 
     public void startRoutine() {
         routineTimer.resetTimer();
         taskTimer.resetTimer();
+        if (this.routine != null) {
+            this.routine.startSession(clock.epochMillis());
+            updateTime();
+        }
+        startTimerUpdates();
+    }
+    public void startRoutine(Routine routine) {
+        routine.setInProgress(true);
+        this.routine = routine;
+        startRoutine();
+    }
+    // Picks up a routine that was in progress when the app was last closed.
+    // Elapsed times come from the saved timestamps, so time that passed while
+    // the process was dead is counted.
+    public void restoreRoutine(Routine routine) {
+        this.routine = routine;
+        long now = clock.epochMillis();
+        routineTimer.setSeconds(routine.routineElapsedTimeAt(now));
+        taskTimer.setSeconds(routine.taskElapsedTimeAt(now));
+        publishTime();
+
+        if (routine.isPaused()) return;
+        routineTimer.resumeTimer();
+        taskTimer.resumeTimer();
         startTimerUpdates();
     }
     public void stopRoutineTimer() {
@@ -290,11 +462,19 @@ public class MainViewModel extends ViewModel {
     }
     public void advanceRoutineTimer() {
         routineTimer.advanceTimer();
-        updateTime();
+        if (this.routine != null) {
+            this.routine.advanceSession(MonotonicTimer.ADVANCE_SECONDS * 1000L);
+            updateTime();
+        }
+        startTimerUpdates();
     }
     public void advanceTaskTimer() {
         taskTimer.advanceTimer();
-        updateTime();
+        if (this.routine != null) {
+            this.routine.advanceTask(MonotonicTimer.ADVANCE_SECONDS * 1000L);
+            updateTime();
+        }
+        startTimerUpdates();
     }
     public void endRoutine() {
         if (!routineTimer.isRunning()) { // Prevent ending if paused
@@ -303,49 +483,67 @@ public class MainViewModel extends ViewModel {
 
         stopRoutineTimer();
         stopTaskTimer();
-        timerHandler.removeMessages(0);
+        refreshTimerUpdates();
+        // Timers are stopped first so that the save cannot end the routine again
+        if (this.routine != null) updateTime();
     }
 
     public void pauseRoutine() {
         routine.setIsPaused(true);
-        saveRoutine(routine);
+        routine.pauseSession(clock.epochMillis());
         pauseRoutineTimer();
         pauseTaskTimer();
+        updateTime();
     }
     public void pauseRoutineTimer() {
         routineTimer.pauseTimer();
-        timerHandler.removeCallbacksAndMessages(null);
+        refreshTimerUpdates();
     }
 
     public void pauseTaskTimer() {
         taskTimer.pauseTimer();
-        timerHandler.removeCallbacksAndMessages(null);
+        refreshTimerUpdates();
     }
     public void resumeRoutine() {
         routine.setIsPaused(false);
+        routine.resumeSession(clock.epochMillis());
         saveRoutine(routine);
+        taskTimer.resumeTimer();
         resumeRoutineTimer();
     }
     public void resumeRoutineTimer() {
         routineTimer.resumeTimer();
         startTimerUpdates();
     }
+    public void resumeTaskTimer() {
+        taskTimer.resumeTimer();
+        startTimerUpdates();
+    }
+    // Timers changed state or jumped: show them now and move the next wake-up
     public void startTimerUpdates() {
-        timerHandler.postDelayed(new Runnable() {
-            @Override
-            public void run() {
-                updateTime();
-                timerHandler.postDelayed(this, TIMER_INTERVAL_MS);
-            }
-        }, 0);
+        publishTime();
+        refreshTimerUpdates();
+    }
+    private void refreshTimerUpdates() {
+        ticks.refresh();
     }
 
-    public void deleteRoutine() {
-        routineRepository.deleteRoutines();
+    @Override
+    protected void onCleared() {
+        ticks.stop();
+        if (goalDeadline != null) goalDeadline.cancel();
+        storedRoutines.removeObserver(onStoredRoutines);
+        for (var id : new ArrayList<>(storedTasks.keySet())) unfollowTasks(id);
+    }
 
-        if (this.routine == null) return;
+    public void deleteRoutine() {
+        if (this.routine == null) {
+            reportFailure(routineRepository.deleteRoutines());
+            return;
+        }
         var routineId = 1;
         var taskId = 1;
+        var remaining = new ArrayList<Routine>();
         for (var routine : routines) {
             if (routine.id() != this.routine.id()) {
                 routine.setId(routineId);
@@ -358,10 +556,12 @@ public class MainViewModel extends ViewModel {
                 }
 
                 routine.setTasks(newTasks);
-                saveRoutine(routine);
+                remaining.add(routine);
                 routineId++;
             }
         }
+        // The rest, renumbered, in place of everything at once
+        reportFailure(routineRepository.replaceRoutines(remaining));
 
     }
 }
@@ -0,0 +1,85 @@
+package edu.ucsd.cse110.habitizer.app.data.db;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import edu.ucsd.cse110.habitizer.lib.domain.AsyncRoutineRepository;
+import edu.ucsd.cse110.habitizer.lib.domain.Routine;
+import edu.ucsd.cse110.habitizer.lib.domain.RoutineTask;
+import edu.ucsd.cse110.habitizer.lib.util.Subject;
+
+/**
+ * Runs a {@link RoomRoutineRepository} off the main thread, one query or write at a time.
+ * Routines and tasks are turned into entities on the caller's thread, so the caller may go
+ * on changing them as soon as a save returns.
+ */
+public class AsyncRoomRoutineRepository implements AsyncRoutineRepository {
+    private final RoomRoutineRepository repository;
+    // Must run one task at a time, so writes keep their order and queries see earlier writes;
+    // owned by the caller, which may share it
+    private final Executor databaseExecutor;
+
+    public AsyncRoomRoutineRepository(RoomRoutineRepository repository, Executor databaseExecutor) {
+        this.repository = repository;
+        this.databaseExecutor = databaseExecutor;
+    }
+
+    // LiveData queries, which Room already runs in the background
+    @Override
+    public Subject<List<Routine>> findRoutineList() {
+        return repository.findRoutineList();
+    }
+
+    @Override
+    public CompletableFuture<List<RoutineTask>> findTaskList(int routineId) {
+        return CompletableFuture.supplyAsync(() -> repository.findTaskList(routineId), databaseExecutor);
+    }
+
+    @Override
+    public Subject<Routine> findRoutine(int routineId) {
+        return repository.findRoutine(routineId);
+    }
+
+    @Override
+    public Subject<List<RoutineTask>> findTasks(int routineId) {
+        return repository.findTasks(routineId);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveRoutine(Routine routine) {
+        return saveRoutines(List.of(routine));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveRoutines(Collection<Routine> routines) {
+        return CompletableFuture.runAsync(repository.prepareSaveRoutines(routines), databaseExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveTasks(Collection<RoutineTask> tasks) {
+        return CompletableFuture.runAsync(repository.prepareSaveTasks(tasks), databaseExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteTasks(Collection<Integer> taskIds) {
+        var deleted = List.copyOf(taskIds);
+        return CompletableFuture.runAsync(() -> repository.deleteTasks(deleted), databaseExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteRoutines() {
+        return CompletableFuture.runAsync(repository::deleteRoutines, databaseExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> replaceRoutines(Collection<Routine> routines) {
+        return CompletableFuture.runAsync(repository.prepareReplaceRoutines(routines), databaseExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteRoutine(int routineId) {
+        return CompletableFuture.runAsync(() -> repository.deleteRoutine(routineId), databaseExecutor);
+    }
+}
@@ -1,10 +1,33 @@
 package edu.ucsd.cse110.habitizer.app.data.db;
 
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
-@Database(entities = {RoutineEntity.class, RoutineTaskEntity.class}, version = 1)
+@Database(entities = {RoutineEntity.class, RoutineTaskEntity.class}, version = 2)
 public abstract class HabitizerDatabase extends RoomDatabase {
     public abstract RoutineDao routineDao();
     public abstract RoutineTaskDao routineTaskDao();
-}
\ No newline at end of file
+
+    // Version 2 stores session timestamps next to the elapsed time counters.
+    // Routines that were in progress get timestamps derived from their last
+    // saved counters, as if they had been started that long before now.
+    public static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `routines` ADD COLUMN `session_start` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `routines` ADD COLUMN `paused_duration` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `routines` ADD COLUMN `paused_at` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `routines` ADD COLUMN `task_start` INTEGER NOT NULL DEFAULT 0");
+
+            long now = System.currentTimeMillis();
+            db.execSQL("UPDATE `routines` SET "
+                    + "`session_start` = ? - `routine_elapsed_time` * 1000, "
+                    + "`task_start` = ? - `task_elapsed_time` * 1000, "
+                    + "`paused_at` = CASE WHEN `is_paused` THEN ? ELSE 0 END "
+                    + "WHERE `is_in_progress`", new Object[]{now, now, now});
+        }
+    };
+}
@@ -2,9 +2,13 @@ package edu.ucsd.cse110.habitizer.app.data.db;
 
 import androidx.lifecycle.Transformations;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
+import edu.ucsd.cse110.habitizer.app.util.AsyncLiveData;
 import edu.ucsd.cse110.habitizer.app.util.LiveDataSubjectAdapter;
 import edu.ucsd.cse110.habitizer.lib.domain.Routine;
 import edu.ucsd.cse110.habitizer.lib.domain.RoutineRepository;
@@ -15,42 +19,103 @@ import edu.ucsd.cse110.habitizer.lib.util.Subject;
 public class RoomRoutineRepository implements RoutineRepository {
     private final RoutineDao routineDao;
     private final RoutineTaskDao routineTaskDao;
+    // Turns entities into domain objects off the main thread; owned by the caller
+    private final Executor mappingExecutor;
 
-    public RoomRoutineRepository(RoutineDao routineDao, RoutineTaskDao routineTaskDao) {
+    public RoomRoutineRepository(RoutineDao routineDao, RoutineTaskDao routineTaskDao, Executor mappingExecutor) {
         this.routineDao = routineDao;
         this.routineTaskDao = routineTaskDao;
+        this.mappingExecutor = mappingExecutor;
     }
 
     @Override
     public Subject<List<Routine>> findRoutineList() {
         var entitiesLiveData = routineDao.findRoutineList();
-        var routineLiveData = Transformations.map(entitiesLiveData, entities -> {
+        var routineLiveData = AsyncLiveData.map(entitiesLiveData, entities -> {
             return entities.stream()
                     .map(RoutineEntity::toRoutine)
                     .collect(Collectors.toList());
-        });
+        }, mappingExecutor);
         return new LiveDataSubjectAdapter<>(routineLiveData);
     }
 
+    // Room re-runs these queries on every write to their table, so each only lets through
+    // rows that differ from the last ones
+    public Subject<Routine> findRoutine(int routineId) {
+        var entity = Transformations.distinctUntilChanged(routineDao.findRoutine(routineId));
+        return new LiveDataSubjectAdapter<>(AsyncLiveData.map(entity,
+                found -> found == null ? null : found.toRoutine(), mappingExecutor));
+    }
+
+    public Subject<List<RoutineTask>> findTasks(int routineId) {
+        var entities = Transformations.distinctUntilChanged(routineTaskDao.findTasks(routineId));
+        return new LiveDataSubjectAdapter<>(AsyncLiveData.map(entities, found -> found.stream()
+                .map(RoutineTaskEntity::toRoutineTask)
+                .collect(Collectors.toList()), mappingExecutor));
+    }
+
     public List<RoutineTask> findTaskList(int routineId) {
         return routineTaskDao.findTaskList(routineId).stream()
                     .map(RoutineTaskEntity::toRoutineTask)
                     .collect(Collectors.toList());
     }
     public void saveRoutine(Routine routine) {
-        routineDao.insert(RoutineEntity.fromRoutine(routine));
-        var tasks = routine.tasks().stream().map(RoutineTaskEntity::fromRoutineTask).collect(Collectors.toList());
-        routineTaskDao.insert(tasks);
+        saveRoutines(List.of(routine));
+    }
+
+    // The routines and all of their tasks in one transaction
+    public void saveRoutines(Collection<Routine> routines) {
+        prepareSaveRoutines(routines).run();
+    }
+
+    public void saveTasks(Collection<RoutineTask> tasks) {
+        prepareSaveTasks(tasks).run();
+    }
+
+    // Turns the routines into entities now, and returns the write to run later, on any thread;
+    // so the domain objects can go on changing meanwhile
+    Runnable prepareSaveRoutines(Collection<Routine> routines) {
+        var routineEntities = new ArrayList<RoutineEntity>();
+        var taskEntities = new ArrayList<RoutineTaskEntity>();
+        toEntities(routines, routineEntities, taskEntities);
+        return () -> routineDao.insertWithTasks(routineEntities, taskEntities);
+    }
+
+    Runnable prepareReplaceRoutines(Collection<Routine> routines) {
+        var routineEntities = new ArrayList<RoutineEntity>();
+        var taskEntities = new ArrayList<RoutineTaskEntity>();
+        toEntities(routines, routineEntities, taskEntities);
+        return () -> routineDao.replaceWithTasks(routineEntities, taskEntities);
+    }
+
+    private static void toEntities(Collection<Routine> routines,
+                                   List<RoutineEntity> routineEntities, List<RoutineTaskEntity> taskEntities) {
+        for (var routine : routines) {
+            routineEntities.add(RoutineEntity.fromRoutine(routine));
+            for (var task : routine.tasks()) taskEntities.add(RoutineTaskEntity.fromRoutineTask(task));
+        }
+    }
+
+    Runnable prepareSaveTasks(Collection<RoutineTask> tasks) {
+        var taskEntities = tasks.stream().map(RoutineTaskEntity::fromRoutineTask).collect(Collectors.toList());
+        return () -> routineTaskDao.insert(taskEntities);
+    }
+
+    public void deleteTasks(Collection<Integer> taskIds) {
+        routineTaskDao.deleteTasksById(taskIds);
     }
 
     public void deleteRoutines() {
-        routineDao.deleteRoutines();
-        routineTaskDao.deleteTasks();
+        routineDao.deleteRoutinesWithTasks();
+    }
+
+    // In one transaction
+    public void replaceRoutines(Collection<Routine> routines) {
+        prepareReplaceRoutines(routines).run();
     }
 
     public void deleteRoutine(int routineId) {
-        routineDao.deleteRoutine(routineId);
-        routineTaskDao.deleteTasksInRoutine(routineId);
+        routineDao.deleteRoutineWithTasks(routineId);
     }
 }
 
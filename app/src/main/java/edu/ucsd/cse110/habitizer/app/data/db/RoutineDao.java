@@ -5,6 +5,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 
 import java.util.List;
 
@@ -13,13 +14,54 @@ public interface RoutineDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insert(RoutineEntity routine);
 
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insert(List<RoutineEntity> routines);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertTasks(List<RoutineTaskEntity> tasks);
+
+    // One transaction, so observers of the routine list are invalidated once
+    @Transaction
+    default void insertWithTasks(List<RoutineEntity> routines, List<RoutineTaskEntity> tasks) {
+        insert(routines);
+        insertTasks(tasks);
+    }
+
     @Query("SELECT * FROM routines ORDER BY sort_order")
     LiveData<List<RoutineEntity>> findRoutineList();
 
+    @Query("SELECT * FROM routines WHERE id = :routineId")
+    LiveData<RoutineEntity> findRoutine(int routineId);
+
     @Query("DELETE FROM routines")
     void deleteRoutines();
 
+    @Query("DELETE FROM tasks")
+    void deleteAllTasks();
+
+    @Transaction
+    default void deleteRoutinesWithTasks() {
+        deleteRoutines();
+        deleteAllTasks();
+    }
+
+    // Everything is deleted and inserted again in one transaction, so no one sees it empty
+    @Transaction
+    default void replaceWithTasks(List<RoutineEntity> routines, List<RoutineTaskEntity> tasks) {
+        deleteRoutinesWithTasks();
+        insertWithTasks(routines, tasks);
+    }
+
     @Query("DELETE FROM routines WHERE id==:routineId")
     void deleteRoutine(int routineId);
 
+    @Query("DELETE FROM tasks WHERE routine_id==:routineId")
+    void deleteTasksInRoutine(int routineId);
+
+    @Transaction
+    default void deleteRoutineWithTasks(int routineId) {
+        deleteRoutine(routineId);
+        deleteTasksInRoutine(routineId);
+    }
+
 }
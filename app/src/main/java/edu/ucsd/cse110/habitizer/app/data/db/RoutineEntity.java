@@ -5,6 +5,8 @@ import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.PrimaryKey;
 
+import java.util.Objects;
+
 import edu.ucsd.cse110.habitizer.lib.domain.Routine;
 
 @Entity(tableName = "routines")
@@ -40,10 +42,22 @@ public class RoutineEntity {
     @ColumnInfo(name = "goal_time")
     public final int goalTime;
 
+    @ColumnInfo(name = "session_start", defaultValue = "0")
+    public final long sessionStart;
+
+    @ColumnInfo(name = "paused_duration", defaultValue = "0")
+    public final long pausedDuration;
+
+    @ColumnInfo(name = "paused_at", defaultValue = "0")
+    public final long pausedAt;
+
+    @ColumnInfo(name = "task_start", defaultValue = "0")
+    public final long taskStart;
 
     RoutineEntity(
             int id, String title, int sortOrder, boolean isInProgress, boolean isInEdit, boolean isDone, boolean isPaused,
-            int routineElapsedTime, int taskElapsedTime, int goalTime){
+            int routineElapsedTime, int taskElapsedTime, int goalTime,
+            long sessionStart, long pausedDuration, long pausedAt, long taskStart){
         this.id = id;
         this.title = title;
         this.sortOrder = sortOrder;
@@ -54,17 +68,45 @@ public class RoutineEntity {
         this.routineElapsedTime = routineElapsedTime;
         this.taskElapsedTime = taskElapsedTime;
         this.goalTime = goalTime;
+        this.sessionStart = sessionStart;
+        this.pausedDuration = pausedDuration;
+        this.pausedAt = pausedAt;
+        this.taskStart = taskStart;
     }
 
     public static RoutineEntity fromRoutine(@NonNull Routine routine){
         return new RoutineEntity(
                 routine.id(), routine.title(), routine.sortOrder(),
                 routine.isInProgress(), routine.isInEdit(), routine.isDone(), routine.isPaused(),
-                routine.routineElapsedTime(), routine.taskElapsedTime(), routine.goalTime());
+                routine.routineElapsedTime(), routine.taskElapsedTime(), routine.goalTime(),
+                routine.sessionStart(), routine.pausedDuration(), routine.pausedAt(), routine.taskStart());
     }
 
     public Routine toRoutine(){
-        return new Routine(id, title, sortOrder, isInProgress, isInEdit, isDone, isPaused,
+        var routine = new Routine(id, title, sortOrder, isInProgress, isInEdit, isDone, isPaused,
                 routineElapsedTime, taskElapsedTime, goalTime);
+        routine.setSession(sessionStart, pausedDuration, pausedAt, taskStart);
+        return routine;
+    }
+
+    // By value, so that a query re-run for another row's sake can be told apart from a change
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        var other = (RoutineEntity) o;
+        return Objects.equals(id, other.id) && Objects.equals(title, other.title)
+                && sortOrder == other.sortOrder && isInProgress == other.isInProgress
+                && isInEdit == other.isInEdit && isDone == other.isDone && isPaused == other.isPaused
+                && routineElapsedTime == other.routineElapsedTime && taskElapsedTime == other.taskElapsedTime
+                && goalTime == other.goalTime && sessionStart == other.sessionStart
+                && pausedDuration == other.pausedDuration && pausedAt == other.pausedAt
+                && taskStart == other.taskStart;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, sortOrder, isInProgress, isInEdit, isDone, isPaused,
+                routineElapsedTime, taskElapsedTime, goalTime, sessionStart, pausedDuration, pausedAt, taskStart);
     }
-}
\ No newline at end of file
+}
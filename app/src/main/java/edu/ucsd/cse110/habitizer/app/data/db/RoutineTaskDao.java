@@ -1,10 +1,12 @@
 package edu.ucsd.cse110.habitizer.app.data.db;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 @Dao
@@ -18,9 +20,15 @@ public interface RoutineTaskDao {
     @Query("SELECT * FROM tasks WHERE routine_id = :routineId ORDER BY sort_order")
     List<RoutineTaskEntity> findTaskList(int routineId);
 
+    @Query("SELECT * FROM tasks WHERE routine_id = :routineId ORDER BY sort_order")
+    LiveData<List<RoutineTaskEntity>> findTasks(int routineId);
+
     @Query("DELETE FROM tasks")
     void deleteTasks();
 
+    @Query("DELETE FROM tasks WHERE id IN (:taskIds)")
+    void deleteTasksById(Collection<Integer> taskIds);
+
     @Query("DELETE FROM tasks WHERE routine_id==:routineId")
     void deleteTasksInRoutine(int routineId);
 
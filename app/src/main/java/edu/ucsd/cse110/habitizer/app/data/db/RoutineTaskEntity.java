@@ -5,6 +5,8 @@ import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.PrimaryKey;
 
+import java.util.Objects;
+
 import edu.ucsd.cse110.habitizer.lib.domain.RoutineTask;
 
 @Entity(tableName = "tasks")
@@ -48,4 +50,19 @@ public class RoutineTaskEntity {
         task.setElapsedTime(elapsedTime);
         return task;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        var other = (RoutineTaskEntity) o;
+        return Objects.equals(id, other.id) && Objects.equals(routineId, other.routineId)
+                && Objects.equals(title, other.title) && isChecked == other.isChecked
+                && elapsedTime == other.elapsedTime && sortOrder == other.sortOrder;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, routineId, title, isChecked, elapsedTime, sortOrder);
+    }
+}
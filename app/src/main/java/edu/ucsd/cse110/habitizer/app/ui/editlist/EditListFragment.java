@@ -46,15 +46,6 @@ public class EditListFragment extends Fragment {
         this.activityModel = modelProvider.get(MainViewModel.class);
 
         this.adapter = new EditListAdapter(requireContext(), List.of(), activityModel);
-
-        activityModel.loadTaskList().observe(tasks -> {
-            Log.d("Current Task", String.valueOf(tasks == null));
-            if (tasks == null) return;
-
-            adapter.clear();
-            adapter.addAll(new ArrayList<>(tasks));
-            adapter.notifyDataSetChanged();
-        });
     }
 
     @Nullable
@@ -63,7 +54,10 @@ public class EditListFragment extends Fragment {
         this.view = FragmentRoutineEditListBinding.inflate(inflater, container, false);
         view.routineList.setAdapter(adapter);
 
-        activityModel.getCurrentRoutine().observe(routine -> {
+        // Observers below stop when the view is destroyed
+        var viewOwner = getViewLifecycleOwner();
+
+        activityModel.getCurrentRoutine().observe(viewOwner, routine -> {
             if (routine == null) return;
             view.routineText.setText(routine.title() + " Edit");
         });
@@ -82,7 +76,7 @@ public class EditListFragment extends Fragment {
 
         view.deleteRoutineButton.setOnClickListener(v -> showDeleteRoutineDialog());
 
-        activityModel.loadTaskList().observe(tasks -> {
+        activityModel.loadTaskList().observe(viewOwner, tasks -> {
             if (tasks == null) return;
 
             Log.d("Current Task", String.valueOf(tasks.size()));
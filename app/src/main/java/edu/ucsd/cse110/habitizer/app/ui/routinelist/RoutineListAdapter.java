@@ -49,8 +49,7 @@ public class RoutineListAdapter extends ArrayAdapter<Routine> {
         // swap fragment when click the element
         binding.routineButton.setOnClickListener(v -> {
             Log.d("Routine", "Update Is In Progress" + routine.title());
-            activityModel.updateInProgressRoutine(routine, true);
-            activityModel.startRoutine();
+            activityModel.startRoutine(routine);
             this.modelOwner.getSupportFragmentManager()
                     .beginTransaction()
                     .replace(R.id.fragment_container, TaskListFragment.newInstance())
@@ -46,14 +46,6 @@ public class RoutineListFragment extends Fragment {
         this.activityModel = modelProvider.get(MainViewModel.class);
 
         this.adapter = new RoutineListAdapter(requireContext(), List.of(), activityModel, modelOwner);
-
-        activityModel.loadRoutineList().observe(routines -> {
-            if (routines == null) return;
-
-            adapter.clear();
-            adapter.addAll(new ArrayList<>(routines));
-            adapter.notifyDataSetChanged();
-        });
     }
 
     @Nullable
@@ -62,21 +54,15 @@ public class RoutineListFragment extends Fragment {
         edu.ucsd.cse110.habitizer.app.databinding.FragmentRoutineListBinding view = FragmentRoutineListBinding.inflate(inflater, container, false);
         view.routineList.setAdapter(adapter);
 
-        activityModel.getCurrentRoutine().observe(routine -> {
+        // Observers below stop when the view is destroyed
+        var viewOwner = getViewLifecycleOwner();
+
+        activityModel.getCurrentRoutine().observe(viewOwner, routine -> {
             if (activityModel.getIsFirstRun() && routine != null) {
                 activityModel.setIsFirstRun();
 
                 if (routine.isInProgress()) {
-
-                    var routineTimer = activityModel.getRoutineTimer();
-                    var taskTimer = activityModel.getTaskTimer();
-                    routineTimer.setSeconds(routine.routineElapsedTime());
-                    taskTimer.setSeconds(routine.taskElapsedTime());
-
-                    routineTimer.resumeTimer();
-                    taskTimer.resumeTimer();
-
-                    activityModel.startTimerUpdates();
+                    activityModel.restoreRoutine(routine);
 
                     modelOwner.getSupportFragmentManager()
                             .beginTransaction()
@@ -91,7 +77,7 @@ public class RoutineListFragment extends Fragment {
             }
         });
 
-        activityModel.loadRoutineList().observe(routines -> {
+        activityModel.loadRoutineList().observe(viewOwner, routines -> {
             if (routines == null) return;
 
             adapter.clear();
@@ -17,6 +17,9 @@ import edu.ucsd.cse110.habitizer.lib.domain.RoutineTask;
 
 public class TaskListAdapter extends ArrayAdapter<RoutineTask> {
     private final MainViewModel activityModel;
+    // Rows are bound often; the fragment tells us instead of each row observing
+    private boolean isRoutineDone = false;
+
     public TaskListAdapter(Context context, List<RoutineTask> tasks, MainViewModel activityModel) {
         super(context, 0, new ArrayList<>(tasks));
         this.activityModel = activityModel;
@@ -55,15 +58,17 @@ public class TaskListAdapter extends ArrayAdapter<RoutineTask> {
             activityModel.checkOffTask(task);
         });
 
-        activityModel.getIsRoutineDone().observe(isRoutineDone -> {
-            if (isRoutineDone) {
-                binding.taskButton.setEnabled(false);
-            }
-        });
+        binding.taskButton.setEnabled(!isRoutineDone);
 
         return binding.getRoot();
     }
 
+    public void setRoutineDone(boolean isRoutineDone) {
+        if (this.isRoutineDone == isRoutineDone) return;
+        this.isRoutineDone = isRoutineDone;
+        notifyDataSetChanged();
+    }
+
     @Override
     public boolean hasStableIds() {
         return true;
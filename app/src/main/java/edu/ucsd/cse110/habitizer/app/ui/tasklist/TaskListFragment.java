@@ -44,18 +44,6 @@ public class TaskListFragment extends Fragment {
         this.activityModel = modelProvider.get(MainViewModel.class);
 
         this.adapter = new TaskListAdapter(requireContext(), List.of(), activityModel);
-        this.adapter = new TaskListAdapter(requireContext(), List.of(), activityModel);
-
-        activityModel.loadTaskList().observe(tasks -> {
-            if (tasks == null || tasks.isEmpty()) {
-                activityModel.updateIsDone(true);
-                return;
-            }
-            adapter.clear();
-            adapter.addAll(new ArrayList<>(tasks));
-            adapter.notifyDataSetChanged();
-        });
-
     }
 
     @Nullable
@@ -64,31 +52,34 @@ public class TaskListFragment extends Fragment {
         this.view = FragmentTaskListBinding.inflate(inflater, container, false);
         view.taskList.setAdapter(adapter);
 
-        activityModel.getCurrentRoutine().observe(routine -> {
+        // Everything below that touches the view stops observing when the view is destroyed
+        var viewOwner = getViewLifecycleOwner();
+
+        activityModel.getCurrentRoutine().observe(viewOwner, routine -> {
             if (routine == null) return;
             view.routineText.setText(routine.title() + " Routine");
         });
 
-        // Bind routine_updating_timer to elapsed time from MainViewModel
-        activityModel.getCurrentRoutine().observe(routine -> {
-            int routineSeconds = routine.routineElapsedTime();
-            int taskSeconds = routine.taskElapsedTime();
-            view.routineUpdatingTimer.setText(activityModel.getRoundedDownTime(routineSeconds));
-            view.taskUpdatingTimer.setText(activityModel.getRoundedDownTime(taskSeconds));
+        // Bind routine_updating_timer to the live elapsed time from MainViewModel
+        activityModel.getRoutineElapsedTime().observe(viewOwner, time -> {
+            if (time == null) return;
+            view.routineUpdatingTimer.setText(time);
+        });
+        activityModel.getTaskElapsedTime().observe(viewOwner, time -> {
+            if (time == null) return;
+            view.taskUpdatingTimer.setText(time);
         });
 
         // Pause Button functionality
         // For Resume and Pause I know you have to use R and add it to string xml but couldn't get it to work
         view.routinePauseTimeButton.setOnClickListener(v -> {
-            var routineTimer = activityModel.getRoutineTimer();
-            var taskTimer = activityModel.getTaskTimer();
-            if (routineTimer.isRunning()) {
-                routineTimer.pauseTimer();
-                taskTimer.pauseTimer();
+            if (activityModel.getRoutineTimer().isRunning()) {
+                activityModel.pauseRoutineTimer();
+                activityModel.pauseTaskTimer();
                 view.routinePauseTimeButton.setText("Resume");
             } else {
-                routineTimer.resumeTimer();
-                taskTimer.resumeTimer();
+                activityModel.resumeRoutineTimer();
+                activityModel.resumeTaskTimer();
                 view.routinePauseTimeButton.setText("Pause");
             }
         });
@@ -105,17 +96,24 @@ public class TaskListFragment extends Fragment {
             dialogFragment.show(getParentFragmentManager(), "GoalTimeDialogFragment");
         });
 
-        activityModel.getGoalTime().observe(time -> {
+        activityModel.getGoalTime().observe(viewOwner, time -> {
             view.routineTotalTime.setText(time); // Updates UI dynamically
         });
 
+        // Highlight the goal once the routine runs past it
+        activityModel.getIsOverGoal().observe(viewOwner, isOverGoal -> {
+            int color = Boolean.TRUE.equals(isOverGoal) ? R.color.ucsdYellow : R.color.white;
+            view.routineTotalTime.setTextColor(requireContext().getColor(color));
+        });
+
         // End Routine Button functionality
         view.endRoutineButton.setOnClickListener(v -> {
             activityModel.updateIsDone(true); // Mark a routine as done
         });
 
         //When routine is marked as done, disable button.
-        activityModel.getIsRoutineDone().observe(isRoutineDone -> {
+        activityModel.getIsRoutineDone().observe(viewOwner, isRoutineDone -> {
+            adapter.setRoutineDone(Boolean.TRUE.equals(isRoutineDone));
             if (isRoutineDone) {
                 activityModel.endRoutine(); // Ends routine and stop timers
                 view.endRoutineButton.setText("Routine Ended"); // Updates button text
@@ -137,7 +135,7 @@ public class TaskListFragment extends Fragment {
             dialogFragment.show(getParentFragmentManager(), "ConfirmInitializeRoutineFragment");
         });
 
-        activityModel.loadTaskList().observe(tasks -> {
+        activityModel.loadTaskList().observe(viewOwner, tasks -> {
             if (tasks == null) return;
             if (tasks.isEmpty()) {
                 activityModel.updateIsDone(true);
@@ -167,7 +165,7 @@ public class TaskListFragment extends Fragment {
             }
         });
 
-        activityModel.getIsRoutinePaused().observe(isRoutinePaused -> {
+        activityModel.getIsRoutinePaused().observe(viewOwner, isRoutinePaused -> {
             if (isRoutinePaused) {
                 view.pauseRoutineButton.setText("Resume Routine");
                 view.endRoutineButton.setEnabled(false);
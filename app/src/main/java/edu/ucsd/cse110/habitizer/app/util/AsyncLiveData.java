@@ -0,0 +1,59 @@
+package edu.ucsd.cse110.habitizer.app.util;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * LiveData transformations that do their work off the main thread.
+ */
+public final class AsyncLiveData {
+    // Marks "nothing new since the last mapping"; null is a legitimate value
+    private static final Object NONE = new Object();
+
+    private AsyncLiveData() {}
+
+    /**
+     * Like {@code Transformations.map}, but the mapping runs on {@code worker} and the
+     * result is posted back to the main thread. Values that are superseded before the
+     * worker gets to them are skipped, and at most one mapping is queued or running at a
+     * time, so the result of the newest source value is always the last one posted.
+     */
+    public static <X, Y> LiveData<Y> map(LiveData<X> source, Function<X, Y> mapping, Executor worker) {
+        var result = new MediatorLiveData<Y>();
+        var latest = new AtomicReference<Object>(NONE);
+        var scheduled = new AtomicBoolean(false);
+
+        Runnable drain = new Runnable() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public void run() {
+                do {
+                    var value = latest.getAndSet(NONE);
+                    try {
+                        if (value != NONE) {
+                            // postValue keeps only the newest pending result as well
+                            result.postValue(mapping.apply((X) value));
+                        }
+                    } finally {
+                        // Even if the mapping threw, so the next source value is mapped
+                        // instead of waiting in latest forever
+                        scheduled.set(false);
+                    }
+                } while (latest.get() != NONE && scheduled.compareAndSet(false, true));
+            }
+        };
+
+        result.addSource(source, value -> {
+            latest.set(value);
+            if (scheduled.compareAndSet(false, true)) {
+                worker.execute(drain);
+            }
+        });
+        return result;
+    }
+}
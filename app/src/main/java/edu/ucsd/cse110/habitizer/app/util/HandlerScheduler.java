@@ -0,0 +1,62 @@
+package edu.ucsd.cse110.habitizer.app.util;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import edu.ucsd.cse110.habitizer.lib.domain.Scheduler;
+
+/**
+ * Runs scheduled tasks on the main thread through a {@link Handler}, for timers as well as
+ * for debounced or throttled subjects.
+ */
+public class HandlerScheduler implements Scheduler {
+    private final Handler handler;
+
+    public HandlerScheduler(Handler handler) {
+        this.handler = handler;
+    }
+
+    public static HandlerScheduler mainThread() {
+        return new HandlerScheduler(new Handler(Looper.getMainLooper()));
+    }
+
+    // The handler's clock
+    @Override
+    public long nowMillis() {
+        return SystemClock.uptimeMillis();
+    }
+
+    // Posted under a token of its own, so cancelling leaves other posts of the same task alone
+    @Override
+    public Cancellable schedule(Runnable task, long delayMs) {
+        var token = new Object();
+        handler.postDelayed(task, token, delayMs);
+        return Cancellable.of(() -> handler.removeCallbacksAndMessages(token));
+    }
+
+    // Each run is due a whole period after the previous one was due, not after it ran, so
+    // late runs don't push the rest back; the handler's clock is uptimeMillis
+    @Override
+    public Cancellable scheduleAtFixedRate(Runnable task, long initialDelayMs, long periodMs) {
+        long first = SystemClock.uptimeMillis() + initialDelayMs;
+        var repeating = new Runnable() {
+            private long next = first;
+            // Set by cancel, which may come from the task itself, before it is posted again
+            private volatile boolean cancelled = false;
+
+            @Override
+            public void run() {
+                task.run();
+                if (cancelled) return;
+                next += periodMs;
+                handler.postAtTime(this, next);
+            }
+        };
+        handler.postAtTime(repeating, first);
+        return Cancellable.of(() -> {
+            repeating.cancelled = true;
+            handler.removeCallbacks(repeating);
+        });
+    }
+}
@@ -3,11 +3,16 @@ package edu.ucsd.cse110.habitizer.app.util;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import edu.ucsd.cse110.habitizer.lib.util.Observer;
 import edu.ucsd.cse110.habitizer.lib.util.Subject;
 
 public class LiveDataSubjectAdapter<T> implements Subject<T> {
     private final LiveData<T> adaptee;
+    // The LiveData observer registered for each of ours, so that it can be removed again
+    private final Map<Observer<T>, androidx.lifecycle.Observer<T>> observers = new IdentityHashMap<>();
 
     public LiveDataSubjectAdapter(LiveData<T> adaptee) {
         this.adaptee = adaptee;
@@ -21,11 +26,16 @@ public class LiveDataSubjectAdapter<T> implements Subject<T> {
 
     @Override
     public void observe(Observer<T> observer) {
-        adaptee.observeForever(observer::onChanged);
+        if (observers.containsKey(observer)) return;
+        androidx.lifecycle.Observer<T> adapted = observer::onChanged;
+        observers.put(observer, adapted);
+        adaptee.observeForever(adapted);
     }
 
     @Override
     public void removeObserver(Observer<T> observer) {
-        adaptee.removeObserver(observer::onChanged);
+        var adapted = observers.remove(observer);
+        if (adapted == null) return;
+        adaptee.removeObserver(adapted);
     }
 }
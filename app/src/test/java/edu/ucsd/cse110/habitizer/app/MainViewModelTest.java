@@ -4,7 +4,6 @@ import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 import android.os.Looper;
-import android.os.SystemClock;
 
 import static org.robolectric.Shadows.shadowOf;
 
@@ -17,11 +16,16 @@ import org.robolectric.annotation.Config;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+import edu.ucsd.cse110.habitizer.lib.data.InMemoryDataSource;
+import edu.ucsd.cse110.habitizer.lib.domain.ExecutorRoutineRepository;
 import edu.ucsd.cse110.habitizer.lib.domain.Routine;
 import edu.ucsd.cse110.habitizer.lib.domain.RoutineRepository;
 import edu.ucsd.cse110.habitizer.lib.domain.RoutineTask;
+import edu.ucsd.cse110.habitizer.lib.domain.SimpleRoutineRepository;
+import edu.ucsd.cse110.habitizer.lib.domain.VirtualClock;
 import edu.ucsd.cse110.habitizer.lib.util.SimpleSubject;
 import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
 import org.junit.Rule;
@@ -33,6 +37,7 @@ public class MainViewModelTest {
     @Rule
     public InstantTaskExecutorRule instantExecutorRule = new InstantTaskExecutorRule();
 
+    private VirtualClock clock;
     private RoutineRepository mockRoutineRepo;
     private MainViewModel mainViewModel;
     private Routine testRoutine;
@@ -40,6 +45,7 @@ public class MainViewModelTest {
     @Before
     public void setup() throws NoSuchFieldException, IllegalAccessException {
         MockitoAnnotations.openMocks(this);
+        clock = new VirtualClock();
         mockRoutineRepo = mock(RoutineRepository.class);
         testRoutine = new Routine(1, "Morning Routine", 1,
                 false, false, false, false,
@@ -50,7 +56,8 @@ public class MainViewModelTest {
         routineSubject.setValue(routineList);
         when(mockRoutineRepo.findRoutineList()).thenReturn(routineSubject);
         when(mockRoutineRepo.findTaskList(anyInt())).thenReturn(new ArrayList<>());
-        mainViewModel = new MainViewModel(mockRoutineRepo);
+        when(mockRoutineRepo.findTasks(anyInt())).thenReturn(new SimpleSubject<>());
+        mainViewModel = new MainViewModel(mockRoutineRepo, clock, clock);
         setPrivateRoutineField(mainViewModel, testRoutine);
         mainViewModel.startRoutine();
         shadowOf(Looper.getMainLooper()).idle();
@@ -454,7 +461,7 @@ public class MainViewModelTest {
         SimpleSubject<List<Routine>> updatedSubject = new SimpleSubject<>();
         updatedSubject.setValue(routineList);
         when(mockRoutineRepo.findRoutineList()).thenReturn(updatedSubject);
-        mainViewModel = new MainViewModel(mockRoutineRepo);
+        mainViewModel = new MainViewModel(mockRoutineRepo, clock, clock);
         assertEquals(2, mainViewModel.loadRoutineList().getValue().size());
 
         mainViewModel.getCurrentRoutine().setValue(routine1);
@@ -476,7 +483,7 @@ public class MainViewModelTest {
         SimpleSubject<List<Routine>> routineSubject = new SimpleSubject<>();
         routineSubject.setValue(routineList);
         when(mockRoutineRepo.findRoutineList()).thenReturn(routineSubject);
-        mainViewModel = new MainViewModel(mockRoutineRepo);
+        mainViewModel = new MainViewModel(mockRoutineRepo, clock, clock);
         mainViewModel.getCurrentRoutine().setValue(routine);
         shadowOf(Looper.getMainLooper()).idle();
         assertEquals(routine, mainViewModel.getCurrentRoutine().getValue());
@@ -495,19 +502,355 @@ public class MainViewModelTest {
         mainViewModel.startRoutine();
         String timeBeforePause = mainViewModel.getRoutineTimer().getTime();
         mainViewModel.pauseRoutineTimer();
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException ignored) {
-        }
+        clock.advance(2000);
         String timeAfterPause = mainViewModel.getRoutineTimer().getTime();
         assertEquals(timeBeforePause, timeAfterPause);
         mainViewModel.resumeRoutineTimer();
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException ignored) {
-        }
+        clock.advance(2000);
         String timeAfterResume = mainViewModel.getRoutineTimer().getTime();
         assertNotEquals(timeAfterPause, timeAfterResume);
 
     }
-}
\ No newline at end of file
+
+    // Counts every write that reaches the repository
+    private static class CountingRoutineRepository extends SimpleRoutineRepository {
+        int writes = 0;
+        int bulkWrites = 0;
+        int replaces = 0;
+
+        CountingRoutineRepository(InMemoryDataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public void saveRoutine(Routine routine) {
+            writes++;
+            super.saveRoutine(routine);
+        }
+
+        @Override
+        public void saveRoutines(Collection<Routine> routines) {
+            bulkWrites++;
+            super.saveRoutines(routines);
+        }
+
+        @Override
+        public void replaceRoutines(Collection<Routine> routines) {
+            replaces++;
+            super.replaceRoutines(routines);
+        }
+    }
+
+    private int[] runRoutineForOneMinute(CountingRoutineRepository repository, MainViewModel viewModel) {
+        int[] listEmissions = {0};
+        repository.findRoutineList().observe(routines -> listEmissions[0]++);
+        var morning = repository.findRoutineList().getValue().get(0);
+        viewModel.updateInProgressRoutine(morning, true);
+        viewModel.startRoutine();
+
+        repository.writes = 0;
+        listEmissions[0] = 0;
+        clock.advance(60_000);
+        return listEmissions;
+    }
+
+    // The one-second tick must not write the routine every second
+    @Test
+    public void testRunningRoutine_writesOnlyAtCheckpoints() {
+        var repository = new CountingRoutineRepository(InMemoryDataSource.fromDefault());
+        var viewModel = new MainViewModel(repository, clock, clock);
+
+        int[] listEmissions = runRoutineForOneMinute(repository, viewModel);
+
+        // One write (and one list emission) per checkpoint instead of 60
+        long checkpoints = 60_000 / MainViewModel.DEFAULT_CHECKPOINT_INTERVAL_MS;
+        assertEquals(checkpoints, repository.writes);
+        assertEquals(checkpoints, listEmissions[0]);
+        // While the in-memory tick kept the displayed time current
+        assertEquals("1", viewModel.getRoutineElapsedTime().getValue());
+        assertEquals("1", viewModel.getTaskElapsedTime().getValue());
+    }
+
+    // The display is only woken when the shown minute changes
+    @Test
+    public void testRunningRoutine_updatesDisplayOncePerMinute() {
+        var repository = new CountingRoutineRepository(InMemoryDataSource.fromDefault());
+        var viewModel = new MainViewModel(repository, clock, clock);
+        viewModel.setCheckpointInterval(60 * 60_000); // Keep saves out of the way
+        viewModel.startRoutine(repository.findRoutineList().getValue().get(0));
+
+        List<String> shown = new ArrayList<>();
+        viewModel.getRoutineElapsedTime().observe(shown::add);
+        shown.clear();
+        clock.advance(5 * 60_000);
+
+        assertEquals(List.of("1", "2", "3", "4", "5"), shown);
+    }
+
+    // Checkpoints re-emit the routine, but views only hear about values that changed
+    @Test
+    public void testRunningRoutine_repeatedValuesDoNotReachViews() {
+        var repository = new CountingRoutineRepository(InMemoryDataSource.fromDefault());
+        var viewModel = new MainViewModel(repository, clock, clock);
+        viewModel.startRoutine(repository.findRoutineList().getValue().get(0));
+
+        int[] calls = {0};
+        viewModel.getGoalTime().observe(value -> calls[0]++);
+        viewModel.getIsRoutineDone().observe(value -> calls[0]++);
+        viewModel.getIsRoutinePaused().observe(value -> calls[0]++);
+        viewModel.getRoutineElapsedTime().observe(value -> calls[0]++);
+        calls[0] = 0;
+        repository.writes = 0;
+
+        clock.advance(10 * 60_000);
+
+        // 20 checkpoints each republished all of them; only the 10 minute changes got through
+        assertEquals(20, repository.writes);
+        assertEquals(10, calls[0]);
+    }
+
+    @Test
+    public void testRunningRoutine_checkpointIntervalIsConfigurable() {
+        var repository = new CountingRoutineRepository(InMemoryDataSource.fromDefault());
+        var viewModel = new MainViewModel(repository, clock, clock);
+        viewModel.setCheckpointInterval(10_000);
+
+        int[] listEmissions = runRoutineForOneMinute(repository, viewModel);
+
+        assertEquals(6, repository.writes);
+        assertEquals(6, listEmissions[0]);
+    }
+
+    @Test
+    public void testRunningRoutine_badCheckpointIntervalKeepsTheOldOne() {
+        var repository = new CountingRoutineRepository(InMemoryDataSource.fromDefault());
+        var viewModel = new MainViewModel(repository, clock, clock);
+        viewModel.setCheckpointInterval(10_000);
+
+        // Under a second, and not whole seconds, are rejected
+        assertThrows(IllegalArgumentException.class, () -> viewModel.setCheckpointInterval(500));
+        assertThrows(IllegalArgumentException.class, () -> viewModel.setCheckpointInterval(1_500));
+        assertThrows(IllegalArgumentException.class, () -> viewModel.setCheckpointInterval(0));
+
+        // and the checkpoints go on every 10 seconds
+        runRoutineForOneMinute(repository, viewModel);
+        assertEquals(6, repository.writes);
+    }
+
+    @Test
+    public void testPauseRoutine_checkpointsElapsedTime() {
+        var repository = new CountingRoutineRepository(InMemoryDataSource.fromDefault());
+        var viewModel = new MainViewModel(repository, clock, clock);
+        var morning = repository.findRoutineList().getValue().get(0);
+        viewModel.updateInProgressRoutine(morning, true);
+        viewModel.startRoutine();
+        clock.advance(12_000);
+
+        // WHEN the routine is paused between checkpoints
+        viewModel.pauseRoutine();
+
+        // THEN the saved routine holds the time at which it was paused
+        var saved = repository.findRoutineList().getValue().get(0);
+        assertEquals(12, saved.routineElapsedTime());
+        assertTrue(saved.isPaused());
+    }
+
+    // The app is killed mid-routine and reopened later: the time it was closed still counts
+    @Test
+    public void testRestoreRoutine_countsTimeWhileClosed() {
+        var repository = new CountingRoutineRepository(InMemoryDataSource.fromDefault());
+        var viewModel = new MainViewModel(repository, clock, clock);
+        var morning = repository.findRoutineList().getValue().get(0);
+        viewModel.startRoutine(morning);
+        clock.advance(70_000);
+        viewModel.checkOffTask(morning.tasks().get(0));
+        clock.advance(20_000);
+        viewModel.onCleared();
+
+        // WHEN the app comes back five minutes later
+        clock.advance(5 * 60_000);
+        var restarted = new MainViewModel(repository, clock, clock);
+        var saved = repository.findRoutineList().getValue().get(0);
+        restarted.restoreRoutine(saved);
+
+        // THEN both timers include the time the app was closed
+        assertEquals(70 + 20 + 300, restarted.getRoutineTimer().getSeconds());
+        assertEquals(20 + 300, restarted.getTaskTimer().getSeconds());
+        assertTrue(restarted.getRoutineTimer().isRunning());
+    }
+
+    @Test
+    public void testRestoreRoutine_pausedRoutineStaysPaused() {
+        var repository = new CountingRoutineRepository(InMemoryDataSource.fromDefault());
+        var viewModel = new MainViewModel(repository, clock, clock);
+        var morning = repository.findRoutineList().getValue().get(0);
+        viewModel.startRoutine(morning);
+        clock.advance(40_000);
+        viewModel.pauseRoutine();
+        viewModel.onCleared();
+
+        // WHEN the app comes back an hour later
+        clock.advance(60 * 60_000);
+        var restarted = new MainViewModel(repository, clock, clock);
+        restarted.restoreRoutine(repository.findRoutineList().getValue().get(0));
+
+        // THEN the time spent paused is not counted
+        assertEquals(40, restarted.getRoutineTimer().getSeconds());
+        assertFalse(restarted.getRoutineTimer().isRunning());
+
+        // AND resuming continues from there
+        restarted.resumeRoutine();
+        clock.advance(5_000);
+        assertEquals(45, restarted.getRoutineTimer().getSeconds());
+        assertEquals(45, restarted.getTaskTimer().getSeconds());
+    }
+
+    @Test
+    public void testGoalTime_flagsOverrunWithoutPolling() {
+        var repository = new CountingRoutineRepository(InMemoryDataSource.fromDefault());
+        var viewModel = new MainViewModel(repository, clock, clock);
+        viewModel.startRoutine(repository.findRoutineList().getValue().get(0));
+        viewModel.updateGoalTime(2);
+
+        // WHEN the routine is paused for a while just before the goal
+        clock.advance(100_000);
+        viewModel.pauseRoutine();
+        clock.advance(60 * 60_000);
+        assertEquals(false, viewModel.getIsOverGoal().getValue());
+
+        // THEN the goal is passed 20 seconds after resuming
+        viewModel.resumeRoutine();
+        clock.advance(19_000);
+        assertEquals(false, viewModel.getIsOverGoal().getValue());
+        clock.advance(1_000);
+        assertEquals(true, viewModel.getIsOverGoal().getValue());
+    }
+
+    @Test
+    public void testGoalTime_advanceCanPassTheGoal() {
+        var repository = new CountingRoutineRepository(InMemoryDataSource.fromDefault());
+        var viewModel = new MainViewModel(repository, clock, clock);
+        viewModel.startRoutine(repository.findRoutineList().getValue().get(0));
+        viewModel.updateGoalTime(1);
+
+        viewModel.advanceRoutineTimer();
+        assertEquals(false, viewModel.getIsOverGoal().getValue());
+        viewModel.advanceRoutineTimer();
+        assertEquals(true, viewModel.getIsOverGoal().getValue());
+    }
+
+    @Test
+    public void testCleared_stopsObservingTheRepository() {
+        // GIVEN a view model following the stored routines
+        SimpleSubject<List<Routine>> stored = new SimpleSubject<>();
+        var repository = mock(RoutineRepository.class);
+        when(repository.findRoutineList()).thenReturn(stored);
+        when(repository.findTasks(anyInt())).thenReturn(new SimpleSubject<>());
+        var viewModel = new MainViewModel(repository, clock, clock);
+        assertEquals(1, stored.getObservers().size());
+
+        // WHEN it is cleared
+        viewModel.onCleared();
+
+        // THEN the repository's query has nobody left to keep it running
+        assertTrue(stored.getObservers().isEmpty());
+    }
+
+    @Test
+    public void testDeleteRoutine_replacesTheRestInOneWrite() {
+        // GIVEN three routines, the first of them current
+        var repository = new CountingRoutineRepository(InMemoryDataSource.fromDefault());
+        repository.saveRoutine(new Routine(3, "Workout", 2, false, false, false, false, 0, 0, 30));
+        var viewModel = new MainViewModel(repository, clock, clock);
+        viewModel.getCurrentRoutine().setValue(repository.findRoutineList().getValue().get(0));
+        repository.writes = 0;
+
+        // WHEN it is deleted
+        viewModel.deleteRoutine();
+
+        // THEN the other two are renumbered and replace everything in one write
+        assertEquals(0, repository.writes);
+        assertEquals(0, repository.bulkWrites);
+        assertEquals(1, repository.replaces);
+        // and the view model, still observing the same list, sees them
+        var remaining = viewModel.loadRoutineList().getValue();
+        assertEquals(2, remaining.size());
+        assertEquals("Evening", remaining.get(0).title());
+        assertEquals(1, remaining.get(0).id());
+        assertEquals(2, remaining.get(1).id());
+    }
+
+    @Test
+    public void testAsyncRepository_loadsTasksWithoutBlocking() {
+        // GIVEN a repository whose work waits in a queue, with the morning routine in progress
+        var data = InMemoryDataSource.fromDefault();
+        var morning = data.findRoutineList().getValue().get(0);
+        morning.setInProgress(true);
+        List<Runnable> queued = new ArrayList<>();
+        var repository = new ExecutorRoutineRepository(new SimpleRoutineRepository(data), queued::add);
+
+        // WHEN a view model is made on it
+        var viewModel = new MainViewModel(repository, clock, clock, Runnable::run);
+
+        // THEN it followed each routine's tasks instead of waiting on a query
+        assertTrue(queued.isEmpty());
+        assertSame(morning, viewModel.getCurrentRoutine().getValue());
+        assertEquals(3, viewModel.loadTaskList().getValue().size());
+    }
+
+    @Test
+    public void testRoutineTasks_followedWithoutQueries() {
+        // GIVEN a view model with the morning routine in progress
+        var data = InMemoryDataSource.fromDefault();
+        var morning = data.findRoutineList().getValue().get(0);
+        morning.setInProgress(true);
+        var repository = new SimpleRoutineRepository(data) {
+            int taskQueries = 0;
+
+            @Override
+            public List<RoutineTask> findTaskList(int routineId) {
+                taskQueries++;
+                return super.findTaskList(routineId);
+            }
+        };
+        var viewModel = new MainViewModel(repository, clock, clock);
+        List<List<RoutineTask>> shown = new ArrayList<>();
+        viewModel.loadTaskList().observe(shown::add);
+        shown.clear();
+
+        // WHEN the evening routine gets a task
+        repository.saveTasks(List.of(new RoutineTask(7, 2, "Read", false, 3)));
+
+        // THEN it has it, without a query for any routine's tasks, and the morning's are as they were
+        assertEquals(4, data.findTaskList(2).size());
+        assertEquals(3, viewModel.loadTaskList().getValue().size());
+        assertEquals(0, repository.taskQueries);
+
+        // WHEN the morning routine gets one
+        repository.saveTasks(List.of(new RoutineTask(8, 1, "Stretch", false, 3)));
+
+        // THEN it shows up
+        assertEquals(4, shown.get(shown.size() - 1).size());
+        assertEquals(0, repository.taskQueries);
+    }
+
+    @Test
+    public void testAsyncRepository_writesRunInTheBackground() {
+        // GIVEN a view model on a repository whose work waits in a queue
+        var data = InMemoryDataSource.fromDefault();
+        List<Runnable> queued = new ArrayList<>();
+        var repository = new ExecutorRoutineRepository(new SimpleRoutineRepository(data), queued::add);
+        var viewModel = new MainViewModel(repository, clock, clock, Runnable::run);
+        for (var work : List.copyOf(queued)) work.run();
+        queued.clear();
+
+        // WHEN a routine is added
+        viewModel.addRoutine("Workout");
+
+        // THEN it is only saved when the repository runs the write
+        assertEquals(2, data.findRoutineList().getValue().size());
+        assertEquals(1, queued.size());
+        queued.get(0).run();
+        assertEquals(3, data.findRoutineList().getValue().size());
+    }
+}
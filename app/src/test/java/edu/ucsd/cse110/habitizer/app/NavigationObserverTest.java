@@ -0,0 +1,135 @@
+package edu.ucsd.cse110.habitizer.app;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import androidx.annotation.NonNull;
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+import androidx.lifecycle.MutableLiveData;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ucsd.cse110.habitizer.app.util.LiveDataSubjectAdapter;
+import edu.ucsd.cse110.habitizer.lib.domain.Routine;
+import edu.ucsd.cse110.habitizer.lib.domain.RoutineRepository;
+import edu.ucsd.cse110.habitizer.lib.domain.VirtualClock;
+import edu.ucsd.cse110.habitizer.lib.util.SimpleSubject;
+import edu.ucsd.cse110.habitizer.lib.util.Subject;
+
+/**
+ * Fragments observe the activity's view model from their views. Moving back and forth
+ * between screens must not leave the observers of destroyed views behind.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class NavigationObserverTest {
+    @Rule
+    public InstantTaskExecutorRule instantExecutorRule = new InstantTaskExecutorRule();
+
+    private MainViewModel model;
+    private MutableLiveData<List<Routine>> routineLiveData;
+
+    // Stands in for a fragment's view lifecycle
+    private static class ViewOwner implements LifecycleOwner {
+        final LifecycleRegistry registry = LifecycleRegistry.createUnsafe(this);
+
+        @NonNull
+        @Override
+        public Lifecycle getLifecycle() {
+            return registry;
+        }
+    }
+
+    @Before
+    public void setup() {
+        var clock = new VirtualClock();
+        var repository = mock(RoutineRepository.class);
+        routineLiveData = new MutableLiveData<>(new ArrayList<>());
+        when(repository.findRoutineList()).thenReturn(new LiveDataSubjectAdapter<>(routineLiveData));
+        when(repository.findTaskList(anyInt())).thenReturn(new ArrayList<>());
+        when(repository.findTasks(anyInt())).thenReturn(new SimpleSubject<>());
+        model = new MainViewModel(repository, clock, clock);
+    }
+
+    private List<Subject<?>> viewSubjects() {
+        return List.of(model.getCurrentRoutine(), model.loadRoutineList(), model.loadTaskList(),
+                model.getGoalTime(), model.getRoutineElapsedTime(), model.getTaskElapsedTime(),
+                model.getIsRoutineDone(), model.getIsRoutinePaused(), model.getIsOverGoal());
+    }
+
+    private int observerCount() {
+        int count = 0;
+        for (var subject : viewSubjects()) {
+            count += ((SimpleSubject<?>) subject).getObservers().size();
+        }
+        return count;
+    }
+
+    // Registers what the task list and routine list screens observe from their views
+    private void bindViews(LifecycleOwner view, int[] updates) {
+        model.getCurrentRoutine().observe(view, routine -> updates[0]++);
+        model.loadRoutineList().observe(view, routines -> updates[0]++);
+        model.loadTaskList().observe(view, tasks -> updates[0]++);
+        model.getGoalTime().observe(view, time -> updates[0]++);
+        model.getRoutineElapsedTime().observe(view, time -> updates[0]++);
+        model.getTaskElapsedTime().observe(view, time -> updates[0]++);
+        model.getIsRoutineDone().observe(view, isDone -> updates[0]++);
+        model.getIsRoutinePaused().observe(view, isPaused -> updates[0]++);
+        model.getIsOverGoal().observe(view, isOverGoal -> updates[0]++);
+    }
+
+    @Test
+    public void observerCountsStayFlatOverManyNavigations() {
+        // GIVEN the observers the view model registers for itself
+        int baseline = observerCount();
+        boolean liveDataObserved = routineLiveData.hasObservers();
+
+        // WHEN the user moves between screens 1000 times
+        int[] updates = {0};
+        for (int i = 0; i < 1000; i++) {
+            var view = new ViewOwner();
+            view.registry.handleLifecycleEvent(Lifecycle.Event.ON_RESUME);
+            bindViews(view, updates);
+            assertEquals(baseline + 9, observerCount());
+
+            view.registry.handleLifecycleEvent(Lifecycle.Event.ON_DESTROY);
+        }
+
+        // THEN every view's observers went away with it
+        assertEquals(baseline, observerCount());
+        assertEquals(liveDataObserved, routineLiveData.hasObservers());
+        assertTrue(updates[0] > 0);
+    }
+
+    @Test
+    public void destroyedViewsHearNothing() {
+        // GIVEN a view that was shown and then destroyed
+        var view = new ViewOwner();
+        view.registry.handleLifecycleEvent(Lifecycle.Event.ON_RESUME);
+        int[] updates = {0};
+        bindViews(view, updates);
+        view.registry.handleLifecycleEvent(Lifecycle.Event.ON_DESTROY);
+        int before = updates[0];
+
+        // WHEN the model publishes new values
+        var routine = new Routine(1, "Morning Routine", 1,
+                true, false, false, false,
+                0, 0, 60);
+        routineLiveData.setValue(new ArrayList<>(List.of(routine)));
+        model.getCurrentRoutine().setValue(routine);
+
+        // THEN the dead view is not called
+        assertEquals(before, updates[0]);
+    }
+}
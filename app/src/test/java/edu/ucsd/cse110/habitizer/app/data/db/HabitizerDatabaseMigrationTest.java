@@ -0,0 +1,166 @@
+package edu.ucsd.cse110.habitizer.app.data.db;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.room.Room;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class HabitizerDatabaseMigrationTest {
+    private static final String DB_NAME = "migration-test";
+
+    private Context context;
+    private HabitizerDatabase database;
+
+    @Before
+    public void setup() {
+        context = RuntimeEnvironment.getApplication();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @After
+    public void teardown() {
+        if (database != null) database.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    // Writes a database the way version 1 of the app left it
+    private void createVersion1() {
+        var db = SQLiteDatabase.openOrCreateDatabase(context.getDatabasePath(DB_NAME), null);
+        db.execSQL("CREATE TABLE IF NOT EXISTS `routines` (`id` INTEGER, `title` TEXT, "
+                + "`sort_order` INTEGER NOT NULL, `is_in_progress` INTEGER NOT NULL, "
+                + "`is_in_edit` INTEGER NOT NULL, `is_done` INTEGER NOT NULL, "
+                + "`is_paused` INTEGER NOT NULL, `routine_elapsed_time` INTEGER NOT NULL, "
+                + "`task_elapsed_time` INTEGER NOT NULL, `goal_time` INTEGER NOT NULL, "
+                + "PRIMARY KEY(`id`))");
+        db.execSQL("CREATE TABLE IF NOT EXISTS `tasks` (`id` INTEGER, `routine_id` INTEGER, "
+                + "`title` TEXT, `is_checked` INTEGER NOT NULL, `elapsed_time` INTEGER NOT NULL, "
+                + "`sort_order` INTEGER NOT NULL, PRIMARY KEY(`id`))");
+
+        // Morning: running for 10 minutes, 2 of them on the current task
+        db.execSQL("INSERT INTO routines VALUES (1, 'Morning', 1, 1, 0, 0, 0, 600, 120, 60)");
+        // Evening: paused after 5 minutes
+        db.execSQL("INSERT INTO routines VALUES (2, 'Evening', 2, 1, 0, 0, 1, 300, 30, 60)");
+        // Weekend: not started
+        db.execSQL("INSERT INTO routines VALUES (3, 'Weekend', 3, 0, 0, 0, 0, 0, 0, 60)");
+        db.execSQL("INSERT INTO tasks VALUES (1, 1, 'Shower', 1, 50, 0)");
+        db.setVersion(1);
+        db.close();
+    }
+
+    private RoutineEntity find(int id) {
+        try (var cursor = database.getOpenHelper().getReadableDatabase().query(
+                "SELECT * FROM routines WHERE id = ?", new Object[]{id})) {
+            assertTrue(cursor.moveToFirst());
+            return new RoutineEntity(
+                    cursor.getInt(cursor.getColumnIndexOrThrow("id")),
+                    cursor.getString(cursor.getColumnIndexOrThrow("title")),
+                    cursor.getInt(cursor.getColumnIndexOrThrow("sort_order")),
+                    cursor.getInt(cursor.getColumnIndexOrThrow("is_in_progress")) != 0,
+                    cursor.getInt(cursor.getColumnIndexOrThrow("is_in_edit")) != 0,
+                    cursor.getInt(cursor.getColumnIndexOrThrow("is_done")) != 0,
+                    cursor.getInt(cursor.getColumnIndexOrThrow("is_paused")) != 0,
+                    cursor.getInt(cursor.getColumnIndexOrThrow("routine_elapsed_time")),
+                    cursor.getInt(cursor.getColumnIndexOrThrow("task_elapsed_time")),
+                    cursor.getInt(cursor.getColumnIndexOrThrow("goal_time")),
+                    cursor.getLong(cursor.getColumnIndexOrThrow("session_start")),
+                    cursor.getLong(cursor.getColumnIndexOrThrow("paused_duration")),
+                    cursor.getLong(cursor.getColumnIndexOrThrow("paused_at")),
+                    cursor.getLong(cursor.getColumnIndexOrThrow("task_start")));
+        }
+    }
+
+    private void openMigrated() {
+        database = Room.databaseBuilder(context, HabitizerDatabase.class, DB_NAME)
+                .addMigrations(HabitizerDatabase.MIGRATION_1_2)
+                .allowMainThreadQueries()
+                .build();
+        // Opening runs the migration and Room's schema validation
+        database.getOpenHelper().getWritableDatabase();
+    }
+
+    @Test
+    public void migrationKeepsExistingData() {
+        createVersion1();
+        openMigrated();
+
+        var morning = find(1).toRoutine();
+        assertEquals("Morning", morning.title());
+        assertTrue(morning.isInProgress());
+        assertEquals(600, morning.routineElapsedTime());
+        assertEquals(120, morning.taskElapsedTime());
+
+        try (var cursor = database.getOpenHelper().getReadableDatabase()
+                .query("SELECT title, elapsed_time FROM tasks")) {
+            assertTrue(cursor.moveToFirst());
+            assertEquals("Shower", cursor.getString(0));
+            assertEquals(50, cursor.getInt(1));
+        }
+    }
+
+    @Test
+    public void runningRoutineGetsTimestampsFromItsCounters() {
+        createVersion1();
+        long before = System.currentTimeMillis();
+        openMigrated();
+        long after = System.currentTimeMillis();
+
+        var morning = find(1).toRoutine();
+        assertTrue(morning.hasSession());
+        assertEquals(0, morning.pausedAt());
+        // Read at migration time, the timestamps give back the saved counters
+        int routineAt = morning.routineElapsedTimeAt(after);
+        int taskAt = morning.taskElapsedTimeAt(after);
+        int slack = (int) ((after - before) / 1000) + 1;
+        assertTrue(routineAt >= 600 && routineAt <= 600 + slack);
+        assertTrue(taskAt >= 120 && taskAt <= 120 + slack);
+    }
+
+    @Test
+    public void pausedRoutineStaysFrozen() {
+        createVersion1();
+        openMigrated();
+
+        var evening = find(2).toRoutine();
+        assertNotEquals(0, evening.pausedAt());
+        long muchLater = System.currentTimeMillis() + 3_600_000;
+        assertEquals(300, evening.routineElapsedTimeAt(muchLater));
+        assertEquals(30, evening.taskElapsedTimeAt(muchLater));
+    }
+
+    @Test
+    public void idleRoutineHasNoSession() {
+        createVersion1();
+        openMigrated();
+
+        var weekend = find(3).toRoutine();
+        assertFalse(weekend.hasSession());
+        assertEquals(0, weekend.routineElapsedTimeAt(System.currentTimeMillis()));
+    }
+
+    @Test
+    public void migratedRowsRoundTripThroughTheEntity() {
+        createVersion1();
+        openMigrated();
+
+        var morning = find(1).toRoutine();
+        morning.pauseSession(morning.sessionStart() + 700_000);
+        database.routineDao().insert(RoutineEntity.fromRoutine(morning));
+
+        var saved = find(1);
+        assertEquals(morning.sessionStart(), saved.sessionStart);
+        assertEquals(morning.pausedAt(), saved.pausedAt);
+        assertEquals(morning.taskStart(), saved.taskStart);
+    }
+}
@@ -0,0 +1,126 @@
+package edu.ucsd.cse110.habitizer.app.util;
+
+import static org.junit.Assert.*;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.MutableLiveData;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class AsyncLiveDataTest {
+    @Rule
+    public InstantTaskExecutorRule instantExecutorRule = new InstantTaskExecutorRule();
+
+    // Stands in for the background thread; runs only when told to
+    private static class ManualExecutor implements Executor {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+    }
+
+    @Test
+    public void mapsOnTheWorker() {
+        // GIVEN a source mapped on a worker
+        var source = new MutableLiveData<String>();
+        var worker = new ManualExecutor();
+        var mapped = AsyncLiveData.map(source, String::length, worker);
+        List<Integer> seen = new ArrayList<>();
+        mapped.observeForever(seen::add);
+
+        // WHEN the source changes
+        source.setValue("hello");
+
+        // THEN nothing is mapped on the calling thread
+        assertTrue(seen.isEmpty());
+        assertEquals(1, worker.tasks.size());
+
+        // AND the result arrives once the worker ran
+        worker.runAll();
+        assertEquals(List.of(5), seen);
+    }
+
+    @Test
+    public void burstsAreConflatedAndTheLastValueWins() {
+        // GIVEN a source mapped on a worker that is busy
+        var source = new MutableLiveData<String>();
+        var worker = new ManualExecutor();
+        int[] mappings = {0};
+        var mapped = AsyncLiveData.map(source, value -> {
+            mappings[0]++;
+            return value.length();
+        }, worker);
+        List<Integer> seen = new ArrayList<>();
+        mapped.observeForever(seen::add);
+
+        // WHEN the source changes many times before the worker runs
+        for (int i = 0; i < 100; i++) {
+            source.setValue("x".repeat(i));
+        }
+        worker.runAll();
+
+        // THEN only the final state was mapped and delivered
+        assertEquals(1, mappings[0]);
+        assertEquals(List.of(99), seen);
+    }
+
+    @Test
+    public void changesAfterADeliveryAreNotLost() {
+        var source = new MutableLiveData<String>();
+        var worker = new ManualExecutor();
+        var mapped = AsyncLiveData.map(source, String::length, worker);
+        List<Integer> seen = new ArrayList<>();
+        mapped.observeForever(seen::add);
+
+        source.setValue("a");
+        worker.runAll();
+        source.setValue("bb");
+        source.setValue("ccc");
+        worker.runAll();
+
+        assertEquals(List.of(1, 3), seen);
+        assertEquals(Integer.valueOf(3), mapped.getValue());
+    }
+
+    @Test
+    public void aMappingThatThrowsDoesNotStopLaterValues() {
+        // GIVEN a mapping that fails on one value
+        var source = new MutableLiveData<String>();
+        var worker = new ManualExecutor();
+        var mapped = AsyncLiveData.map(source, value -> {
+            if (value.equals("bad")) throw new IllegalStateException("bad value");
+            return value.length();
+        }, worker);
+        List<Integer> seen = new ArrayList<>();
+        mapped.observeForever(seen::add);
+
+        // WHEN it throws on the worker
+        source.setValue("bad");
+        assertThrows(IllegalStateException.class, worker::runAll);
+
+        // THEN the next value is still mapped
+        source.setValue("good");
+        worker.runAll();
+        assertEquals(List.of(4), seen);
+    }
+}
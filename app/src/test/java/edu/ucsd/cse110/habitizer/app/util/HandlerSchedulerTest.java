@@ -0,0 +1,94 @@
+package edu.ucsd.cse110.habitizer.app.util;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ucsd.cse110.habitizer.lib.domain.Scheduler;
+import edu.ucsd.cse110.observables.PlainMutableSubject;
+import edu.ucsd.cse110.observables.Transformations;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class HandlerSchedulerTest {
+    private final HandlerScheduler scheduler = HandlerScheduler.mainThread();
+
+    private static void advance(long millis) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(millis));
+    }
+
+    @Test
+    public void repeatingTaskCanCancelItself() {
+        // GIVEN a repeating task that cancels itself on its second run
+        int[] runs = {0};
+        Scheduler.Cancellable[] handle = new Scheduler.Cancellable[1];
+        handle[0] = scheduler.scheduleAtFixedRate(() -> {
+            if (++runs[0] == 2) handle[0].cancel();
+        }, 0, 1000);
+
+        // WHEN plenty of periods pass
+        advance(10_000);
+
+        // THEN it stopped there
+        assertEquals(2, runs[0]);
+    }
+
+    @Test
+    public void repeatingTaskRunsEveryPeriod() {
+        // GIVEN a task every second, after half a second
+        int[] runs = {0};
+        scheduler.scheduleAtFixedRate(() -> runs[0]++, 500, 1000);
+
+        // WHEN ten seconds pass
+        advance(10_000);
+
+        // THEN it ran at 0.5s, 1.5s, ..., 9.5s
+        assertEquals(10, runs[0]);
+    }
+
+    @Test
+    public void cancellingOnePostLeavesTheOthers() {
+        // GIVEN the same task scheduled twice
+        int[] runs = {0};
+        Runnable task = () -> runs[0]++;
+        var first = scheduler.schedule(task, 1000);
+        scheduler.schedule(task, 2000);
+
+        // WHEN the first is cancelled
+        first.cancel();
+        advance(3000);
+
+        // THEN the second still runs
+        assertEquals(1, runs[0]);
+    }
+
+    @Test
+    public void drivesDebouncedSubjects() {
+        // GIVEN a subject debounced by 300 ms on the main thread
+        var typed = new PlainMutableSubject<String>();
+        var settled = Transformations.debounce(typed, 300, scheduler);
+        List<String> seen = new ArrayList<>();
+        settled.observe(seen::add);
+
+        // WHEN two values come in 100 ms apart
+        typed.setValue("h");
+        advance(100);
+        typed.setValue("hi");
+        advance(299);
+        // THEN nothing is emitted until the source has been quiet long enough
+        assertEquals(List.of(), seen);
+
+        advance(1);
+        assertEquals(List.of("hi"), seen);
+    }
+}
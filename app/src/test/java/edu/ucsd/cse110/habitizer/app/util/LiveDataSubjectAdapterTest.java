@@ -0,0 +1,70 @@
+package edu.ucsd.cse110.habitizer.app.util;
+
+import static org.junit.Assert.*;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.MutableLiveData;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ucsd.cse110.habitizer.lib.util.Observer;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class LiveDataSubjectAdapterTest {
+    @Rule
+    public InstantTaskExecutorRule instantExecutorRule = new InstantTaskExecutorRule();
+
+    @Test
+    public void removeObserverUnregistersFromTheLiveData() {
+        // GIVEN an observer on an adapted LiveData
+        var liveData = new MutableLiveData<String>();
+        var subject = new LiveDataSubjectAdapter<>(liveData);
+        List<String> seen = new ArrayList<>();
+        Observer<String> observer = seen::add;
+        subject.observe(observer);
+        liveData.setValue("a");
+
+        // WHEN it is removed
+        subject.removeObserver(observer);
+        liveData.setValue("b");
+
+        // THEN the LiveData lets go of it
+        assertEquals(List.of("a"), seen);
+        assertFalse(liveData.hasObservers());
+    }
+
+    @Test
+    public void observingTwiceRegistersOnce() {
+        var liveData = new MutableLiveData<String>();
+        var subject = new LiveDataSubjectAdapter<>(liveData);
+        List<String> seen = new ArrayList<>();
+        Observer<String> observer = seen::add;
+
+        subject.observe(observer);
+        subject.observe(observer);
+        liveData.setValue("a");
+        subject.removeObserver(observer);
+
+        assertEquals(List.of("a"), seen);
+        assertFalse(liveData.hasObservers());
+    }
+
+    @Test
+    public void removingAnUnknownObserverDoesNothing() {
+        var liveData = new MutableLiveData<String>();
+        var subject = new LiveDataSubjectAdapter<>(liveData);
+        subject.observe(value -> {});
+
+        subject.removeObserver(value -> {});
+
+        assertTrue(liveData.hasObservers());
+    }
+}
@@ -1,5 +1,6 @@
 plugins {
     id("java-library")
+    alias(libs.plugins.jmh)
 }
 
 java {
@@ -11,7 +12,20 @@ dependencies {
     // This library contains no executable code, so it is
     // safe to use even in a non-Android library module.
     implementation(libs.androidx.annotations)
+    // Only the Lifecycle/LifecycleOwner interfaces, no Android code either. It is part of
+    // the Subject API (observing with an owner), hence api rather than implementation.
+    api(libs.androidx.lifecycle.common)
+    // Instrumentation: SimpleSubject records into its metrics, which apps read and dump
+    api(project(":observables"))
 
     testImplementation(libs.junit4)
     testImplementation(libs.hamcrest)
+    testImplementation(testFixtures(project(":observables")))
+}
+
+// Microbenchmarks live in src/jmh; run them with ./gradlew :lib:jmh
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    // Adds bytes/op (gc.alloc.rate.norm) to every result
+    profilers = listOf("gc")
 }
\ No newline at end of file
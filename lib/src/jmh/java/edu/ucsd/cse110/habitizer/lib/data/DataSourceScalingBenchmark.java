@@ -0,0 +1,100 @@
+package edu.ucsd.cse110.habitizer.lib.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import edu.ucsd.cse110.habitizer.lib.domain.Routine;
+
+/**
+ * Cost of saving one routine, and of adding and deleting one, as the number of routines
+ * grows from 10 to 100k: {@link IndexedDataSource} (O(log n)) and its thread-safe
+ * {@link ConcurrentDataSource} against {@link InMemoryDataSource} (copies the whole list). Both publish the new list to an
+ * observer, like the repository does. Run with {@code ./gradlew :lib:jmh}; setting up the
+ * largest InMemoryDataSource takes a while, as it can only be filled one save at a time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataSourceScalingBenchmark {
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int routines;
+
+    private IndexedDataSource indexed;
+    private ConcurrentDataSource concurrent;
+    private InMemoryDataSource inMemory;
+    private int next;
+    private int published; // Written by the observers so that publishing is not optimized away
+
+    private static Routine routine(int id, int sortOrder) {
+        return new Routine(id, "Routine " + id, sortOrder, false, false, false, false, 0, 0, 60);
+    }
+
+    @Setup
+    public void setup() {
+        indexed = new IndexedDataSource();
+        concurrent = new ConcurrentDataSource();
+        inMemory = new InMemoryDataSource();
+        for (int id = 0; id < routines; id++) {
+            indexed.saveRoutine(routine(id, id));
+            concurrent.saveRoutine(routine(id, id));
+            inMemory.saveRoutine(routine(id, id));
+        }
+        indexed.findRoutineList().observe(list -> published += list.size());
+        concurrent.findRoutineList().observe(list -> published += list.size());
+        inMemory.findRoutineList().observe(list -> published += list.size());
+    }
+
+    // Walks through the existing routines
+    private Routine nextRoutine() {
+        next = (next + 1) % routines;
+        return routine(next, next);
+    }
+
+    @Benchmark
+    public int indexedSave() {
+        indexed.saveRoutine(nextRoutine());
+        return published;
+    }
+
+    @Benchmark
+    public int concurrentSave() {
+        concurrent.saveRoutine(nextRoutine());
+        return published;
+    }
+
+    @Benchmark
+    public int inMemorySave() {
+        inMemory.saveRoutine(nextRoutine());
+        return published;
+    }
+
+    @Benchmark
+    public int indexedAddAndDelete() {
+        var added = routine(routines, routines / 2);
+        indexed.saveRoutine(added);
+        indexed.deleteRoutine(added.id());
+        return published;
+    }
+
+    @Benchmark
+    public int inMemoryAddAndDelete() {
+        var added = routine(routines, routines / 2);
+        inMemory.saveRoutine(added);
+        inMemory.deleteRoutine(added.id());
+        return published;
+    }
+}
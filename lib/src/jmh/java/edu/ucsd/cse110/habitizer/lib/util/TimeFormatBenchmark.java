@@ -0,0 +1,72 @@
+package edu.ucsd.cse110.habitizer.lib.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link TimeFormat} with the String.format calls it replaced.
+ * Run with {@code ./gradlew :lib:jmh}; the gc profiler adds bytes/op
+ * (gc.alloc.rate.norm) next to ns/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeFormatBenchmark {
+    // Walks through the hour like a running timer would
+    private int seconds;
+
+    private int nextSecond() {
+        seconds = (seconds + 1) % 3600;
+        return seconds;
+    }
+
+    @Benchmark
+    public String clockStringFormat() {
+        int value = nextSecond();
+        return String.format(Locale.getDefault(), "%02d:%02d", (value % 3600) / 60, value % 60);
+    }
+
+    @Benchmark
+    public String clockTimeFormat() {
+        return TimeFormat.clock(nextSecond());
+    }
+
+    @Benchmark
+    public String roundedDownStringFormat() {
+        int minutes = (nextSecond() % 3600) / 60;
+        return minutes == 0 ? "-" : String.format(Locale.getDefault(), "%01d", minutes);
+    }
+
+    @Benchmark
+    public String roundedDownTimeFormat() {
+        return TimeFormat.roundedDownMinutes(nextSecond());
+    }
+
+    @Benchmark
+    public String taskTimeStringFormat() {
+        int value = nextSecond();
+        if (value < 55) {
+            int rounded = value % 5 == 0 ? value : (value / 5 + 1) * 5;
+            return String.format(Locale.getDefault(), "%01ds", rounded);
+        }
+        return String.format(Locale.getDefault(), "%01d", (value % 3600) / 60 + 1);
+    }
+
+    @Benchmark
+    public String taskTimeTimeFormat() {
+        return TimeFormat.roundedUpTaskTime(nextSecond());
+    }
+}
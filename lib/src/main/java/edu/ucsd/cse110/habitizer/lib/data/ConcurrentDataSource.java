@@ -0,0 +1,214 @@
+package edu.ucsd.cse110.habitizer.lib.data;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import edu.ucsd.cse110.habitizer.lib.domain.Routine;
+import edu.ucsd.cse110.habitizer.lib.domain.RoutineTask;
+import edu.ucsd.cse110.habitizer.lib.util.MutableSubject;
+import edu.ucsd.cse110.habitizer.lib.util.SimpleSubject;
+import edu.ucsd.cse110.habitizer.lib.util.Subject;
+
+/**
+ * Like {@link IndexedDataSource}, but safe to use from several threads at once, e.g. a
+ * background loader saving while the UI reads.
+ * <p>
+ * All the data lives in one immutable, versioned {@link Snapshot}. Writers build the next
+ * snapshot from the current one (O(log n), sharing the rest) and swap it in with a
+ * compare-and-set, retrying if another writer got there first. Readers just take the
+ * current snapshot with {@link #snapshot()}: no lock, and everything they read from it is
+ * consistent with one version, however many writes happen meanwhile.
+ * <p>
+ * Observers of {@link #findRoutineList()}, {@link #findRoutine} and {@link #findTasks} are
+ * notified one at a time, under a lock, with versions that only go forward. When writers
+ * outpace them, they may skip straight to the latest version. Observers must therefore not
+ * wait for other threads that write here.
+ * <p>
+ * Routines themselves are mutable objects; treat a routine as a value once it is saved,
+ * and save a changed copy instead, or readers may see it change.
+ */
+public class ConcurrentDataSource implements RoutineDataSource {
+    /**
+     * One consistent version of the data. Never changes.
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final RoutineIndex index;
+
+        private Snapshot(long version, RoutineIndex index) {
+            this.version = version;
+            this.index = index;
+        }
+
+        // Goes up by one with every write that changed something
+        public long getVersion() {
+            return version;
+        }
+
+        // By sort order, then id; unmodifiable
+        public List<Routine> getRoutines() {
+            return index.routines();
+        }
+
+        @Nullable
+        public Routine findRoutine(int routineId) {
+            return index.find(routineId);
+        }
+
+        public List<RoutineTask> findTaskList(int routineId) {
+            var routine = index.find(routineId);
+            return routine == null ? List.of() : routine.tasks();
+        }
+    }
+
+    // A write that went in, for the observers of single routines
+    private static final class Change {
+        final RoutineIndex before;
+        final RoutineIndex after;
+        final Collection<Integer> saved;
+
+        Change(RoutineIndex before, RoutineIndex after, Collection<Integer> saved) {
+            this.before = before;
+            this.after = after;
+            this.saved = saved;
+        }
+    }
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(new Snapshot(0, RoutineIndex.EMPTY));
+    private final MutableSubject<List<Routine>> routineSubject = new SimpleSubject<>();
+    // Writes whose single routines have not been published yet
+    private final ConcurrentLinkedQueue<Change> unpublished = new ConcurrentLinkedQueue<>();
+
+    // Guards publishing, so the subjects are only ever set by one thread at a time
+    private final Object publishLock = new Object();
+    private long publishedVersion = -1;
+    // Observers of single routines are added and removed under the same lock
+    private final RoutineSubjects singleRoutines =
+            new RoutineSubjects(id -> current.get().findRoutine(id), publishLock);
+
+    public ConcurrentDataSource() {
+    }
+
+    public static ConcurrentDataSource fromDefault() {
+        var data = new ConcurrentDataSource();
+        var defaults = InMemoryDataSource.fromDefault().findRoutineList().getValue();
+        if (defaults != null) data.saveRoutines(defaults);
+        return data;
+    }
+
+    // The current version; lock-free
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    @Override
+    public Subject<List<Routine>> findRoutineList() {
+        return routineSubject;
+    }
+
+    @Override
+    public List<RoutineTask> findTaskList(int routineId) {
+        return snapshot().findTaskList(routineId);
+    }
+
+    // Made under the publish lock, so that no write slips between reading its first value
+    // and being registered to hear about the next
+    @Override
+    public Subject<Routine> findRoutine(int routineId) {
+        return singleRoutines.findRoutine(routineId);
+    }
+
+    @Override
+    public Subject<List<RoutineTask>> findTasks(int routineId) {
+        return singleRoutines.findTasks(routineId);
+    }
+
+    @Override
+    public void saveRoutine(Routine routine) {
+        update(index -> index.with(routine), List.of(routine.id()));
+    }
+
+    // One version for all of them, so readers never see only some
+    @Override
+    public void saveRoutines(Collection<Routine> routines) {
+        var saved = List.copyOf(routines);
+        var savedIds = new ArrayList<Integer>();
+        for (var routine : saved) savedIds.add(routine.id());
+        update(index -> {
+            for (var routine : saved) index = index.with(routine);
+            return index;
+        }, savedIds);
+    }
+
+    @Override
+    public void saveTasks(Collection<RoutineTask> tasks) {
+        var saved = List.copyOf(tasks);
+        update(index -> index.withTasks(saved), List.of());
+    }
+
+    @Override
+    public void deleteTasks(Collection<Integer> taskIds) {
+        var deleted = List.copyOf(taskIds);
+        update(index -> index.withoutTasks(deleted), List.of());
+    }
+
+    @Override
+    public void deleteRoutines() {
+        update(index -> RoutineIndex.EMPTY, List.of());
+    }
+
+    @Override
+    public void replaceRoutines(Collection<Routine> routines) {
+        var saved = List.copyOf(routines);
+        var savedIds = new ArrayList<Integer>();
+        for (var routine : saved) savedIds.add(routine.id());
+        update(index -> {
+            var next = RoutineIndex.EMPTY;
+            for (var routine : saved) next = next.with(routine);
+            return next;
+        }, savedIds);
+    }
+
+    @Override
+    public void deleteRoutine(int routineId) {
+        update(index -> index.without(routineId), List.of());
+    }
+
+    // The change may run more than once, so it must only build a new index
+    private void update(UnaryOperator<RoutineIndex> change, Collection<Integer> saved) {
+        while (true) {
+            var before = current.get();
+            var after = change.apply(before.index);
+            if (after == before.index) return;
+            if (current.compareAndSet(before, new Snapshot(before.version + 1, after))) {
+                unpublished.add(new Change(before.index, after, saved));
+                break;
+            }
+        }
+        publish();
+    }
+
+    private void publish() {
+        synchronized (publishLock) {
+            // The single routines touched by every write so far, as they are now
+            var changed = new HashSet<Integer>();
+            for (var next = unpublished.poll(); next != null; next = unpublished.poll()) {
+                changed.addAll(singleRoutines.changedBetween(next.before, next.after, next.saved));
+            }
+            singleRoutines.changed(changed);
+            // Then the list: whoever publishes sends the latest version; one already sent is not sent again
+            var latest = current.get();
+            if (latest.version > publishedVersion) {
+                publishedVersion = latest.version;
+                routineSubject.setValue(latest.getRoutines());
+            }
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package edu.ucsd.cse110.habitizer.lib.data;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -11,10 +14,12 @@ import edu.ucsd.cse110.habitizer.lib.util.MutableSubject;
 import edu.ucsd.cse110.habitizer.lib.util.SimpleSubject;
 import edu.ucsd.cse110.habitizer.lib.util.Subject;
 
-public class InMemoryDataSource {
+public class InMemoryDataSource implements RoutineDataSource {
     private final Map<Integer, Routine> routinesMap = new HashMap<>();
     private List<Routine> routinesList = List.of();
-    private MutableSubject<List<Routine>> routineSubjects = new SimpleSubject<>();
+    private final MutableSubject<List<Routine>> routineSubjects = new SimpleSubject<>();
+    // Per routine id, for observers of a single routine; told only about the ids a write touches
+    private final RoutineSubjects singleRoutines = new RoutineSubjects(routinesMap::get);
 
     public InMemoryDataSource() {
     }
@@ -39,6 +44,7 @@ public class InMemoryDataSource {
         ));
        routinesMap.put(2, DEFAULT_EVENING_ROUTINE);
        routinesList = List.of(DEFAULT_MORNING_ROUTINE, DEFAULT_EVENING_ROUTINE);
+       singleRoutines.changed(List.of(1, 2));
        routineSubjects.setValue(List.of(DEFAULT_MORNING_ROUTINE, DEFAULT_EVENING_ROUTINE));
     }
     public static InMemoryDataSource fromDefault() {
@@ -47,35 +53,95 @@ public class InMemoryDataSource {
         return data;
     }
 
+    @Override
     public Subject<List<Routine>> findRoutineList() {
         return routineSubjects;
     }
 
+    @Override
     public List<RoutineTask> findTaskList(int routineId) {
         return routinesMap.get(routineId).tasks();
     }
 
+    @Override
+    public Subject<Routine> findRoutine(int routineId) {
+        return singleRoutines.findRoutine(routineId);
+    }
+
+    @Override
+    public Subject<List<RoutineTask>> findTasks(int routineId) {
+        return singleRoutines.findTasks(routineId);
+    }
+
+    @Override
     public void saveRoutine(Routine newRoutine) {
-        routinesMap.put(newRoutine.id(), newRoutine);
+        saveRoutines(List.of(newRoutine));
+    }
+
+    // Replaces routines in place and appends new ones, then publishes the list once
+    @Override
+    public void saveRoutines(Collection<Routine> routines) {
+        var saved = new LinkedHashMap<Integer, Routine>();
+        for (var routine : routines) saved.put(routine.id(), routine);
+        routinesMap.putAll(saved);
+        var savedIds = List.copyOf(saved.keySet());
 
         ArrayList<Routine> newRoutines = new ArrayList<>();
         for (var routine : routinesList) {
-            if (routine.id() == newRoutine.id()) {
-                newRoutines.add(newRoutine);
-            } else {
-                newRoutines.add(routine);
-            }
+            var newRoutine = saved.remove(routine.id());
+            newRoutines.add(newRoutine != null ? newRoutine : routine);
         }
-        routinesList = List.copyOf(newRoutines);
-        routineSubjects.setValue(newRoutines);
+        // Routines that were not in the list yet are new
+        newRoutines.addAll(saved.values());
+        singleRoutines.changed(savedIds);
+        publish(newRoutines);
     }
 
+    @Override
+    public void saveTasks(Collection<RoutineTask> tasks) {
+        var changed = new ArrayList<Integer>();
+        for (var entry : RoutineIndex.tasksByRoutine(tasks).entrySet()) {
+            var routine = routinesMap.get(entry.getKey());
+            if (routine == null) continue;
+            routine.setTasks(RoutineIndex.mergeTasks(routine.tasks(), entry.getValue()));
+            changed.add(routine.id());
+        }
+        singleRoutines.changed(changed);
+        publish(routinesList);
+    }
+
+    @Override
+    public void deleteTasks(Collection<Integer> taskIds) {
+        var changed = new ArrayList<Integer>();
+        for (var routine : routinesList) {
+            var tasks = routine.tasks();
+            var kept = RoutineIndex.withoutTasks(tasks, taskIds);
+            if (kept.size() == tasks.size()) continue;
+            routine.setTasks(kept);
+            changed.add(routine.id());
+        }
+        singleRoutines.changed(changed);
+        publish(routinesList);
+    }
+
+    @Override
     public void deleteRoutines() {
+        replaceRoutines(List.of());
+    }
+
+    @Override
+    public void replaceRoutines(Collection<Routine> routines) {
+        var changed = new HashSet<>(routinesMap.keySet());
         routinesMap.clear();
-        routinesList = List.of();
-        routineSubjects = new SimpleSubject<>();
+        var newRoutines = new LinkedHashMap<Integer, Routine>();
+        for (var routine : routines) newRoutines.put(routine.id(), routine);
+        routinesMap.putAll(newRoutines);
+        changed.addAll(newRoutines.keySet());
+        singleRoutines.changed(changed);
+        publish(new ArrayList<>(newRoutines.values()));
     }
 
+    @Override
     public void deleteRoutine(int routineId) {
         routinesMap.remove(routineId);
         ArrayList<Routine> newRoutines = new ArrayList<>();
@@ -84,6 +150,11 @@ public class InMemoryDataSource {
                 newRoutines.add(routine);
             }
         }
+        singleRoutines.changed(List.of(routineId));
+        publish(newRoutines);
+    }
+
+    private void publish(List<Routine> newRoutines) {
         routinesList = List.copyOf(newRoutines);
         routineSubjects.setValue(newRoutines);
     }
@@ -0,0 +1,118 @@
+package edu.ucsd.cse110.habitizer.lib.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import edu.ucsd.cse110.habitizer.lib.domain.Routine;
+import edu.ucsd.cse110.habitizer.lib.domain.RoutineTask;
+import edu.ucsd.cse110.habitizer.lib.util.MutableSubject;
+import edu.ucsd.cse110.habitizer.lib.util.SimpleSubject;
+import edu.ucsd.cse110.habitizer.lib.util.Subject;
+
+/**
+ * An in-memory store of routines indexed by id and by sort order, so that saving or
+ * deleting one routine is O(log n) instead of a copy of the whole list.
+ * <p>
+ * The list it publishes is a view of a persistent tree (see {@link SortedSnapshot}): each
+ * save makes a new version that shares all but O(log n) nodes with the previous one, so
+ * handing it to observers costs nothing extra, and versions already handed out never change.
+ * Routines are listed like the Room DAO lists them: by sort order, then by id.
+ * <p>
+ * Not thread-safe; see {@link ConcurrentDataSource} for that.
+ */
+public class IndexedDataSource implements RoutineDataSource {
+    private RoutineIndex index = RoutineIndex.EMPTY;
+    private final MutableSubject<List<Routine>> routineSubject = new SimpleSubject<>();
+    private final RoutineSubjects singleRoutines = new RoutineSubjects(id -> index.find(id));
+
+    public IndexedDataSource() {
+    }
+
+    public static IndexedDataSource fromDefault() {
+        var data = new IndexedDataSource();
+        var defaults = InMemoryDataSource.fromDefault().findRoutineList().getValue();
+        if (defaults != null) data.saveRoutines(defaults);
+        return data;
+    }
+
+    @Override
+    public Subject<List<Routine>> findRoutineList() {
+        return routineSubject;
+    }
+
+    @Override
+    public List<RoutineTask> findTaskList(int routineId) {
+        var routine = index.find(routineId);
+        return routine == null ? List.of() : routine.tasks();
+    }
+
+    @Override
+    public Subject<Routine> findRoutine(int routineId) {
+        return singleRoutines.findRoutine(routineId);
+    }
+
+    @Override
+    public Subject<List<RoutineTask>> findTasks(int routineId) {
+        return singleRoutines.findTasks(routineId);
+    }
+
+    // Inserts the routine if its id is new, replaces it otherwise
+    @Override
+    public void saveRoutine(Routine routine) {
+        saveRoutines(List.of(routine));
+    }
+
+    @Override
+    public void saveRoutines(Collection<Routine> routines) {
+        var next = index;
+        var saved = new ArrayList<Integer>();
+        for (var routine : routines) {
+            next = next.with(routine);
+            saved.add(routine.id());
+        }
+        update(next, saved);
+    }
+
+    // Saved routines are not changed: the ones the tasks go into are saved as copies
+    @Override
+    public void saveTasks(Collection<RoutineTask> tasks) {
+        update(index.withTasks(tasks), List.of());
+    }
+
+    @Override
+    public void deleteTasks(Collection<Integer> taskIds) {
+        update(index.withoutTasks(taskIds), List.of());
+    }
+
+    @Override
+    public void deleteRoutines() {
+        update(RoutineIndex.EMPTY, List.of());
+    }
+
+    @Override
+    public void replaceRoutines(Collection<Routine> routines) {
+        var next = RoutineIndex.EMPTY;
+        var saved = new ArrayList<Integer>();
+        for (var routine : routines) {
+            next = next.with(routine);
+            saved.add(routine.id());
+        }
+        update(next, saved);
+    }
+
+    @Override
+    public void deleteRoutine(int routineId) {
+        update(index.without(routineId), List.of());
+    }
+
+    // Tells observers of single routines about the ones that were saved (they may have been
+    // changed in place) or are no longer the same object, then publishes the list
+    private void update(RoutineIndex next, Collection<Integer> saved) {
+        if (next == index) return;
+        var before = index;
+        index = next;
+        singleRoutines.changed(singleRoutines.changedBetween(before, next, saved));
+        routineSubject.setValue(index.routines());
+    }
+}
@@ -0,0 +1,38 @@
+package edu.ucsd.cse110.habitizer.lib.data;
+
+import java.util.Collection;
+import java.util.List;
+
+import edu.ucsd.cse110.habitizer.lib.domain.Routine;
+import edu.ucsd.cse110.habitizer.lib.domain.RoutineTask;
+import edu.ucsd.cse110.habitizer.lib.util.Subject;
+
+/**
+ * An in-memory store of routines, as used by SimpleRoutineRepository.
+ */
+public interface RoutineDataSource {
+    Subject<List<Routine>> findRoutineList();
+
+    List<RoutineTask> findTaskList(int routineId);
+
+    // Emit only when that routine or its tasks change: null, or no tasks, once it is deleted
+    Subject<Routine> findRoutine(int routineId);
+
+    Subject<List<RoutineTask>> findTasks(int routineId);
+
+    void saveRoutine(Routine routine);
+
+    // All at once, with one change notification
+    void saveRoutines(Collection<Routine> routines);
+
+    void saveTasks(Collection<RoutineTask> tasks);
+
+    void deleteTasks(Collection<Integer> taskIds);
+
+    void deleteRoutines();
+
+    // Deletes every routine and saves these, with one change notification
+    void replaceRoutines(Collection<Routine> routines);
+
+    void deleteRoutine(int routineId);
+}
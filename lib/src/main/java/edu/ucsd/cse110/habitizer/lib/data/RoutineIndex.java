@@ -0,0 +1,184 @@
+package edu.ucsd.cse110.habitizer.lib.data;
+
+import androidx.annotation.Nullable;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import edu.ucsd.cse110.habitizer.lib.domain.Routine;
+import edu.ucsd.cse110.habitizer.lib.domain.RoutineTask;
+
+/**
+ * An immutable set of routines, indexed by id and by sort order (then id, like the Room
+ * DAO lists them). Adding or removing a routine is O(log n) and makes a new index that
+ * shares almost all of its structure with the old one, which stays valid.
+ */
+final class RoutineIndex {
+    // A routine together with its keys, captured when it was saved; Routine is mutable,
+    // and the trees must not see their keys change under them
+    private static final class Entry {
+        final int sortOrder;
+        final int id;
+        final Routine routine;
+
+        Entry(int sortOrder, int id, Routine routine) {
+            this.sortOrder = sortOrder;
+            this.id = id;
+            this.routine = routine;
+        }
+    }
+
+    private static final Comparator<Entry> BY_ID = Comparator.comparingInt(entry -> entry.id);
+    private static final Comparator<Entry> BY_ORDER =
+            Comparator.<Entry>comparingInt(entry -> entry.sortOrder).thenComparingInt(entry -> entry.id);
+
+    static final RoutineIndex EMPTY = new RoutineIndex(SortedSnapshot.empty(BY_ID), SortedSnapshot.empty(BY_ORDER));
+
+    private final SortedSnapshot<Entry> byId;
+    private final SortedSnapshot<Entry> sorted;
+
+    private RoutineIndex(SortedSnapshot<Entry> byId, SortedSnapshot<Entry> sorted) {
+        this.byId = byId;
+        this.sorted = sorted;
+    }
+
+    // With the routine added, or replacing the one with its id
+    RoutineIndex with(Routine routine) {
+        var entry = new Entry(routine.sortOrder(), routine.id(), routine);
+        var previous = byId.find(entry);
+        var newSorted = previous == null ? sorted : sorted.without(previous);
+        return new RoutineIndex(byId.with(entry), newSorted.with(entry));
+    }
+
+    // Without the routine with the id; this same index if there is none
+    RoutineIndex without(int id) {
+        var previous = byId.find(new Entry(0, id, null));
+        if (previous == null) return this;
+        return new RoutineIndex(byId.without(previous), sorted.without(previous));
+    }
+
+    // With each task saved into the routine with its routine id, replacing the task with
+    // its id; tasks of routines that are not here are dropped. Routines that change are
+    // copied rather than changed, as older indexes may still be read.
+    RoutineIndex withTasks(Collection<RoutineTask> tasks) {
+        var index = this;
+        for (var entry : tasksByRoutine(tasks).entrySet()) {
+            var routine = entry.getKey() == null ? null : find(entry.getKey());
+            if (routine == null) continue;
+            index = index.with(copyWithTasks(routine, mergeTasks(routine.tasks(), entry.getValue())));
+        }
+        return index;
+    }
+
+    // Without the tasks with the ids, from whichever routines have them; O(n) in the
+    // number of routines. This same index if none of them are here
+    RoutineIndex withoutTasks(Collection<Integer> taskIds) {
+        var ids = new HashSet<>(taskIds);
+        var index = this;
+        for (var entry : sorted) {
+            var tasks = entry.routine.tasks();
+            var kept = withoutTasks(tasks, ids);
+            if (kept.size() != tasks.size()) index = index.with(copyWithTasks(entry.routine, kept));
+        }
+        return index;
+    }
+
+    // The tasks by routine id, in the order their routines first appear
+    static Map<Integer, List<RoutineTask>> tasksByRoutine(Collection<RoutineTask> tasks) {
+        var byRoutine = new LinkedHashMap<Integer, List<RoutineTask>>();
+        for (var task : tasks) {
+            byRoutine.computeIfAbsent(task.routineId(), id -> new ArrayList<>()).add(task);
+        }
+        return byRoutine;
+    }
+
+    // The existing tasks with each saved one replacing the task with its id, or appended
+    static List<RoutineTask> mergeTasks(List<RoutineTask> existing, List<RoutineTask> saved) {
+        var merged = new ArrayList<>(existing);
+        for (var task : saved) {
+            boolean replaced = false;
+            for (int i = 0; i < merged.size() && !replaced; i++) {
+                if (task.id() != null && Objects.equals(merged.get(i).id(), task.id())) {
+                    merged.set(i, task);
+                    replaced = true;
+                }
+            }
+            if (!replaced) merged.add(task);
+        }
+        return merged;
+    }
+
+    static List<RoutineTask> withoutTasks(List<RoutineTask> tasks, Collection<Integer> taskIds) {
+        var kept = new ArrayList<RoutineTask>();
+        for (var task : tasks) {
+            if (!taskIds.contains(task.id())) kept.add(task);
+        }
+        return kept;
+    }
+
+    private static Routine copyWithTasks(Routine routine, List<RoutineTask> tasks) {
+        var copy = new Routine(routine.id(), routine.title(), routine.sortOrder(),
+                routine.isInProgress(), routine.isInEdit(), routine.isDone(), routine.isPaused(),
+                routine.routineElapsedTime(), routine.taskElapsedTime(), routine.goalTime());
+        copy.setSession(routine.sessionStart(), routine.pausedDuration(), routine.pausedAt(), routine.taskStart());
+        copy.setTasks(tasks);
+        return copy;
+    }
+
+    @Nullable
+    Routine find(int id) {
+        var entry = byId.find(new Entry(0, id, null));
+        return entry == null ? null : entry.routine;
+    }
+
+    int size() {
+        return sorted.size();
+    }
+
+    // In sort order; O(1) to make, O(log n) per get, unmodifiable
+    List<Routine> routines() {
+        return new Routines(sorted);
+    }
+
+    private static final class Routines extends AbstractList<Routine> {
+        private final SortedSnapshot<Entry> entries;
+
+        Routines(SortedSnapshot<Entry> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public Routine get(int index) {
+            return entries.get(index).routine;
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        @Override
+        public Iterator<Routine> iterator() {
+            var iterator = entries.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Routine next() {
+                    return iterator.next().routine;
+                }
+            };
+        }
+    }
+}
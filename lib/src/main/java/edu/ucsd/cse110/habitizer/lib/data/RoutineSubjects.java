@@ -0,0 +1,70 @@
+package edu.ucsd.cse110.habitizer.lib.data;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import edu.ucsd.cse110.habitizer.lib.domain.Routine;
+import edu.ucsd.cse110.habitizer.lib.domain.RoutineTask;
+import edu.ucsd.cse110.habitizer.lib.util.Subject;
+import edu.ucsd.cse110.habitizer.lib.util.SubjectRegistry;
+
+/**
+ * The subjects for single routines and for their tasks, by routine id. A data source tells
+ * them which routines a write touched, and only those routines' observers hear about it.
+ * Both emit null while there is no routine with the id.
+ * <p>
+ * Data sources notify these before the routine list, so that whoever follows both has the
+ * latest tasks by the time the list arrives.
+ */
+final class RoutineSubjects {
+    private final SubjectRegistry<Integer, Routine> routines;
+    private final SubjectRegistry<Integer, List<RoutineTask>> tasks;
+
+    // The lookup gives the routine with an id as stored now, or null
+    RoutineSubjects(Function<Integer, Routine> lookup) {
+        this(lookup, new Object());
+    }
+
+    // Observers are added, removed and notified under the lock
+    RoutineSubjects(Function<Integer, Routine> lookup, Object lock) {
+        this.routines = new SubjectRegistry<>(lookup, lock);
+        this.tasks = new SubjectRegistry<>(id -> {
+            var routine = lookup.apply(id);
+            return routine == null ? null : routine.tasks();
+        }, lock);
+    }
+
+    Subject<Routine> findRoutine(int routineId) {
+        return routines.find(routineId);
+    }
+
+    Subject<List<RoutineTask>> findTasks(int routineId) {
+        return tasks.find(routineId);
+    }
+
+    void changed(Collection<Integer> routineIds) {
+        routines.changed(routineIds);
+        tasks.changed(routineIds);
+    }
+
+    // The saved routines, and the observed ones that are a different object (or none)
+    // after the write: replaced, copied with other tasks, or deleted. Routines nobody
+    // observes are not looked at, so this costs as much as there are observed ids
+    Set<Integer> changedBetween(RoutineIndex before, RoutineIndex after, Collection<Integer> saved) {
+        var changed = new HashSet<>(saved);
+        for (var id : observed()) {
+            if (before.find(id) != after.find(id)) changed.add(id);
+        }
+        return changed;
+    }
+
+    // The routine ids with observers now
+    Set<Integer> observed() {
+        var ids = new HashSet<>(routines.keys());
+        ids.addAll(tasks.keys());
+        return ids;
+    }
+}
@@ -0,0 +1,177 @@
+package edu.ucsd.cse110.habitizer.lib.data;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable sorted list, stored as a persistent AVL tree: adding or removing an item
+ * copies only the O(log n) nodes on its path and shares the rest with the previous
+ * snapshot. So every version can be handed to observers as-is, and stays valid while
+ * later versions are made. get(i) is O(log n); iterating is O(n).
+ */
+final class SortedSnapshot<T> extends AbstractList<T> {
+    private static final class Node<T> {
+        final T item;
+        final Node<T> left;
+        final Node<T> right;
+        final int height;
+        final int size;
+
+        Node(T item, Node<T> left, Node<T> right) {
+            this.item = item;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    private final Comparator<? super T> order;
+    private final Node<T> root;
+
+    private SortedSnapshot(Comparator<? super T> order, Node<T> root) {
+        this.order = order;
+        this.root = root;
+    }
+
+    static <T> SortedSnapshot<T> empty(Comparator<? super T> order) {
+        return new SortedSnapshot<>(order, null);
+    }
+
+    // A snapshot with the item added, replacing any item that compares equal to it
+    SortedSnapshot<T> with(T item) {
+        return new SortedSnapshot<>(order, insert(root, item));
+    }
+
+    // A snapshot without the item comparing equal to the given one, if there is one
+    SortedSnapshot<T> without(T item) {
+        var newRoot = delete(root, item);
+        return newRoot == root ? this : new SortedSnapshot<>(order, newRoot);
+    }
+
+    // The item comparing equal to the given one, or null; O(log n)
+    T find(T item) {
+        var node = root;
+        while (node != null) {
+            int comparison = order.compare(item, node.item);
+            if (comparison == 0) return node.item;
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException(index);
+        var node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.item;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        // In order, with an explicit stack of the nodes whose left side is being walked
+        return new Iterator<>() {
+            private final ArrayDeque<Node<T>> stack = new ArrayDeque<>();
+
+            {
+                pushLeft(root);
+            }
+
+            private void pushLeft(Node<T> node) {
+                for (; node != null; node = node.left) stack.push(node);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (stack.isEmpty()) throw new NoSuchElementException();
+                var node = stack.pop();
+                pushLeft(node.right);
+                return node.item;
+            }
+        };
+    }
+
+    private Node<T> insert(Node<T> node, T item) {
+        if (node == null) return new Node<>(item, null, null);
+        int comparison = order.compare(item, node.item);
+        if (comparison < 0) return balance(node.item, insert(node.left, item), node.right);
+        if (comparison > 0) return balance(node.item, node.left, insert(node.right, item));
+        return new Node<>(item, node.left, node.right);
+    }
+
+    private Node<T> delete(Node<T> node, T item) {
+        if (node == null) return null;
+        int comparison = order.compare(item, node.item);
+        if (comparison < 0) {
+            var left = delete(node.left, item);
+            return left == node.left ? node : balance(node.item, left, node.right);
+        }
+        if (comparison > 0) {
+            var right = delete(node.right, item);
+            return right == node.right ? node : balance(node.item, node.left, right);
+        }
+        if (node.left == null) return node.right;
+        if (node.right == null) return node.left;
+        // Replace it with the smallest item on its right
+        var successor = node.right;
+        while (successor.left != null) successor = successor.left;
+        return balance(successor.item, node.left, deleteFirst(node.right));
+    }
+
+    private Node<T> deleteFirst(Node<T> node) {
+        if (node.left == null) return node.right;
+        return balance(node.item, deleteFirst(node.left), node.right);
+    }
+
+    private static <T> Node<T> balance(T item, Node<T> left, Node<T> right) {
+        int difference = height(left) - height(right);
+        if (difference > 1) {
+            if (height(left.left) < height(left.right)) left = rotateLeft(left.item, left.left, left.right);
+            return rotateRight(item, left, right);
+        }
+        if (difference < -1) {
+            if (height(right.right) < height(right.left)) right = rotateRight(right.item, right.left, right.right);
+            return rotateLeft(item, left, right);
+        }
+        return new Node<>(item, left, right);
+    }
+
+    private static <T> Node<T> rotateRight(T item, Node<T> left, Node<T> right) {
+        return new Node<>(left.item, left.left, new Node<>(item, left.right, right));
+    }
+
+    private static <T> Node<T> rotateLeft(T item, Node<T> left, Node<T> right) {
+        return new Node<>(right.item, new Node<>(item, left, right.left), right.right);
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
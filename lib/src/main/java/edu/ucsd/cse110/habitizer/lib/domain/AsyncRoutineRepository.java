@@ -0,0 +1,39 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import edu.ucsd.cse110.habitizer.lib.util.Subject;
+
+/**
+ * A {@link RoutineRepository} that never blocks its caller: queries and writes are handed
+ * to the repository's own thread, and their futures complete there. Writes are applied in
+ * the order they were made, and a query sees every write made before it.
+ * <p>
+ * The routine list is a subject, as before; observers hear about changes as they happen.
+ */
+public interface AsyncRoutineRepository {
+    Subject<List<Routine>> findRoutineList();
+
+    CompletableFuture<List<RoutineTask>> findTaskList(int routineId);
+
+    // Like findRoutineList, these are subjects, which only emit when that routine changes
+    Subject<Routine> findRoutine(int routineId);
+
+    Subject<List<RoutineTask>> findTasks(int routineId);
+
+    CompletableFuture<Void> saveRoutine(Routine routine);
+
+    CompletableFuture<Void> saveRoutines(Collection<Routine> routines);
+
+    CompletableFuture<Void> saveTasks(Collection<RoutineTask> tasks);
+
+    CompletableFuture<Void> deleteTasks(Collection<Integer> taskIds);
+
+    CompletableFuture<Void> deleteRoutines();
+
+    CompletableFuture<Void> replaceRoutines(Collection<Routine> routines);
+
+    CompletableFuture<Void> deleteRoutine(int routineId);
+}
@@ -0,0 +1,19 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+/**
+ * A monotonic time source. Unlike the wall clock it never jumps when the
+ * user changes the time or when the day rolls over at midnight.
+ */
+public interface Clock {
+    // Current reading in nanoseconds; only differences between readings are meaningful
+    long nanoTime();
+
+    // Wall-clock time, for timestamps that must survive a process restart
+    default long epochMillis() {
+        return System.currentTimeMillis();
+    }
+
+    static Clock system() {
+        return System::nanoTime;
+    }
+}
@@ -0,0 +1,97 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls back once when a timer reaches a goal, without polling. While the
+ * timer runs, a single task is queued on the {@link Scheduler} for the
+ * instant the goal will be reached. It is moved whenever the timer pauses,
+ * resumes, advances or resets. With a priority-queue scheduler each move
+ * costs O(log n) no matter how many deadlines are pending.
+ * <p>
+ * If the timer drops back below the goal (e.g. it is reset), the deadline
+ * re-arms and will call back again on the next crossing.
+ */
+public class Deadline {
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Scheduler scheduler;
+    private final MonotonicTimer timer;
+    private final Runnable onReached;
+    private final Runnable onTimerChanged = this::rearm;
+
+    private long goalNanos;
+    private boolean isReached;
+    private boolean isCancelled;
+    private Scheduler.Cancellable pending;
+
+    public Deadline(Scheduler scheduler, MonotonicTimer timer, int goalSeconds, Runnable onReached) {
+        this.scheduler = scheduler;
+        this.timer = timer;
+        this.onReached = onReached;
+        this.goalNanos = TimeUnit.SECONDS.toNanos(goalSeconds);
+        this.isReached = false;
+        this.isCancelled = false;
+
+        timer.addChangeListener(onTimerChanged);
+        rearm();
+    }
+
+    public synchronized void setGoalSeconds(int goalSeconds) {
+        goalNanos = TimeUnit.SECONDS.toNanos(goalSeconds);
+        rearm();
+    }
+
+    public synchronized int goalSeconds() {
+        return (int) TimeUnit.NANOSECONDS.toSeconds(goalNanos);
+    }
+
+    public synchronized boolean isReached() {
+        return isReached;
+    }
+
+    public synchronized boolean isPending() {
+        return pending != null;
+    }
+
+    public synchronized void cancel() {
+        isCancelled = true;
+        timer.removeChangeListener(onTimerChanged);
+        unschedule();
+    }
+
+    // Works out where the timer stands and queues the next check, if any
+    private synchronized void rearm() {
+        if (isCancelled) return;
+        unschedule();
+
+        long remaining = goalNanos - timer.getElapsedNanos();
+        if (remaining <= 0) {
+            reach();
+            return;
+        }
+        isReached = false;
+        if (!timer.isRunning()) return;
+
+        // Rounded up so that the goal has passed when the task runs
+        long delayMs = (remaining + NANOS_PER_MILLI - 1) / NANOS_PER_MILLI;
+        pending = scheduler.schedule(this::onDue, delayMs);
+    }
+
+    private synchronized void onDue() {
+        pending = null;
+        rearm();
+    }
+
+    private void reach() {
+        if (isReached) return;
+        isReached = true;
+        onReached.run();
+    }
+
+    private void unschedule() {
+        if (pending == null) return;
+        pending.cancel();
+        pending = null;
+    }
+}
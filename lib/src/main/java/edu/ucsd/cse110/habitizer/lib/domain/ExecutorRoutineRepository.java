@@ -0,0 +1,90 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import edu.ucsd.cse110.habitizer.lib.util.Subject;
+
+/**
+ * Runs a blocking {@link RoutineRepository} on an executor. The executor must run one task
+ * at a time, in order (a single-thread executor, say), so that writes keep their order.
+ * <p>
+ * The repository gets the routines themselves, not copies, when the write runs; don't change
+ * a routine after saving it unless the repository is {@link #immediate immediate}.
+ */
+public class ExecutorRoutineRepository implements AsyncRoutineRepository {
+    private final RoutineRepository repository;
+    private final Executor executor;
+
+    public ExecutorRoutineRepository(RoutineRepository repository, Executor executor) {
+        this.repository = repository;
+        this.executor = executor;
+    }
+
+    // Runs on the caller's thread, for repositories that never block, like SimpleRoutineRepository
+    public static ExecutorRoutineRepository immediate(RoutineRepository repository) {
+        return new ExecutorRoutineRepository(repository, Runnable::run);
+    }
+
+    // Subjects are already asynchronous, and observed on the caller's thread
+    @Override
+    public Subject<List<Routine>> findRoutineList() {
+        return repository.findRoutineList();
+    }
+
+    @Override
+    public CompletableFuture<List<RoutineTask>> findTaskList(int routineId) {
+        return CompletableFuture.supplyAsync(() -> repository.findTaskList(routineId), executor);
+    }
+
+    @Override
+    public Subject<Routine> findRoutine(int routineId) {
+        return repository.findRoutine(routineId);
+    }
+
+    @Override
+    public Subject<List<RoutineTask>> findTasks(int routineId) {
+        return repository.findTasks(routineId);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveRoutine(Routine routine) {
+        return CompletableFuture.runAsync(() -> repository.saveRoutine(routine), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveRoutines(Collection<Routine> routines) {
+        var saved = List.copyOf(routines);
+        return CompletableFuture.runAsync(() -> repository.saveRoutines(saved), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveTasks(Collection<RoutineTask> tasks) {
+        var saved = List.copyOf(tasks);
+        return CompletableFuture.runAsync(() -> repository.saveTasks(saved), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteTasks(Collection<Integer> taskIds) {
+        var deleted = List.copyOf(taskIds);
+        return CompletableFuture.runAsync(() -> repository.deleteTasks(deleted), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteRoutines() {
+        return CompletableFuture.runAsync(repository::deleteRoutines, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> replaceRoutines(Collection<Routine> routines) {
+        var saved = List.copyOf(routines);
+        return CompletableFuture.runAsync(() -> repository.replaceRoutines(saved), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteRoutine(int routineId) {
+        return CompletableFuture.runAsync(() -> repository.deleteRoutine(routineId), executor);
+    }
+}
@@ -1,27 +1,41 @@
 package edu.ucsd.cse110.habitizer.lib.domain;
 
 import java.time.Duration;
-import java.time.LocalTime;
-import java.time.temporal.Temporal;
-import java.util.Locale;
+
+import edu.ucsd.cse110.habitizer.lib.util.TimeFormat;
 
 public class MockElapsedTimer implements ElapsedTimer {
-    private Temporal start;
+    private final Clock clock;
+    private Long start;          // Clock reading at the last start, in nanoseconds
     private Duration duration;   // Needed to keep track of elapsed time
     private boolean isRunning;   // Needed to track status of timer
 
     public MockElapsedTimer() {
+        this(Clock.system());
+    }
+
+    public MockElapsedTimer(Clock clock) {
+        this.clock = clock;
         this.duration = Duration.ZERO; // Start with zero elapsed time
         this.isRunning = false;
         this.start = null;             // Not instantiated until we startTimer()
     }
 
     public static MockElapsedTimer immediateTimer() {
-        MockElapsedTimer immediateTimer = new MockElapsedTimer();
+        return immediateTimer(Clock.system());
+    }
+
+    public static MockElapsedTimer immediateTimer(Clock clock) {
+        MockElapsedTimer immediateTimer = new MockElapsedTimer(clock);
         immediateTimer.startTimer();
         return immediateTimer;
     }
 
+    // Time since the last start/resume
+    private Duration sinceStart() {
+        return Duration.ofNanos(clock.nanoTime() - start);
+    }
+
     @Override
     public void startTimer() {
         // Should handle starting the timer again even if the timer has already been started
@@ -29,7 +43,7 @@ public class MockElapsedTimer implements ElapsedTimer {
 
         // For a fresh start, reset the duration and set start to now
         this.duration = Duration.ZERO;
-        this.start = LocalTime.now();
+        this.start = clock.nanoTime();
         isRunning = true;
     }
 
@@ -37,7 +51,7 @@ public class MockElapsedTimer implements ElapsedTimer {
     public void stopTimer() {
         // If the timer is running, update the duration before stopping.
         if (isRunning && start != null) {
-            duration = duration.plus(Duration.between((LocalTime) start, LocalTime.now()));
+            duration = duration.plus(sinceStart());
         }
         isRunning = false;
         start = null;       // Clear start to ensure getTime() returns the final duration.
@@ -49,7 +63,7 @@ public class MockElapsedTimer implements ElapsedTimer {
         if (!isRunning) return;
 
         // Capture the elapsed time since the timer started/resumed
-        duration = duration.plus(Duration.between((LocalTime) start, LocalTime.now()));
+        duration = duration.plus(sinceStart());
         isRunning = false;
         start = null;       // Clear start to prevent double-adding in getTime()
     }
@@ -60,7 +74,7 @@ public class MockElapsedTimer implements ElapsedTimer {
         if (isRunning == true) return;
 
         // Resume the timer by setting start to now without resetting duration.
-        start = LocalTime.now();
+        start = clock.nanoTime();
         isRunning = true;
     }
 
@@ -69,8 +83,8 @@ public class MockElapsedTimer implements ElapsedTimer {
         // Advance timer by 15 seconds regardless of whether it's paused
         if (isRunning && start != null) {
             // Incorporate the time elapsed since the last start before advancing
-            duration = duration.plus(Duration.between((LocalTime)start, LocalTime.now()));
-            start = LocalTime.now();
+            duration = duration.plus(sinceStart());
+            start = clock.nanoTime();
         }
         duration = duration.plusSeconds(15);
     }
@@ -80,25 +94,20 @@ public class MockElapsedTimer implements ElapsedTimer {
         // If the timer is running, add the time since the last start to duration.
         Duration currentDuration = duration;
         if (isRunning && start != null) {
-            currentDuration = currentDuration.plus(Duration.between((LocalTime) start, LocalTime.now()));
+            currentDuration = currentDuration.plus(sinceStart());
         }
 
-        long totalSeconds = currentDuration.getSeconds();
-        int minutes = (int)((totalSeconds % 3600) / 60);
-        int seconds = (int)(totalSeconds % 60);
-        return String.format(Locale.getDefault(), "%02d:%02d", minutes, seconds);
+        return TimeFormat.clock((int) (currentDuration.getSeconds() % 3600));
     }
 
     @Override
     public String getRoundedUpTime() {
         Duration currentDuration = duration;
         if (isRunning && start != null) {
-            currentDuration = currentDuration.plus(Duration.between((LocalTime) start, LocalTime.now()));
+            currentDuration = currentDuration.plus(sinceStart());
         }
 
-        long totalSeconds = currentDuration.getSeconds();
-        int minutes = (int)((totalSeconds % 3600) / 60);
-        return String.format(Locale.getDefault(), "%01d", minutes + 1);
+        return TimeFormat.roundedUpMinutes((int) (currentDuration.getSeconds() % 3600));
     }
 
     @Override
@@ -113,15 +122,10 @@ public class MockElapsedTimer implements ElapsedTimer {
     public String getRoundedDownTime() {
         Duration currentDuration = duration;
         if (isRunning && start != null) {
-            currentDuration = currentDuration.plus(Duration.between((LocalTime) start, LocalTime.now()));
+            currentDuration = currentDuration.plus(sinceStart());
         }
 
-        long totalSeconds = currentDuration.getSeconds();
-        int minutes = (int)((totalSeconds % 3600) / 60);
-
-        if (minutes == 0) { return "-"; }
-
-        return String.format(Locale.getDefault(), "%01d", minutes);
+        return TimeFormat.roundedDownMinutes((int) (currentDuration.getSeconds() % 3600));
     }
 
     @Override
@@ -0,0 +1,129 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import edu.ucsd.cse110.habitizer.lib.util.TimeFormat;
+
+/**
+ * A count-up timer that does no work between reads. It only remembers the
+ * time accumulated before the last pause and the clock reading at which it
+ * last started, so it needs no background thread and keeps sub-second
+ * precision across pause and resume.
+ */
+public class MonotonicTimer implements ElapsedTimer {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    public static final int ADVANCE_SECONDS = 30;
+
+    private final Clock clock;
+    private long accumulatedNanos; // Time counted up to the last pause
+    private long startNanos;       // Clock reading at the last start/resume
+    private boolean isRunning;
+    // Told whenever the timer starts, pauses or jumps, but not as time passes
+    private final List<Runnable> changeListeners = new ArrayList<>();
+
+    public MonotonicTimer() {
+        this(Clock.system());
+    }
+
+    public MonotonicTimer(Clock clock) {
+        this.clock = clock;
+        this.accumulatedNanos = 0;
+        this.startNanos = 0;
+        this.isRunning = false;
+    }
+
+    @Override
+    public void startTimer() {
+        if (isRunning) return;
+
+        startNanos = clock.nanoTime();
+        isRunning = true;
+        notifyChanged();
+    }
+
+    @Override
+    public void stopTimer() {
+        pauseTimer();
+    }
+
+    @Override
+    public void pauseTimer() {
+        if (!isRunning) return;
+
+        accumulatedNanos += clock.nanoTime() - startNanos;
+        isRunning = false;
+        notifyChanged();
+    }
+
+    @Override
+    public void resumeTimer() {
+        startTimer();
+    }
+
+    @Override
+    public void advanceTimer() {
+        accumulatedNanos += ADVANCE_SECONDS * NANOS_PER_SECOND;
+        notifyChanged();
+    }
+
+    @Override
+    public void resetTimer() {
+        accumulatedNanos = 0;
+        isRunning = false;
+        startTimer();
+    }
+
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(Runnable listener) {
+        changeListeners.remove(listener);
+    }
+
+    private void notifyChanged() {
+        for (var listener : List.copyOf(changeListeners)) {
+            listener.run();
+        }
+    }
+
+    // Total elapsed time, including the part of the current second
+    public long getElapsedNanos() {
+        if (!isRunning) return accumulatedNanos;
+        return accumulatedNanos + (clock.nanoTime() - startNanos);
+    }
+
+    @Override
+    public int getSeconds() {
+        return (int) (getElapsedNanos() / NANOS_PER_SECOND);
+    }
+
+    @Override
+    public void setSeconds(int seconds) {
+        accumulatedNanos = seconds * NANOS_PER_SECOND;
+        if (isRunning) startNanos = clock.nanoTime();
+        notifyChanged();
+    }
+
+    @Override
+    public String getTime() {
+        return TimeFormat.clock(getSeconds());
+    }
+
+    @Override
+    public String getRoundedUpTime() {
+        return TimeFormat.roundedUpMinutes(getSeconds());
+    }
+
+    @Override
+    public String getRoundedDownTime() {
+        return TimeFormat.roundedDownMinutes(getSeconds());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return isRunning;
+    }
+}
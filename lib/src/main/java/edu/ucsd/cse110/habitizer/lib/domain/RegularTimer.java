@@ -1,22 +1,24 @@
 package edu.ucsd.cse110.habitizer.lib.domain;
 
-import java.util.Locale;
-import java.util.Timer;
-import java.util.TimerTask;
+import edu.ucsd.cse110.habitizer.lib.util.TimeFormat;
 
 public class RegularTimer implements ElapsedTimer {
-    private Timer timer;
-    private TimerTask timerTask;
-    private int secondsElapsed;
+    private final Scheduler scheduler;
+    private Scheduler.Cancellable timerTask;
+    private volatile int secondsElapsed;
     private int secondsFinal;
     private boolean isRunning;
     public static final long TIMER_INTERVAL_MS = 1000;
 
     public RegularTimer() {
+        this(TimerService.shared());
+    }
+
+    public RegularTimer(Scheduler scheduler) {
+        this.scheduler = scheduler;
         this.secondsElapsed = 0;
         this.secondsFinal = 0;
         this.isRunning = false;
-        this.timer = null;
         this.timerTask = null;
     }
 
@@ -24,24 +26,16 @@ public class RegularTimer implements ElapsedTimer {
     public void startTimer() {
         if (isRunning) return;
 
-        this.timer = new Timer();
-
-        timer.schedule(timerTask = new TimerTask() {
-            @Override
-            public void run() {
-                secondsElapsed++;
-            }
-        }, TIMER_INTERVAL_MS, TIMER_INTERVAL_MS);
+        this.timerTask = scheduler.scheduleAtFixedRate(this::tick, TIMER_INTERVAL_MS, TIMER_INTERVAL_MS);
 
         isRunning = true;
     }
 
     @Override
     public void stopTimer() {
-        if (!isRunning && timer == null) return;
+        if (!isRunning && timerTask == null) return;
 
-        if (timerTask != null) timerTask.cancel();
-        if (timer != null) timer.cancel();
+        cancelTask();
 
         isRunning = false;
         secondsFinal = secondsElapsed;
@@ -51,8 +45,7 @@ public class RegularTimer implements ElapsedTimer {
     public void pauseTimer() {
         if (!isRunning) return;
 
-        if (timerTask != null) timerTask.cancel();
-        if (timer != null) timer.cancel();
+        cancelTask();
 
         isRunning = false;
         secondsFinal = secondsElapsed;
@@ -62,13 +55,7 @@ public class RegularTimer implements ElapsedTimer {
     public void resumeTimer() {
         if (isRunning) return;
 
-        this.timer = new Timer();
-        timer.schedule(this.timerTask = new TimerTask() {
-            @Override
-            public void run() {
-                secondsElapsed++;
-            }
-        }, TIMER_INTERVAL_MS, TIMER_INTERVAL_MS);
+        this.timerTask = scheduler.scheduleAtFixedRate(this::tick, TIMER_INTERVAL_MS, TIMER_INTERVAL_MS);
 
         this.isRunning = true;
     }
@@ -83,25 +70,22 @@ public class RegularTimer implements ElapsedTimer {
         stopTimer();
         this.secondsElapsed = 0;
         this.isRunning = false;
-        this.timer = null;
         this.timerTask = null;
         startTimer();
     }
 
-    @Override
-    public String getTime() {
-        int minutes;
-        int seconds;
+    // Runs on the scheduler once per interval
+    private void tick() {
+        secondsElapsed++;
+    }
 
-        if (!isRunning) {
-            minutes = (secondsFinal % 3600) / 60;
-            seconds = secondsFinal % 60;
-        } else {
-            minutes = (secondsElapsed % 3600) / 60;
-            seconds = secondsElapsed % 60;
-        }
+    private void cancelTask() {
+        if (timerTask != null) timerTask.cancel();
+    }
 
-        return String.format(Locale.getDefault(), "%02d:%02d", minutes, seconds);
+    @Override
+    public String getTime() {
+        return TimeFormat.clock(isRunning ? secondsElapsed : secondsFinal);
     }
 
     @Override
@@ -116,14 +100,12 @@ public class RegularTimer implements ElapsedTimer {
 
     @Override
     public String getRoundedUpTime() {
-        int minutes = isRunning ? (secondsElapsed % 3600) / 60 : (secondsFinal % 3600) / 60;
-        return String.format(Locale.getDefault(), "%01d", minutes + 1);
+        return TimeFormat.roundedUpMinutes(isRunning ? secondsElapsed : secondsFinal);
     }
 
     @Override
     public String getRoundedDownTime() {
-        int minutes = isRunning ? (secondsElapsed % 3600) / 60 : (secondsFinal % 3600) / 60;
-        return minutes == 0 ? "-" : String.format(Locale.getDefault(), "%01d", minutes);
+        return TimeFormat.roundedDownMinutes(isRunning ? secondsElapsed : secondsFinal);
     }
 
     /** Minimal change: Added this method to match MockElapsedTimer **/
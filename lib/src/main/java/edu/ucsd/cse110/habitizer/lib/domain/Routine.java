@@ -21,6 +21,13 @@ public class Routine {
     private int taskElapsedTime;
     private int goalTime;
 
+    // Session timestamps (epoch ms, 0 when unset). Elapsed time is derived from
+    // these, so a restored routine does not depend on how recently it was saved.
+    private long sessionStart;    // When the routine was started
+    private long pausedDuration;  // Total time spent paused in finished pauses
+    private long pausedAt;        // When the current pause began
+    private long taskStart;       // When the current task began, moved forward by pauses
+
     public Routine(@NonNull int id, @NonNull String title, int sortOrder,
                    boolean isInProgress, boolean isInEdit, boolean isdone, boolean isPaused,
                    int routineElapsedTime, int taskElapsedTime, int goalTime) {
@@ -53,6 +60,11 @@ public class Routine {
     public int taskElapsedTime() { return taskElapsedTime; }
     public int goalTime() { return goalTime; }
     public List<RoutineTask> tasks() { return List.copyOf(tasks); }
+    public long sessionStart() { return sessionStart; }
+    public long pausedDuration() { return pausedDuration; }
+    public long pausedAt() { return pausedAt; }
+    public long taskStart() { return taskStart; }
+    public boolean hasSession() { return sessionStart != 0; }
 
     public void setTasks(List<RoutineTask> tasks) {
         var newTasks = new ArrayList<RoutineTask>();
@@ -88,6 +100,56 @@ public class Routine {
         this.taskElapsedTime = taskElapsedTime;
     }
 
+    public void setSession(long sessionStart, long pausedDuration, long pausedAt, long taskStart) {
+        this.sessionStart = sessionStart;
+        this.pausedDuration = pausedDuration;
+        this.pausedAt = pausedAt;
+        this.taskStart = taskStart;
+    }
+
+    public void startSession(long now) {
+        setSession(now, 0, 0, now);
+    }
+
+    public void startNextTask(long now) {
+        this.taskStart = now;
+    }
+
+    public void pauseSession(long now) {
+        if (pausedAt == 0) pausedAt = now;
+    }
+
+    public void resumeSession(long now) {
+        if (pausedAt == 0) return;
+        long pause = now - pausedAt;
+        pausedDuration += pause;
+        taskStart += pause;
+        pausedAt = 0;
+    }
+
+    // Moves the session start back so that it reads as if more time had passed
+    public void advanceSession(long millis) {
+        sessionStart -= millis;
+    }
+
+    public void advanceTask(long millis) {
+        taskStart -= millis;
+    }
+
+    // Elapsed routine time at the given instant, in seconds
+    public int routineElapsedTimeAt(long now) {
+        if (!hasSession()) return routineElapsedTime;
+        long end = pausedAt != 0 ? pausedAt : now;
+        return (int) ((end - sessionStart - pausedDuration) / 1000);
+    }
+
+    // Elapsed time of the current task at the given instant, in seconds
+    public int taskElapsedTimeAt(long now) {
+        if (!hasSession()) return taskElapsedTime;
+        long end = pausedAt != 0 ? pausedAt : now;
+        return (int) ((end - taskStart) / 1000);
+    }
+
     public void setGoalTime(int newTime) {
         this.goalTime = newTime;
     }
@@ -120,5 +182,6 @@ public class Routine {
 
         this.routineElapsedTime = 0;
         this.taskElapsedTime = 0;
+        setSession(0, 0, 0, 0);
     }
 }
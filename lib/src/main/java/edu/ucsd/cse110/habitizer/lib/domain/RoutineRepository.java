@@ -1,5 +1,6 @@
 package edu.ucsd.cse110.habitizer.lib.domain;
 
+import java.util.Collection;
 import java.util.List;
 
 import edu.ucsd.cse110.habitizer.lib.util.Subject;
@@ -8,9 +9,25 @@ public interface RoutineRepository {
     Subject<List<Routine>> findRoutineList();
     List<RoutineTask> findTaskList(int routineId);
 
+    // Emit only when that routine or its tasks change: null, or no tasks, once it is deleted
+    Subject<Routine> findRoutine(int routineId);
+
+    Subject<List<RoutineTask>> findTasks(int routineId);
+
     void saveRoutine(Routine routine);
 
+    // The bulk writes below are atomic, and observers hear about each one once
+    void saveRoutines(Collection<Routine> routines);
+
+    // Saves each task into the routine with its routine id, replacing the task with its id
+    void saveTasks(Collection<RoutineTask> tasks);
+
+    void deleteTasks(Collection<Integer> taskIds);
+
     void deleteRoutines();
 
+    // Deletes every routine and saves these in their place
+    void replaceRoutines(Collection<Routine> routines);
+
     void deleteRoutine(int routineId);
 }
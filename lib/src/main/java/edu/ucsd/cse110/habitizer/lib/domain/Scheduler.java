@@ -0,0 +1,48 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import edu.ucsd.cse110.observables.Subscription;
+
+/**
+ * Runs tasks after a delay. Timers and tick loops take one of these instead
+ * of creating threads or handlers themselves, so tests can swap in a
+ * {@link VirtualClock} and run hours of simulated time instantly.
+ * <p>
+ * It is also a scheduler for the time-based transformations of subjects
+ * (debounce, throttle), so one implementation serves both.
+ */
+public interface Scheduler extends edu.ucsd.cse110.observables.Scheduler {
+    // Handle for a scheduled task; disposing it is the same as cancelling it
+    interface Cancellable extends Subscription {
+        void cancel();
+
+        @Override
+        default void dispose() {
+            cancel();
+        }
+
+        // Cancels by running the given action, the first time only
+        static Cancellable of(Runnable action) {
+            var cancelled = new AtomicBoolean(false);
+            return new Cancellable() {
+                @Override
+                public void cancel() {
+                    if (cancelled.compareAndSet(false, true)) action.run();
+                }
+
+                @Override
+                public boolean isDisposed() {
+                    return cancelled.get();
+                }
+            };
+        }
+    }
+
+    // Runs the task once, delayMs from now
+    @Override
+    Cancellable schedule(Runnable task, long delayMs);
+
+    // Runs the task initialDelayMs from now and then every periodMs
+    Cancellable scheduleAtFixedRate(Runnable task, long initialDelayMs, long periodMs);
+}
@@ -1,14 +1,15 @@
 package edu.ucsd.cse110.habitizer.lib.domain;
 
+import java.util.Collection;
 import java.util.List;
 
-import edu.ucsd.cse110.habitizer.lib.data.InMemoryDataSource;
+import edu.ucsd.cse110.habitizer.lib.data.RoutineDataSource;
 import edu.ucsd.cse110.habitizer.lib.util.Subject;
 
 public class SimpleRoutineRepository implements RoutineRepository {
-    private final InMemoryDataSource dataSource;
+    private final RoutineDataSource dataSource;
 
-    public SimpleRoutineRepository(InMemoryDataSource dataSource) {
+    public SimpleRoutineRepository(RoutineDataSource dataSource) {
         this.dataSource = dataSource;
     }
 
@@ -22,17 +23,47 @@ public class SimpleRoutineRepository implements RoutineRepository {
         return dataSource.findTaskList(routineId);
     }
 
+    @Override
+    public Subject<Routine> findRoutine(int routineId) {
+        return dataSource.findRoutine(routineId);
+    }
+
+    @Override
+    public Subject<List<RoutineTask>> findTasks(int routineId) {
+        return dataSource.findTasks(routineId);
+    }
+
     @Override
     public void saveRoutine(Routine routine) {
         dataSource.saveRoutine(routine);
 
     }
 
+    @Override
+    public void saveRoutines(Collection<Routine> routines) {
+        dataSource.saveRoutines(routines);
+    }
+
+    @Override
+    public void saveTasks(Collection<RoutineTask> tasks) {
+        dataSource.saveTasks(tasks);
+    }
+
+    @Override
+    public void deleteTasks(Collection<Integer> taskIds) {
+        dataSource.deleteTasks(taskIds);
+    }
+
     @Override
     public void deleteRoutines() {
         dataSource.deleteRoutines();
     }
 
+    @Override
+    public void replaceRoutines(Collection<Routine> routines) {
+        dataSource.replaceRoutines(routines);
+    }
+
     @Override
     public void deleteRoutine(int routineId) {
         dataSource.deleteRoutine(routineId);
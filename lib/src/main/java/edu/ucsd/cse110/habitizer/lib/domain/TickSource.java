@@ -0,0 +1,139 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import edu.ucsd.cse110.habitizer.lib.util.MutableSubject;
+import edu.ucsd.cse110.habitizer.lib.util.SimpleSubject;
+import edu.ucsd.cse110.habitizer.lib.util.Subject;
+
+/**
+ * Wakes up only when a displayed time would change. Each subscription pairs
+ * a timer with a {@link Granularity}; the source works out which running
+ * timer reaches its next change first and schedules a single wake-up for
+ * that instant, instead of polling every second.
+ * <p>
+ * Subscribers receive the timer's elapsed seconds each time it crosses into
+ * a new display value. Whenever a timer is started, paused, advanced or
+ * reset, call {@link #refresh()} so the wake-up is moved accordingly.
+ */
+public class TickSource {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Where the displayed value of a timer changes.
+     */
+    public interface Granularity {
+        /**
+         * @param seconds Elapsed seconds shown now.
+         * @return The first whole second after {@code seconds} whose display differs.
+         */
+        int nextChange(int seconds);
+
+        static Granularity every(int stepSeconds) {
+            if (stepSeconds <= 0) {
+                throw new IllegalArgumentException("Step must be positive");
+            }
+            return seconds -> (Math.floorDiv(seconds, stepSeconds) + 1) * stepSeconds;
+        }
+
+        Granularity SECONDS = every(1);
+
+        // TimeFormat.roundedDownMinutes / roundedUpMinutes
+        Granularity MINUTES = every(60);
+
+        // TimeFormat.roundedUpTaskTime: "5s", "10s", ... while under 55 s,
+        // so the value moves one second past each multiple of 5
+        Granularity ROUNDED_UP_TASK_TIME = seconds -> seconds < 55
+                ? Math.min(Math.floorDiv(seconds + 4, 5) * 5 + 1, 55)
+                : MINUTES.nextChange(seconds);
+    }
+
+    private static class Subscription {
+        final MonotonicTimer timer;
+        final Granularity granularity;
+        final MutableSubject<Integer> seconds;
+        int nextChange;
+
+        Subscription(MonotonicTimer timer, Granularity granularity) {
+            this.timer = timer;
+            this.granularity = granularity;
+            this.seconds = new SimpleSubject<>();
+            this.nextChange = granularity.nextChange(timer.getSeconds());
+        }
+    }
+
+    private final Scheduler scheduler;
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private Scheduler.Cancellable wakeUp;
+
+    public TickSource(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @return A subject that is set to the timer's elapsed seconds each time
+     * its display at the given granularity changes. It holds null until then.
+     */
+    public Subject<Integer> subscribe(MonotonicTimer timer, Granularity granularity) {
+        var subscription = new Subscription(timer, granularity);
+        subscriptions.add(subscription);
+        reschedule();
+        return subscription.seconds;
+    }
+
+    public void unsubscribe(Subject<Integer> seconds) {
+        subscriptions.removeIf(subscription -> subscription.seconds == seconds);
+        reschedule();
+    }
+
+    // Recomputes every subscription after its timer jumped, paused or resumed
+    public void refresh() {
+        for (var subscription : subscriptions) {
+            subscription.nextChange = subscription.granularity.nextChange(subscription.timer.getSeconds());
+        }
+        reschedule();
+    }
+
+    // Cancels the pending wake-up; refresh() or subscribe() schedules it again
+    public void stop() {
+        if (wakeUp == null) return;
+        wakeUp.cancel();
+        wakeUp = null;
+    }
+
+    public boolean isScheduled() {
+        return wakeUp != null;
+    }
+
+    private void wake() {
+        wakeUp = null;
+        // Copied so that subscribers may unsubscribe while being notified
+        for (var subscription : List.copyOf(subscriptions)) {
+            int seconds = subscription.timer.getSeconds();
+            if (seconds >= subscription.nextChange) {
+                subscription.nextChange = subscription.granularity.nextChange(seconds);
+                subscription.seconds.setValue(seconds);
+            }
+        }
+        reschedule();
+    }
+
+    private void reschedule() {
+        stop();
+
+        long earliest = Long.MAX_VALUE;
+        for (var subscription : subscriptions) {
+            if (!subscription.timer.isRunning()) continue;
+            long remaining = subscription.nextChange * NANOS_PER_SECOND - subscription.timer.getElapsedNanos();
+            earliest = Math.min(earliest, Math.max(0, remaining));
+        }
+        if (earliest == Long.MAX_VALUE) return; // Nothing is moving
+
+        // Rounded up so that the timer has crossed the boundary when we wake
+        long delayMs = (earliest + NANOS_PER_MILLI - 1) / NANOS_PER_MILLI;
+        wakeUp = scheduler.schedule(this::wake, delayMs);
+    }
+}
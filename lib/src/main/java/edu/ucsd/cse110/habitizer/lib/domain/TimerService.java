@@ -0,0 +1,59 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives any number of timers from a single scheduler thread, so that
+ * starting, pausing and resuming a timer never creates a new thread.
+ */
+public class TimerService implements Scheduler {
+    private static final TimerService SHARED = new TimerService("habitizer-timer");
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    public TimerService(String threadName) {
+        ThreadFactory threadFactory = runnable -> {
+            var thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ScheduledThreadPoolExecutor(1, threadFactory);
+        // Cancelled tasks are dropped from the queue right away instead of
+        // piling up until their next (never happening) run.
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    // The service used by every timer that is not given one explicitly
+    public static TimerService shared() {
+        return SHARED;
+    }
+
+    // On the System.nanoTime clock, like the executor's delays
+    @Override
+    public long nowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    @Override
+    public Cancellable schedule(Runnable task, long delayMs) {
+        var future = executor.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+        return Cancellable.of(() -> future.cancel(false));
+    }
+
+    @Override
+    public Cancellable scheduleAtFixedRate(Runnable task, long initialDelayMs, long periodMs) {
+        var future = executor.scheduleAtFixedRate(task, initialDelayMs, periodMs, TimeUnit.MILLISECONDS);
+        return Cancellable.of(() -> future.cancel(false));
+    }
+
+    // Number of tasks currently waiting to run
+    public int pendingTasks() {
+        return executor.getQueue().size();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,126 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A clock and scheduler for tests. Time only moves when {@link #advance(long)}
+ * is called, and every task that falls due along the way runs synchronously,
+ * in order, with the clock set to the instant it was due.
+ */
+public class VirtualClock implements Clock, Scheduler {
+    // 2025-01-01T00:00:00Z, so timestamps are never mistaken for "not set" (0)
+    public static final long DEFAULT_EPOCH_MILLIS = 1_735_689_600_000L;
+
+    private final PriorityQueue<Task> tasks = new PriorityQueue<>();
+    private final long startNanos;
+    private final long startEpochMillis;
+    private long nowNanos;
+    private long nextSequence;
+
+    public VirtualClock() {
+        this(0);
+    }
+
+    public VirtualClock(long startNanos) {
+        this(startNanos, DEFAULT_EPOCH_MILLIS);
+    }
+
+    public VirtualClock(long startNanos, long startEpochMillis) {
+        this.startNanos = startNanos;
+        this.startEpochMillis = startEpochMillis;
+        this.nowNanos = startNanos;
+        this.nextSequence = 0;
+    }
+
+    @Override
+    public long nanoTime() {
+        return nowNanos;
+    }
+
+    @Override
+    public long epochMillis() {
+        return startEpochMillis + TimeUnit.NANOSECONDS.toMillis(nowNanos - startNanos);
+    }
+
+    @Override
+    public long nowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nowNanos);
+    }
+
+    @Override
+    public Cancellable schedule(Runnable task, long delayMs) {
+        return enqueue(task, delayMs, 0);
+    }
+
+    @Override
+    public Cancellable scheduleAtFixedRate(Runnable task, long initialDelayMs, long periodMs) {
+        if (periodMs <= 0) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        return enqueue(task, initialDelayMs, TimeUnit.MILLISECONDS.toNanos(periodMs));
+    }
+
+    // Moves time forward, running every task that falls due on the way
+    public void advance(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Time cannot go backwards");
+        }
+        long target = nowNanos + TimeUnit.MILLISECONDS.toNanos(millis);
+
+        while (!tasks.isEmpty() && tasks.peek().dueNanos <= target) {
+            var task = tasks.poll();
+            nowNanos = task.dueNanos;
+            task.runnable.run();
+
+            if (task.periodNanos > 0 && !task.cancelled) {
+                task.dueNanos += task.periodNanos;
+                task.sequence = nextSequence++;
+                tasks.add(task);
+            }
+        }
+        nowNanos = target;
+    }
+
+    // Runs tasks that are already due without moving time
+    public void runPending() {
+        advance(0);
+    }
+
+    public int pendingTasks() {
+        return tasks.size();
+    }
+
+    private Cancellable enqueue(Runnable runnable, long delayMs, long periodNanos) {
+        var task = new Task(runnable,
+                nowNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMs)),
+                periodNanos, nextSequence++);
+        tasks.add(task);
+        return Cancellable.of(() -> {
+            task.cancelled = true;
+            tasks.remove(task);
+        });
+    }
+
+    private static class Task implements Comparable<Task> {
+        final Runnable runnable;
+        final long periodNanos;
+        long dueNanos;
+        long sequence; // Keeps tasks due at the same instant in FIFO order
+        boolean cancelled;
+
+        Task(Runnable runnable, long dueNanos, long periodNanos, long sequence) {
+            this.runnable = runnable;
+            this.dueNanos = dueNanos;
+            this.periodNanos = periodNanos;
+            this.sequence = sequence;
+            this.cancelled = false;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byDue = Long.compare(dueNanos, other.dueNanos);
+            return byDue != 0 ? byDue : Long.compare(sequence, other.sequence);
+        }
+    }
+}
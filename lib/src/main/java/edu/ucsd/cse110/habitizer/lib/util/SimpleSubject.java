@@ -1,12 +1,51 @@
 package edu.ucsd.cse110.habitizer.lib.util;
 
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 
+import java.util.ArrayDeque;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import edu.ucsd.cse110.observables.Instrumentation;
+import edu.ucsd.cse110.observables.SubjectMetrics;
+import edu.ucsd.cse110.observables.Subjects;
 
 public class SimpleSubject<T> implements MutableSubject<T> {
-    private @Nullable T value = null;
-    private final List<Observer<T>> observers = new java.util.ArrayList<>();
+    // Stands in for null in the queue below, which cannot hold nulls
+    private static final Object NULL = new Object();
+
+    // Volatile so that getValue on another thread sees the latest value set
+    private volatile @Nullable T value = null;
+    // Copy-on-write, so observers can (un)register while being notified
+    private final List<Observer<T>> observers = new CopyOnWriteArrayList<>();
+    // Values set by observers while a notification is running, in order
+    private final ArrayDeque<Object> pending = new ArrayDeque<>();
+    private boolean isNotifying = false;
+    // Set by named; only used while instrumentation is enabled
+    private @Nullable SubjectMetrics metrics;
+    // When true, setting a value equal to the current one notifies nobody
+    private final boolean distinct;
+    // Run by an open Subjects.batch when it ends, with whatever value is latest by then
+    private final Runnable notifyLatest = () -> notifyObservers(this.value);
+
+    public SimpleSubject() {
+        this(false);
+    }
+
+    public SimpleSubject(boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    /**
+     * Names the subject for the observables module's {@link Instrumentation}, which records
+     * its emissions and how long its observers take while instrumentation is enabled.
+     */
+    public static <T> SimpleSubject<T> named(String name, SimpleSubject<T> subject) {
+        subject.metrics = Instrumentation.metrics(name);
+        return subject;
+    }
 
     @Nullable
     @Override
@@ -14,7 +53,43 @@ public class SimpleSubject<T> implements MutableSubject<T> {
         return value;
     }
 
-    private void notifyObservers() {
+    // Delivers the value, then whatever observers set meanwhile, in a loop rather than
+    // by recursion: every observer sees every value, in the order they were set.
+    @SuppressWarnings("unchecked")
+    private void notifyObservers(@Nullable T value) {
+        if (isNotifying) {
+            pending.add(value == null ? NULL : value);
+            return;
+        }
+
+        isNotifying = true;
+        try {
+            deliver(value);
+            while (!pending.isEmpty()) {
+                var next = pending.poll();
+                deliver(next == NULL ? null : (T) next);
+            }
+        } finally {
+            // If an observer threw, what it queued is dropped along with it
+            pending.clear();
+            isNotifying = false;
+        }
+    }
+
+    private void deliver(@Nullable T value) {
+        var metrics = this.metrics;
+        if (metrics != null && Instrumentation.isEnabled()) {
+            metrics.recordEmission();
+            for (var observer : observers) {
+                long start = System.nanoTime();
+                try {
+                    observer.onChanged(value);
+                } finally {
+                    metrics.recordLatency(observer, System.nanoTime() - start);
+                }
+            }
+            return;
+        }
         for (var observer : observers) {
             observer.onChanged(value);
         }
@@ -22,8 +97,12 @@ public class SimpleSubject<T> implements MutableSubject<T> {
 
     @Override
     public void setValue(T value) {
+        if (distinct && Objects.equals(this.value, value)) return;
         this.value = value;
-        notifyObservers();
+        // Inside Subjects.batch, observers hear about it once the batch ends, together
+        // with every other subject set in it
+        if (Subjects.defer(this, notifyLatest)) return;
+        notifyObservers(value);
     }
 
     @Override
@@ -35,5 +114,16 @@ public class SimpleSubject<T> implements MutableSubject<T> {
     @Override
     public void removeObserver(Observer<T> observer) {
         observers.remove(observer);
+        var metrics = this.metrics;
+        if (metrics != null) metrics.observerRemoved(observer);
+    }
+
+    boolean hasObservers() {
+        return !observers.isEmpty();
+    }
+
+    @VisibleForTesting
+    public List<Observer<T>> getObservers() {
+        return List.copyOf(observers);
     }
 }
\ No newline at end of file
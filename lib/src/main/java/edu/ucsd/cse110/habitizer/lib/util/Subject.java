@@ -1,6 +1,9 @@
 package edu.ucsd.cse110.habitizer.lib.util;
 
 import androidx.annotation.Nullable;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
 
 public interface Subject<T> {
     @Nullable
@@ -9,4 +12,24 @@ public interface Subject<T> {
     void observe(Observer<T> observer);
 
     void removeObserver(Observer<T> observer);
+
+    /**
+     * Observe for as long as the owner lives; the observer is removed when it is
+     * destroyed. Fragments should pass getViewLifecycleOwner() for observers that
+     * touch their views, so they go away with the view and not the fragment.
+     */
+    default void observe(LifecycleOwner owner, Observer<T> observer) {
+        var lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) return;
+
+        observe(observer);
+        lifecycle.addObserver(new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(LifecycleOwner source, Lifecycle.Event event) {
+                if (event != Lifecycle.Event.ON_DESTROY) return;
+                removeObserver(observer);
+                source.getLifecycle().removeObserver(this);
+            }
+        });
+    }
 }
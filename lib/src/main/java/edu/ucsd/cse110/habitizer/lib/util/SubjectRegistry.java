@@ -0,0 +1,99 @@
+package edu.ucsd.cse110.habitizer.lib.util;
+
+import androidx.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * One subject per key, for as long as the key has observers. A store tells the registry
+ * which keys a write changed, and only their observers hear about it; keys nobody observes
+ * cost nothing, and stop costing anything once their last observer is removed.
+ * <p>
+ * {@link #find} hands out a light view of the key's subject: observing it makes the subject,
+ * if there is none yet, and removing the last observer drops it again. While nobody observes
+ * a key, its value is read from the store.
+ */
+public class SubjectRegistry<K, T> {
+    // Reads the current value for a key from the store
+    private final Function<K, T> lookup;
+    // Held while subjects are made, dropped or told about a change
+    private final Object lock;
+    // Only the keys with observers; read without the lock by getValue
+    private final Map<K, SimpleSubject<T>> subjects = new ConcurrentHashMap<>();
+
+    public SubjectRegistry(Function<K, T> lookup) {
+        this(lookup, new Object());
+    }
+
+    // For stores that notify their other observers under a lock of their own
+    public SubjectRegistry(Function<K, T> lookup, Object lock) {
+        this.lookup = lookup;
+        this.lock = lock;
+    }
+
+    public Subject<T> find(K key) {
+        return new KeyedSubject(key);
+    }
+
+    // Sends the key's current value to its observers, if it has any
+    public void changed(K key) {
+        synchronized (lock) {
+            var subject = subjects.get(key);
+            if (subject != null) subject.setValue(lookup.apply(key));
+        }
+    }
+
+    public void changed(Collection<? extends K> keys) {
+        synchronized (lock) {
+            for (var key : keys) changed(key);
+        }
+    }
+
+    // The keys with observers now
+    public Set<K> keys() {
+        synchronized (lock) {
+            return new HashSet<>(subjects.keySet());
+        }
+    }
+
+    private final class KeyedSubject implements Subject<T> {
+        private final K key;
+
+        KeyedSubject(K key) {
+            this.key = key;
+        }
+
+        @Nullable
+        @Override
+        public T getValue() {
+            var subject = subjects.get(key);
+            return subject != null ? subject.getValue() : lookup.apply(key);
+        }
+
+        @Override
+        public void observe(Observer<T> observer) {
+            synchronized (lock) {
+                subjects.computeIfAbsent(key, k -> {
+                    var subject = new SimpleSubject<T>();
+                    subject.setValue(lookup.apply(k));
+                    return subject;
+                }).observe(observer);
+            }
+        }
+
+        @Override
+        public void removeObserver(Observer<T> observer) {
+            synchronized (lock) {
+                var subject = subjects.get(key);
+                if (subject == null) return;
+                subject.removeObserver(observer);
+                if (!subject.hasObservers()) subjects.remove(key);
+            }
+        }
+    }
+}
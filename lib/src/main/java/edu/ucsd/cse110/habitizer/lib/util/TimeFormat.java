@@ -0,0 +1,132 @@
+package edu.ucsd.cse110.habitizer.lib.util;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Formats elapsed times for display without going through String.format.
+ * <p>
+ * Timer displays only ever show values within the hour (0–3599 s), so each
+ * string is built once and then served from a table. Anything outside the
+ * tables is written digit by digit into a char buffer. Digits use the
+ * default locale's zero digit, captured once, so the output matches what
+ * {@code String.format(Locale.getDefault(), ...)} used to produce.
+ */
+public final class TimeFormat {
+    public static final String NO_MINUTES = "-";
+
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final int MAX_CACHED_MINUTES = 60;
+    private static final int ROUNDED_SECONDS_LIMIT = 55;
+
+    private static final Locale LOCALE = Locale.getDefault();
+    private static final char ZERO_DIGIT = DecimalFormatSymbols.getInstance(LOCALE).getZeroDigit();
+
+    // Filled lazily; racing threads at worst build an equal string twice
+    private static final String[] CLOCK = new String[SECONDS_PER_HOUR];
+    private static final String[] MINUTES = new String[MAX_CACHED_MINUTES + 1];
+    private static final String[] SECONDS = new String[ROUNDED_SECONDS_LIMIT + 1];
+
+    private TimeFormat() {}
+
+    /**
+     * @param totalSeconds Elapsed seconds; hours are dropped.
+     * @return The time as "mm:ss", e.g. "04:07".
+     */
+    public static String clock(int totalSeconds) {
+        int seconds = totalSeconds % SECONDS_PER_HOUR;
+        if (seconds < 0) return buildClock(seconds / 60, seconds % 60);
+
+        var cached = CLOCK[seconds];
+        if (cached == null) {
+            cached = buildClock(seconds / 60, seconds % 60);
+            CLOCK[seconds] = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * @return The number of minutes with no padding, e.g. "7".
+     */
+    public static String minutes(int minutes) {
+        if (minutes < 0 || minutes > MAX_CACHED_MINUTES) return buildNumber(minutes, "");
+
+        var cached = MINUTES[minutes];
+        if (cached == null) {
+            cached = buildNumber(minutes, "");
+            MINUTES[minutes] = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * @return Whole minutes within the hour, or "-" if less than one minute has passed.
+     */
+    public static String roundedDownMinutes(int totalSeconds) {
+        int minutes = (totalSeconds % SECONDS_PER_HOUR) / 60;
+        return minutes == 0 ? NO_MINUTES : minutes(minutes);
+    }
+
+    /**
+     * @return Whole minutes within the hour plus one.
+     */
+    public static String roundedUpMinutes(int totalSeconds) {
+        return minutes((totalSeconds % SECONDS_PER_HOUR) / 60 + 1);
+    }
+
+    /**
+     * Used for completed task times: under 55 seconds the time is rounded up
+     * to the next 5 seconds ("35s"), otherwise up to the next minute ("2").
+     */
+    public static String roundedUpTaskTime(int totalSeconds) {
+        if (totalSeconds >= ROUNDED_SECONDS_LIMIT) return roundedUpMinutes(totalSeconds);
+
+        int rounded = totalSeconds % 5 == 0 ? totalSeconds : (totalSeconds / 5 + 1) * 5;
+        if (rounded < 0) return buildNumber(rounded, "s");
+
+        var cached = SECONDS[rounded];
+        if (cached == null) {
+            cached = buildNumber(rounded, "s");
+            SECONDS[rounded] = cached;
+        }
+        return cached;
+    }
+
+    private static String buildClock(int minutes, int seconds) {
+        var buffer = new char[24];
+        int length = writeNumber(buffer, 0, minutes, 2);
+        buffer[length++] = ':';
+        length = writeNumber(buffer, length, seconds, 2);
+        return new String(buffer, 0, length);
+    }
+
+    private static String buildNumber(int value, String suffix) {
+        var buffer = new char[12 + suffix.length()];
+        int length = writeNumber(buffer, 0, value, 1);
+        suffix.getChars(0, suffix.length(), buffer, length);
+        return new String(buffer, 0, length + suffix.length());
+    }
+
+    // Same output as %0<width>d: the sign counts towards the width
+    private static int writeNumber(char[] buffer, int offset, int value, int width) {
+        long magnitude = Math.abs((long) value);
+        int digits = 1;
+        for (long rest = magnitude / 10; rest > 0; rest /= 10) digits++;
+
+        int position = offset;
+        if (value < 0) {
+            buffer[position++] = '-';
+            width--;
+        }
+        for (int i = digits; i < width; i++) {
+            buffer[position++] = ZERO_DIGIT;
+        }
+
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (char) (ZERO_DIGIT + magnitude % 10);
+            magnitude /= 10;
+        }
+        return end;
+    }
+}
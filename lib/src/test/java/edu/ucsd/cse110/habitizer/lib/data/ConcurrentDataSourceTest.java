@@ -0,0 +1,215 @@
+package edu.ucsd.cse110.habitizer.lib.data;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import edu.ucsd.cse110.habitizer.lib.domain.Routine;
+
+public class ConcurrentDataSourceTest {
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int IDS_PER_WRITER = 100;
+    private static final int OPS_PER_WRITER = 5_000;
+
+    private static Routine routine(int id, int sortOrder) {
+        return new Routine(id, "Routine " + id, sortOrder, false, false, false, false, 0, 0, 60);
+    }
+
+    // Sorted by sort order then id, each id once, and found by id: null if so, else what's wrong
+    private static String problemWith(List<Routine> routines, ConcurrentDataSource.Snapshot snapshot) {
+        Routine previous = null;
+        for (var routine : routines) {
+            if (previous != null) {
+                int order = Integer.compare(previous.sortOrder(), routine.sortOrder());
+                if (order > 0 || (order == 0 && previous.id() >= routine.id())) {
+                    return "out of order at " + routine.id();
+                }
+            }
+            if (snapshot != null && snapshot.findRoutine(routine.id()) != routine) {
+                return "id index disagrees about " + routine.id();
+            }
+            previous = routine;
+        }
+        return null;
+    }
+
+    // Each writer saves and deletes its own ids, and returns what it left behind
+    private static List<Thread> startWriters(ConcurrentDataSource data, CountDownLatch start,
+                                             List<Map<Integer, Routine>> finalStates, AtomicInteger changes) {
+        var writers = new ArrayList<Thread>();
+        for (int w = 0; w < WRITERS; w++) {
+            int first = w * IDS_PER_WRITER;
+            var state = new HashMap<Integer, Routine>();
+            finalStates.add(state);
+            var writer = new Thread(() -> {
+                var random = new Random(first);
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int op = 0; op < OPS_PER_WRITER; op++) {
+                    int id = first + random.nextInt(IDS_PER_WRITER);
+                    if (random.nextInt(3) == 0) {
+                        data.deleteRoutine(id);
+                        if (state.remove(id) != null) changes.incrementAndGet();
+                    } else {
+                        var routine = routine(id, random.nextInt(10));
+                        data.saveRoutine(routine);
+                        state.put(id, routine);
+                        changes.incrementAndGet();
+                    }
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        return writers;
+    }
+
+    @Test
+    public void readersSeeConsistentSnapshotsWhileWritersRun() throws InterruptedException {
+        // GIVEN writers and readers hammering one data source
+        var data = new ConcurrentDataSource();
+        var start = new CountDownLatch(1);
+        var finalStates = new ArrayList<Map<Integer, Routine>>();
+        var changes = new AtomicInteger();
+        var writing = new AtomicBoolean(true);
+        var problem = new AtomicReference<String>();
+
+        var readers = new ArrayList<Thread>();
+        for (int r = 0; r < READERS; r++) {
+            var reader = new Thread(() -> {
+                long lastVersion = -1;
+                while (writing.get() && problem.get() == null) {
+                    // WHEN readers take snapshots meanwhile
+                    var snapshot = data.snapshot();
+                    if (snapshot.getVersion() < lastVersion) problem.compareAndSet(null, "version went back");
+                    lastVersion = snapshot.getVersion();
+                    var found = problemWith(snapshot.getRoutines(), snapshot);
+                    if (found != null) problem.compareAndSet(null, found);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+        var writers = startWriters(data, start, finalStates, changes);
+        start.countDown();
+        for (var writer : writers) writer.join();
+        writing.set(false);
+        for (var reader : readers) reader.join();
+
+        // THEN every snapshot they saw was consistent
+        assertNull(problem.get());
+        // AND no write was lost
+        var last = data.snapshot();
+        assertEquals(changes.get(), last.getVersion());
+        int expectedSize = 0;
+        for (var state : finalStates) {
+            expectedSize += state.size();
+            for (var entry : state.entrySet()) {
+                assertSame(entry.getValue(), last.findRoutine(entry.getKey()));
+            }
+        }
+        assertEquals(expectedSize, last.getRoutines().size());
+    }
+
+    @Test
+    public void observersAreNotifiedOneAtATimeWithTheLatestList() throws InterruptedException {
+        // GIVEN an observer of the routine list
+        var data = new ConcurrentDataSource();
+        var inFlight = new AtomicInteger();
+        var problem = new AtomicReference<String>();
+        var lastSeen = new AtomicReference<List<Routine>>();
+        data.findRoutineList().observe(routines -> {
+            if (routines == null) return;
+            if (inFlight.incrementAndGet() > 1) problem.compareAndSet(null, "notified concurrently");
+            var found = problemWith(routines, null);
+            if (found != null) problem.compareAndSet(null, found);
+            lastSeen.set(routines);
+            inFlight.decrementAndGet();
+        });
+
+        // WHEN writers run concurrently
+        var start = new CountDownLatch(1);
+        var writers = startWriters(data, start, new ArrayList<>(), new AtomicInteger());
+        start.countDown();
+        for (var writer : writers) writer.join();
+
+        // THEN it was never called concurrently, and was left with the final list
+        assertNull(problem.get());
+        assertEquals(data.snapshot().getRoutines(), lastSeen.get());
+        assertEquals(data.snapshot().getRoutines(), data.findRoutineList().getValue());
+    }
+
+    @Test
+    public void snapshotsDoNotChangeAfterwards() {
+        // GIVEN a snapshot of the default routines
+        var data = ConcurrentDataSource.fromDefault();
+        var before = data.snapshot();
+
+        // WHEN a routine is deleted and another added
+        data.deleteRoutine(1);
+        data.saveRoutine(routine(3, 0));
+
+        // THEN the old snapshot still has the old routines
+        assertEquals(2, before.getRoutines().size());
+        assertNotNull(before.findRoutine(1));
+        assertEquals("Wake Up", before.findTaskList(1).get(0).title());
+        assertNull(data.snapshot().findRoutine(1));
+        assertEquals(before.getVersion() + 2, data.snapshot().getVersion());
+    }
+
+    @Test
+    public void saveRoutinesIsOneVersion() {
+        // GIVEN an empty data source
+        var data = new ConcurrentDataSource();
+        var seen = new ArrayList<List<Routine>>();
+        data.findRoutineList().observe(seen::add);
+        seen.clear();
+
+        // WHEN three routines are saved together
+        data.saveRoutines(List.of(routine(1, 0), routine(2, 0), routine(3, 0)));
+
+        // THEN they arrive in one version and one notification
+        assertEquals(1, data.snapshot().getVersion());
+        assertEquals(3, data.snapshot().getRoutines().size());
+        assertEquals(1, seen.size());
+    }
+
+    @Test
+    public void singleRoutinesEndWithTheFinalRoutine() throws InterruptedException {
+        // GIVEN observers of two routines, made before writers run
+        var data = new ConcurrentDataSource();
+        var lastSeen = new HashMap<Integer, AtomicReference<Routine>>();
+        for (var id : List.of(0, 17)) {
+            lastSeen.put(id, new AtomicReference<>());
+            data.findRoutine(id).observe(lastSeen.get(id)::set);
+        }
+
+        // WHEN writers run, and two more routines are looked up meanwhile
+        var start = new CountDownLatch(1);
+        var writers = startWriters(data, start, new ArrayList<>(), new AtomicInteger());
+        start.countDown();
+        var late = List.of(data.findRoutine(150), data.findRoutine(333));
+        for (var writer : writers) writer.join();
+
+        // THEN each was left with the routine that ended up stored, or null
+        var last = data.snapshot();
+        assertSame(last.findRoutine(0), lastSeen.get(0).get());
+        assertSame(last.findRoutine(17), lastSeen.get(17).get());
+        assertSame(last.findRoutine(150), late.get(0).getValue());
+        assertSame(last.findRoutine(333), late.get(1).getValue());
+    }
+}
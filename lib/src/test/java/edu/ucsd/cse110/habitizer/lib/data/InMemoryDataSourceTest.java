@@ -0,0 +1,120 @@
+package edu.ucsd.cse110.habitizer.lib.data;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ucsd.cse110.habitizer.lib.domain.Routine;
+import edu.ucsd.cse110.habitizer.lib.domain.RoutineTask;
+
+public class InMemoryDataSourceTest {
+    private static Routine routine(int id) {
+        return new Routine(id, "Routine " + id, 0, false, false, false, false, 0, 0, 60);
+    }
+
+    @Test
+    public void saveRoutinesReplacesAndAppendsInOneNotification() {
+        // GIVEN the default routines
+        var data = InMemoryDataSource.fromDefault();
+        var seen = new ArrayList<List<Routine>>();
+        data.findRoutineList().observe(seen::add);
+        seen.clear();
+
+        // WHEN one of them and two new ones are saved together
+        var evening = routine(2);
+        data.saveRoutines(List.of(routine(4), evening, routine(3)));
+
+        // THEN the list keeps its order, with the new ones at the end, in one notification
+        assertEquals(1, seen.size());
+        var routines = seen.get(0);
+        assertEquals(4, routines.size());
+        assertSame(evening, routines.get(1));
+        assertEquals(4, routines.get(2).id());
+        assertEquals(3, routines.get(3).id());
+    }
+
+    @Test
+    public void saveTasksAndDeleteTasksNotifyOnce() {
+        // GIVEN the default routines
+        var data = InMemoryDataSource.fromDefault();
+        var seen = new ArrayList<List<Routine>>();
+        data.findRoutineList().observe(seen::add);
+        seen.clear();
+
+        // WHEN tasks are saved into both routines
+        data.saveTasks(List.of(
+                new RoutineTask(3, 1, "Floss", false, 2),
+                new RoutineTask(7, 2, "Read", false, 3)));
+
+        // THEN they replace or join the tasks there, in one notification
+        assertEquals(1, seen.size());
+        assertEquals("Floss", data.findTaskList(1).get(2).title());
+        assertEquals(4, data.findTaskList(2).size());
+
+        // WHEN tasks of both are deleted
+        data.deleteTasks(List.of(1, 7));
+
+        // THEN they are gone, in one more notification
+        assertEquals(2, seen.size());
+        assertEquals(2, data.findTaskList(1).size());
+        assertEquals(3, data.findTaskList(2).size());
+    }
+
+    @Test
+    public void replaceRoutinesNotifiesTheSameObserversOnce() {
+        // GIVEN an observer of the default routines
+        var data = InMemoryDataSource.fromDefault();
+        var list = data.findRoutineList();
+        var seen = new ArrayList<List<Routine>>();
+        list.observe(seen::add);
+        seen.clear();
+
+        // WHEN they are replaced
+        data.replaceRoutines(List.of(routine(3), routine(1)));
+
+        // THEN the observer hears about the new routines once
+        assertEquals(1, seen.size());
+        assertEquals(3, seen.get(0).get(0).id());
+        assertEquals(1, seen.get(0).get(1).id());
+        assertNull(data.findRoutine(2).getValue());
+
+        // WHEN everything is deleted
+        data.deleteRoutines();
+
+        // THEN the same subject publishes the empty list
+        assertSame(list, data.findRoutineList());
+        assertEquals(List.of(), seen.get(1));
+    }
+
+    @Test
+    public void findRoutineAndFindTasksFollowOneRoutine() {
+        // GIVEN observers of the morning routine and its tasks
+        var data = InMemoryDataSource.fromDefault();
+        var morning = new ArrayList<Routine>();
+        var morningTasks = new ArrayList<List<RoutineTask>>();
+        data.findRoutine(1).observe(morning::add);
+        data.findTasks(1).observe(morningTasks::add);
+        morning.clear();
+        morningTasks.clear();
+
+        // WHEN the evening routine is saved
+        data.saveRoutine(routine(2));
+
+        // THEN they hear nothing
+        assertTrue(morning.isEmpty());
+        assertTrue(morningTasks.isEmpty());
+
+        // WHEN a morning task is deleted, and then everything
+        data.deleteTasks(List.of(1));
+        data.deleteRoutines();
+
+        // THEN they hear about each, and have nothing at the end
+        assertEquals(2, morningTasks.size());
+        assertEquals(2, morningTasks.get(0).size());
+        assertNull(morningTasks.get(1));
+        assertNull(morning.get(morning.size() - 1));
+    }
+}
@@ -0,0 +1,257 @@
+package edu.ucsd.cse110.habitizer.lib.data;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import edu.ucsd.cse110.habitizer.lib.domain.Routine;
+import edu.ucsd.cse110.habitizer.lib.domain.RoutineTask;
+
+public class IndexedDataSourceTest {
+    private static Routine routine(int id, int sortOrder) {
+        return new Routine(id, "Routine " + id, sortOrder, false, false, false, false, 0, 0, 60);
+    }
+
+    private static List<Integer> ids(List<Routine> routines) {
+        var ids = new ArrayList<Integer>();
+        for (var routine : routines) ids.add(routine.id());
+        return ids;
+    }
+
+    @Test
+    public void saveInsertsNewRoutines() {
+        // GIVEN the default routines
+        var data = IndexedDataSource.fromDefault();
+
+        // WHEN a routine with a new id is saved
+        data.saveRoutine(routine(3, 0));
+
+        // THEN it is listed, after the others with the same sort order
+        assertEquals(List.of(1, 2, 3), ids(data.findRoutineList().getValue()));
+    }
+
+    @Test
+    public void routinesAreListedBySortOrderThenId() {
+        // GIVEN routines saved out of order
+        var data = new IndexedDataSource();
+        data.saveRoutine(routine(5, 1));
+        data.saveRoutine(routine(4, 0));
+        data.saveRoutine(routine(2, 1));
+        data.saveRoutine(routine(9, 0));
+
+        // THEN they are listed like Room lists them
+        assertEquals(List.of(4, 9, 2, 5), ids(data.findRoutineList().getValue()));
+    }
+
+    @Test
+    public void saveReplacesAndRepositions() {
+        // GIVEN three routines
+        var data = new IndexedDataSource();
+        data.saveRoutine(routine(1, 0));
+        data.saveRoutine(routine(2, 1));
+        data.saveRoutine(routine(3, 2));
+
+        // WHEN the first is saved again with a later sort order
+        var moved = routine(1, 5);
+        data.saveRoutine(moved);
+
+        // THEN it is listed once, at its new place
+        var routines = data.findRoutineList().getValue();
+        assertEquals(List.of(2, 3, 1), ids(routines));
+        assertSame(moved, routines.get(2));
+    }
+
+    @Test
+    public void publishedListsDoNotChangeLater() {
+        // GIVEN the list published after one save
+        var data = new IndexedDataSource();
+        data.saveRoutine(routine(1, 0));
+        data.saveRoutine(routine(2, 0));
+        var before = data.findRoutineList().getValue();
+
+        // WHEN more saves and deletes follow
+        data.saveRoutine(routine(3, 0));
+        data.deleteRoutine(1);
+
+        // THEN the earlier list is unchanged, and cannot be changed
+        assertEquals(List.of(1, 2), ids(before));
+        assertEquals(List.of(2, 3), ids(data.findRoutineList().getValue()));
+        assertThrows(UnsupportedOperationException.class, () -> before.add(routine(4, 0)));
+    }
+
+    @Test
+    public void deleteRoutinesKeepsObservers() {
+        // GIVEN an observer of the routine list
+        var data = IndexedDataSource.fromDefault();
+        var seen = new ArrayList<List<Routine>>();
+        data.findRoutineList().observe(seen::add);
+
+        // WHEN everything is deleted
+        data.deleteRoutines();
+
+        // THEN the observer hears about it
+        assertEquals(List.of(), seen.get(seen.size() - 1));
+        assertEquals(List.of(), data.findTaskList(1));
+    }
+
+    @Test
+    public void tasksAreFoundById() {
+        // GIVEN the default routines
+        var data = IndexedDataSource.fromDefault();
+
+        // THEN each routine's tasks are found by its id
+        assertEquals("Wake Up", data.findTaskList(1).get(0).title());
+        assertEquals("Eat Dinner", data.findTaskList(2).get(0).title());
+    }
+
+    @Test
+    public void saveRoutinesNotifiesOnce() {
+        // GIVEN an observer of the routine list
+        var data = new IndexedDataSource();
+        var seen = new ArrayList<List<Routine>>();
+        data.findRoutineList().observe(seen::add);
+        seen.clear();
+
+        // WHEN three routines are saved together
+        data.saveRoutines(List.of(routine(3, 0), routine(1, 0), routine(2, 0)));
+
+        // THEN the observer hears about them once, with all of them
+        assertEquals(1, seen.size());
+        assertEquals(List.of(1, 2, 3), ids(seen.get(0)));
+    }
+
+    @Test
+    public void saveTasksCopiesTheRoutinesTheyGoInto() {
+        // GIVEN the default routines, and the list published for them
+        var data = IndexedDataSource.fromDefault();
+        var before = data.findRoutineList().getValue();
+        var seen = new ArrayList<List<Routine>>();
+        data.findRoutineList().observe(seen::add);
+        seen.clear();
+
+        // WHEN a task is renamed in one routine and another is added to the other
+        data.saveTasks(List.of(
+                new RoutineTask(1, 1, "Get Up", false, 0),
+                new RoutineTask(7, 2, "Read", false, 3)));
+
+        // THEN both are saved in one notification, and the earlier routines are unchanged
+        assertEquals(1, seen.size());
+        assertEquals("Get Up", data.findTaskList(1).get(0).title());
+        assertEquals(3, data.findTaskList(1).size());
+        assertEquals("Read", data.findTaskList(2).get(3).title());
+        assertEquals("Wake Up", before.get(0).tasks().get(0).title());
+        assertEquals(3, before.get(1).tasks().size());
+    }
+
+    @Test
+    public void deleteTasksRemovesThemFromEveryRoutine() {
+        // GIVEN the default routines
+        var data = IndexedDataSource.fromDefault();
+        var seen = new ArrayList<List<Routine>>();
+        data.findRoutineList().observe(seen::add);
+        seen.clear();
+
+        // WHEN tasks of both routines are deleted, along with one that does not exist
+        data.deleteTasks(List.of(2, 6, 99));
+
+        // THEN they are gone, in one notification
+        assertEquals(1, seen.size());
+        assertEquals(List.of("Wake Up", "Brush Teeth"), titles(data.findTaskList(1)));
+        assertEquals(List.of("Eat Dinner", "Brush Teeth"), titles(data.findTaskList(2)));
+
+        // AND deleting nothing that exists notifies no one
+        data.deleteTasks(List.of(99));
+        assertEquals(1, seen.size());
+    }
+
+    @Test
+    public void singleRoutinesOnlyHearAboutThemselves() {
+        // GIVEN observers of each default routine and of its tasks
+        var data = IndexedDataSource.fromDefault();
+        var morning = new ArrayList<Routine>();
+        var eveningTasks = new ArrayList<List<RoutineTask>>();
+        data.findRoutine(1).observe(morning::add);
+        data.findTasks(2).observe(eveningTasks::add);
+        morning.clear();
+        eveningTasks.clear();
+
+        // WHEN only the evening routine's tasks change
+        data.deleteTasks(List.of(6));
+
+        // THEN only its observers hear about it
+        assertTrue(morning.isEmpty());
+        assertEquals(1, eveningTasks.size());
+        assertEquals(2, eveningTasks.get(0).size());
+
+        // WHEN the morning routine is saved, then deleted
+        var saved = routine(1, 0);
+        data.saveRoutine(saved);
+        data.deleteRoutine(1);
+
+        // THEN its observer hears both, and the evening's nothing more
+        assertEquals(2, morning.size());
+        assertSame(saved, morning.get(0));
+        assertNull(morning.get(1));
+        assertEquals(1, eveningTasks.size());
+    }
+
+    @Test
+    public void singleRoutinesHearBeforeTheList() {
+        // GIVEN an observer of the list that reads a single routine's tasks
+        var data = IndexedDataSource.fromDefault();
+        var tasks = data.findTasks(1);
+        var seen = new ArrayList<Integer>();
+        data.findRoutineList().observe(routines -> seen.add(tasks.getValue().size()));
+        seen.clear();
+
+        // WHEN a task is added to that routine
+        data.saveTasks(List.of(new RoutineTask(7, 1, "Stretch", false, 3)));
+
+        // THEN the single routine was already up to date when the list arrived
+        assertEquals(List.of(4), seen);
+    }
+
+    private static List<String> titles(List<RoutineTask> tasks) {
+        var titles = new ArrayList<String>();
+        for (var task : tasks) titles.add(task.title());
+        return titles;
+    }
+
+    @Test
+    public void randomOperationsMatchSortedMap() {
+        // GIVEN a data source and a sorted map doing the same thing
+        var data = new IndexedDataSource();
+        var expected = new TreeMap<Integer, Routine>();
+        var sortOrders = new int[200];
+        var random = new Random(110);
+
+        for (int step = 0; step < 5_000; step++) {
+            // WHEN routines are saved and deleted at random
+            int id = random.nextInt(200);
+            if (random.nextInt(4) == 0) {
+                data.deleteRoutine(id);
+                expected.remove(id);
+            } else {
+                sortOrders[id] = random.nextInt(20);
+                var routine = routine(id, sortOrders[id]);
+                data.saveRoutine(routine);
+                expected.put(id, routine);
+            }
+        }
+
+        // THEN the list holds the same routines, in sort order then id order
+        var sorted = new ArrayList<>(expected.values());
+        sorted.sort(Comparator.comparingInt(Routine::sortOrder).thenComparingInt(Routine::id));
+        var actual = data.findRoutineList().getValue();
+        assertEquals(ids(sorted), ids(actual));
+        for (int i = 0; i < sorted.size(); i++) {
+            assertSame(sorted.get(i), actual.get(i));
+        }
+    }
+}
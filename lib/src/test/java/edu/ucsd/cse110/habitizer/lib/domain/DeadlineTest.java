@@ -0,0 +1,146 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DeadlineTest {
+    private final VirtualClock clock = new VirtualClock();
+    private final MonotonicTimer timer = new MonotonicTimer(clock);
+    private final List<Long> reachedAt = new ArrayList<>();
+
+    private Deadline goalIn(int seconds) {
+        return new Deadline(clock, timer, seconds, () -> reachedAt.add(clock.nanoTime() / 1_000_000));
+    }
+
+    @Test
+    public void firesOnceAtTheGoal() {
+        // GIVEN a running timer with a one minute goal
+        timer.startTimer();
+        var deadline = goalIn(60);
+
+        // WHEN two minutes pass
+        clock.advance(120_000);
+
+        // THEN it was told once, exactly at 60 s
+        assertEquals(List.of(60_000L), reachedAt);
+        assertTrue(deadline.isReached());
+        assertFalse(deadline.isPending());
+    }
+
+    @Test
+    public void pauseHoldsTheDeadline() {
+        // GIVEN a one minute goal paused after 20 s for 5 minutes
+        timer.startTimer();
+        var deadline = goalIn(60);
+        clock.advance(20_000);
+        timer.pauseTimer();
+
+        // THEN nothing is queued while paused
+        assertFalse(deadline.isPending());
+        clock.advance(300_000);
+        assertTrue(reachedAt.isEmpty());
+
+        // WHEN it resumes
+        timer.resumeTimer();
+        clock.advance(60_000);
+
+        // THEN the goal is reached 40 s later
+        assertEquals(List.of(360_000L), reachedAt);
+    }
+
+    @Test
+    public void advanceBringsTheDeadlineForward() {
+        // GIVEN a one minute goal
+        timer.startTimer();
+        goalIn(60);
+
+        // WHEN the timer is advanced twice at 10 s
+        clock.advance(10_000);
+        timer.advanceTimer();
+        timer.advanceTimer();
+
+        // THEN the goal is reached right away, since the timer is at 70 s
+        assertEquals(List.of(10_000L), reachedAt);
+    }
+
+    @Test
+    public void advancePartWayMovesTheDeadline() {
+        timer.startTimer();
+        goalIn(60);
+
+        clock.advance(10_000);
+        timer.advanceTimer();
+        clock.advance(60_000);
+
+        assertEquals(List.of(30_000L), reachedAt);
+    }
+
+    @Test
+    public void resetRearmsTheDeadline() {
+        // GIVEN a goal that was already reached
+        timer.startTimer();
+        goalIn(30);
+        clock.advance(40_000);
+
+        // WHEN the timer is reset and runs past the goal again
+        timer.resetTimer();
+        clock.advance(40_000);
+
+        // THEN it was told once per crossing
+        assertEquals(List.of(30_000L, 70_000L), reachedAt);
+    }
+
+    @Test
+    public void movingTheGoal() {
+        timer.startTimer();
+        var deadline = goalIn(60);
+        clock.advance(30_000);
+
+        deadline.setGoalSeconds(90);
+        clock.advance(50_000);
+        assertTrue(reachedAt.isEmpty());
+
+        clock.advance(10_000);
+        assertEquals(List.of(90_000L), reachedAt);
+        assertEquals(90, deadline.goalSeconds());
+    }
+
+    @Test
+    public void cancelledDeadlineNeverFires() {
+        timer.startTimer();
+        var deadline = goalIn(60);
+
+        deadline.cancel();
+        timer.advanceTimer();
+        clock.advance(120_000);
+
+        assertTrue(reachedAt.isEmpty());
+        assertEquals(0, clock.pendingTasks());
+    }
+
+    @Test
+    public void thousandsOfSessionsCostOneTaskEach() {
+        // GIVEN 10,000 running sessions with goals spread over an hour
+        int sessions = 10_000;
+        int[] reached = {0};
+        for (int i = 0; i < sessions; i++) {
+            var sessionTimer = new MonotonicTimer(clock);
+            sessionTimer.startTimer();
+            new Deadline(clock, sessionTimer, 1 + i % 3600, () -> reached[0]++);
+        }
+
+        // THEN exactly one task is queued per deadline
+        assertEquals(sessions, clock.pendingTasks());
+
+        // WHEN the hour passes
+        clock.advance(3600_000);
+
+        // THEN each fired once and nothing is left behind
+        assertEquals(sessions, reached[0]);
+        assertEquals(0, clock.pendingTasks());
+    }
+}
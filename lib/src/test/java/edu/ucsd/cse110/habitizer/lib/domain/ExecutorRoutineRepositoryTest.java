@@ -0,0 +1,73 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+import edu.ucsd.cse110.habitizer.lib.data.InMemoryDataSource;
+
+public class ExecutorRoutineRepositoryTest {
+    private static Routine routine(int id) {
+        return new Routine(id, "Routine " + id, 0, false, false, false, false, 0, 0, 60);
+    }
+
+    @Test
+    public void nothingRunsUntilTheExecutorDoes() {
+        // GIVEN a repository whose work waits in a queue
+        var data = InMemoryDataSource.fromDefault();
+        var queued = new ArrayList<Runnable>();
+        var repository = new ExecutorRoutineRepository(new SimpleRoutineRepository(data), queued::add);
+
+        // WHEN a routine is saved and tasks are asked for
+        var save = repository.saveRoutine(routine(3));
+        var tasks = repository.findTaskList(1);
+
+        // THEN neither has happened yet
+        assertFalse(save.isDone());
+        assertFalse(tasks.isDone());
+        assertEquals(2, data.findRoutineList().getValue().size());
+
+        // WHEN the executor runs them
+        for (var work : queued) work.run();
+
+        // THEN both are done
+        assertTrue(save.isDone());
+        assertEquals(3, data.findRoutineList().getValue().size());
+        assertEquals("Wake Up", tasks.join().get(0).title());
+    }
+
+    @Test
+    public void queriesSeeEarlierWritesOnASingleThread() throws ExecutionException, InterruptedException {
+        // GIVEN a repository on a background thread
+        var executor = Executors.newSingleThreadExecutor();
+        var repository = new ExecutorRoutineRepository(
+                new SimpleRoutineRepository(InMemoryDataSource.fromDefault()), executor);
+
+        // WHEN tasks are deleted and then asked for, without waiting in between
+        repository.deleteTasks(List.of(1, 2));
+        var tasks = repository.findTaskList(1).get();
+        executor.shutdown();
+
+        // THEN the query ran after the write
+        assertEquals(1, tasks.size());
+        assertEquals("Brush Teeth", tasks.get(0).title());
+    }
+
+    @Test
+    public void failuresCompleteTheFuture() {
+        // GIVEN an immediate repository on a data source without routine 9
+        var repository = ExecutorRoutineRepository.immediate(
+                new SimpleRoutineRepository(InMemoryDataSource.fromDefault()));
+
+        // WHEN its tasks are asked for
+        var tasks = repository.findTaskList(9);
+
+        // THEN the future fails instead of the caller
+        assertTrue(tasks.isCompletedExceptionally());
+    }
+}
@@ -6,17 +6,19 @@ import org.junit.Before;
 import org.junit.Test;
 
 public class MockElapsedTimerTest {
+    private VirtualClock clock;
     private MockElapsedTimer timer;
 
     @Before
     public void setUp() {
-        timer = new MockElapsedTimer();
+        clock = new VirtualClock();
+        timer = new MockElapsedTimer(clock);
     }
 
     @Test
     public void immediateTimer() {
         // GIVEN a newly UI-test timer that has just been instantiated (testing static method)
-        MockElapsedTimer immediateTimer = MockElapsedTimer.immediateTimer();
+        MockElapsedTimer immediateTimer = MockElapsedTimer.immediateTimer(clock);
         // WHEN I get the time immediately
         String actual = immediateTimer.getTime();
         // THEN the timer should have a time of "00:00"
@@ -26,11 +28,11 @@ public class MockElapsedTimerTest {
     }
 
     @Test
-    public void startTimer() throws InterruptedException {
+    public void startTimer() {
         // GIVEN a timer
         // WHEN I start the timer and wait for approximately one second
         timer.startTimer();
-        Thread.sleep(1100);
+        clock.advance(1100);
         // THEN the elapsed time should be about 1 second (i.e. "00:01")
         String expected = "00:01";
         String actual = timer.getTime();
@@ -38,10 +40,10 @@ public class MockElapsedTimerTest {
     }
 
     @Test
-    public void stopTimer() throws InterruptedException {
+    public void stopTimer() {
         // GIVEN a timer that is running
         timer.startTimer();
-        Thread.sleep(1100);
+        clock.advance(1100);
         // WHEN I stop the timer
         timer.stopTimer();
         // THEN the timer should have a false isRunning
@@ -49,30 +51,30 @@ public class MockElapsedTimerTest {
     }
 
     @Test
-    public void pauseTimer() throws InterruptedException {
+    public void pauseTimer() {
         // GIVEN a timer that is running
         timer.startTimer();
-        Thread.sleep(1100);
+        clock.advance(1100);
         // WHEN I pause the timer
         timer.pauseTimer();
         String pausedTime = timer.getTime();
         // Wait another second
-        Thread.sleep(1100);
+        clock.advance(1100);
         // THEN the elapsed time should remain unchanged while paused
         String actual = timer.getTime();
         assertEquals(pausedTime, actual);
     }
 
     @Test
-    public void resumeTimer() throws InterruptedException {
+    public void resumeTimer() {
         // GIVEN a timer that is running and then paused
         timer.startTimer();
-        Thread.sleep(1100); // Should be about "00:01"
+        clock.advance(1100); // Should be about "00:01"
         timer.pauseTimer();
         String timeAtPause = timer.getTime(); // e.g., "00:01"
         // WHEN I resume the timer and wait for approximately one second
         timer.resumeTimer();
-        Thread.sleep(1100);
+        clock.advance(1100);
         // THEN the elapsed time should continue from where it left off
         // If timeAtPause was "00:01", then after one more second we expect "00:02"
         String expected = "00:02";
@@ -81,10 +83,10 @@ public class MockElapsedTimerTest {
     }
 
     @Test
-    public void advanceTimer() throws InterruptedException {
+    public void advanceTimer() {
         // GIVEN a timer that is running
         timer.startTimer();
-        Thread.sleep(1100); // Timer should be roughly at "00:01"
+        clock.advance(1100); // Timer should be roughly at "00:01"
         // WHEN I advance the timer by 15 seconds
         timer.advanceTimer();
         // THEN the elapsed time should reflect an increase of 15 seconds
@@ -95,11 +97,11 @@ public class MockElapsedTimerTest {
     }
 
     @Test
-    public void getTime() throws InterruptedException {
+    public void getTime() {
         // GIVEN a timer that is started
         timer.startTimer();
         // WHEN I wait for about 3 seconds
-        Thread.sleep(3100);
+        clock.advance(3100);
         // THEN getTime() should return "00:03"
         String expected = "00:03";
         String actual = timer.getTime();
@@ -107,7 +109,7 @@ public class MockElapsedTimerTest {
     }
 
     @Test
-    public void isRunning() throws InterruptedException {
+    public void isRunning() {
         // GIVEN a timer that has not been started
         assertFalse(timer.isRunning());
 
@@ -133,18 +135,18 @@ public class MockElapsedTimerTest {
     }
 
     @Test
-    public void pauseTwice() throws InterruptedException {
+    public void pauseTwice() {
         // GIVEN I have a paused timer
-        var timer = new MockElapsedTimer();
+        var timer = new MockElapsedTimer(clock);
         timer.startTimer();
-        Thread.sleep(1100);
+        clock.advance(1100);
         timer.pauseTimer();
         var timeAfterFirstPause = timer.getTime();
         // WHEN I pause the timer again
         // (Wait another second)
-        Thread.sleep(1100);
+        clock.advance(1100);
         timer.pauseTimer();
-        Thread.sleep(1100);
+        clock.advance(1100);
         // THEN the time should not have advanced further
         assertEquals(timeAfterFirstPause, timer.getTime());
     }
@@ -0,0 +1,121 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class MonotonicTimerTest {
+    private long nowNanos;
+    private MonotonicTimer timer;
+
+    @Before
+    public void setUp() {
+        // Start somewhere other than zero, like System.nanoTime() does
+        nowNanos = TimeUnit.HOURS.toNanos(5);
+        timer = new MonotonicTimer(() -> nowNanos);
+    }
+
+    private void passMillis(long millis) {
+        nowNanos += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    public void getTime() {
+        // GIVEN a timer that has not been started
+        // WHEN some time passes
+        passMillis(5_000);
+        // THEN the timer still reads "00:00"
+        assertEquals("00:00", timer.getTime());
+    }
+
+    @Test
+    public void startTimer() {
+        // GIVEN a started timer
+        timer.startTimer();
+        // WHEN 61 seconds pass
+        passMillis(61_000);
+        // THEN the timer reads "01:01"
+        assertEquals("01:01", timer.getTime());
+        assertEquals(61, timer.getSeconds());
+        assertTrue(timer.isRunning());
+    }
+
+    @Test
+    public void pauseTimer() {
+        // GIVEN a timer that ran for 2 seconds and was paused
+        timer.startTimer();
+        passMillis(2_000);
+        timer.pauseTimer();
+        // WHEN more time passes
+        passMillis(10_000);
+        // THEN the time has not advanced
+        assertEquals("00:02", timer.getTime());
+        assertFalse(timer.isRunning());
+    }
+
+    @Test
+    public void pauseKeepsPartialSeconds() {
+        // GIVEN a timer that runs 600 ms, pauses, and runs another 600 ms
+        timer.startTimer();
+        passMillis(600);
+        timer.pauseTimer();
+        passMillis(5_000);
+        timer.resumeTimer();
+        passMillis(600);
+        // THEN the two partial seconds add up to a full second
+        assertEquals(1, timer.getSeconds());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1_200), timer.getElapsedNanos());
+    }
+
+    @Test
+    public void advanceTimer() {
+        // GIVEN a running timer at 1 second
+        timer.startTimer();
+        passMillis(1_000);
+        // WHEN I advance it
+        timer.advanceTimer();
+        // THEN it gains 30 seconds
+        assertEquals("00:31", timer.getTime());
+    }
+
+    @Test
+    public void setSeconds() {
+        // GIVEN a running timer
+        timer.startTimer();
+        passMillis(10_000);
+        // WHEN I restore it to 90 seconds and a second passes
+        timer.setSeconds(90);
+        passMillis(1_000);
+        // THEN it continues from 90 seconds
+        assertEquals(91, timer.getSeconds());
+    }
+
+    @Test
+    public void resetTimer() {
+        // GIVEN a timer at 45 seconds
+        timer.startTimer();
+        passMillis(45_000);
+        // WHEN I reset it
+        timer.resetTimer();
+        // THEN it starts counting again from zero
+        assertEquals("00:00", timer.getTime());
+        assertTrue(timer.isRunning());
+    }
+
+    @Test
+    public void roundedTimes() {
+        // GIVEN a timer at 2 minutes 5 seconds
+        timer.setSeconds(125);
+        // THEN it rounds to 2 and 3 minutes
+        assertEquals("2", timer.getRoundedDownTime());
+        assertEquals("3", timer.getRoundedUpTime());
+
+        // GIVEN a timer under a minute
+        timer.setSeconds(59);
+        // THEN the rounded down time is "-"
+        assertEquals("-", timer.getRoundedDownTime());
+    }
+}
@@ -5,11 +5,13 @@ import static org.junit.Assert.*;
 import org.junit.Test;
 
 public class RegularTimerTest {
+    private final VirtualClock clock = new VirtualClock();
+
     @Test
     public void getTime() {
         // GIVEN I have a timer
         // AND its current time is zero
-        var timer = new RegularTimer();
+        var timer = new RegularTimer(clock);
         // WHEN I get the time
         var actual = timer.getTime();
         // THEN the timer should have a time of "0"
@@ -18,12 +20,12 @@ public class RegularTimerTest {
     }
 
     @Test
-    public void startTimer() throws InterruptedException {
+    public void startTimer() {
         // GIVEN I have a timer
-        var timer = new RegularTimer();
+        var timer = new RegularTimer(clock);
         // WHEN I start the timer
         timer.startTimer();
-        Thread.sleep(1100);
+        clock.advance(1100);
         // THEN the timer should have a time of "00:01"
         var expected = "00:01";
         var actual = timer.getTime();
@@ -31,11 +33,11 @@ public class RegularTimerTest {
     }
 
     @Test
-    public void stopTimer() throws InterruptedException {
+    public void stopTimer() {
         // GIVEN I have a timer that is running
-        var timer = new RegularTimer();
+        var timer = new RegularTimer(clock);
         timer.startTimer();
-        Thread.sleep(1100);
+        clock.advance(1100);
         // WHEN I stop the timer
         timer.stopTimer();
         // THEN the timer should be equal to 00:01
@@ -45,31 +47,31 @@ public class RegularTimerTest {
     }
 
     @Test
-    public void pauseTimer() throws InterruptedException {
+    public void pauseTimer() {
         // GIVEN I have a timer that is running
-        var timer = new RegularTimer();
+        var timer = new RegularTimer(clock);
         timer.startTimer();
-        Thread.sleep(1100);
+        clock.advance(1100);
         // WHEN I pause the timer
         timer.pauseTimer();
         var timeAfterPause = timer.getTime();
         // Wait another second
-        Thread.sleep(1100);
+        clock.advance(1100);
         // THEN the time should not have advanced further
         assertEquals(timeAfterPause, timer.getTime());
     }
 
     @Test
-    public void resumeTimer() throws InterruptedException {
+    public void resumeTimer() {
         // GIVEN I have a timer that is running and then paused
-        var timer = new RegularTimer();
+        var timer = new RegularTimer(clock);
         timer.startTimer();
-        Thread.sleep(1100); // Timer should be at "00:01"
+        clock.advance(1100); // Timer should be at "00:01"
         timer.pauseTimer();
         var timeAtPause = timer.getTime(); // e.g., "00:01"
         // WHEN I resume the timer
         timer.resumeTimer();
-        Thread.sleep(1100);
+        clock.advance(1100);
         // Should tick one more second
         // THEN the timer should have advanced by one second after resume
         // e.g., "00:01" -> "00:02"
@@ -80,11 +82,11 @@ public class RegularTimerTest {
     }
 
     @Test
-    public void advanceTimer() throws InterruptedException {
+    public void advanceTimer() {
         // GIVEN I have a timer that is running
-        var timer = new RegularTimer();
+        var timer = new RegularTimer(clock);
         timer.startTimer();
-        Thread.sleep(1100); // Timer should be at "00:01"
+        clock.advance(1100); // Timer should be at "00:01"
         // WHEN I manually advance the timer by 30 seconds
         timer.advanceTimer();
         // THEN the elapsed time should reflect a 30 second increase (1 + 30 = 31 seconds)
@@ -94,18 +96,18 @@ public class RegularTimerTest {
     }
 
     @Test
-    public void pauseTwice() throws InterruptedException {
+    public void pauseTwice() {
         // GIVEN I have a paused timer
-        var timer = new RegularTimer();
+        var timer = new RegularTimer(clock);
         timer.startTimer();
-        Thread.sleep(1100);
+        clock.advance(1100);
         timer.pauseTimer();
         var timeAfterFirstPause = timer.getTime();
         // WHEN I pause the timer again
         // (Wait another second)
-        Thread.sleep(1100);
+        clock.advance(1100);
         timer.pauseTimer();
-        Thread.sleep(1100);
+        clock.advance(1100);
         // THEN the time should not have advanced further
         assertEquals(timeAfterFirstPause, timer.getTime());
     }
@@ -104,4 +104,57 @@ public class RoutineTest {
         assertEquals("Workout Routine", routines.get(2).title());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void elapsedTimeFromSessionTimestamps() {
+        // GIVEN a routine started at t = 1000 s
+        Routine routine = new Routine(0, "Morning Routine", 0, true, false, false, false, 0, 0, 0);
+        routine.startSession(1_000_000);
+
+        // WHEN it is paused from t = 1060 s to t = 1090 s, after the task changed at t = 1040 s
+        routine.startNextTask(1_040_000);
+        routine.pauseSession(1_060_000);
+        routine.resumeSession(1_090_000);
+
+        // THEN at t = 1100 s the pause is excluded from both times
+        assertEquals(70, routine.routineElapsedTimeAt(1_100_000));
+        assertEquals(30, routine.taskElapsedTimeAt(1_100_000));
+    }
+
+    @Test
+    public void elapsedTimeIsFrozenWhilePaused() {
+        // GIVEN a routine paused 45 s after it started
+        Routine routine = new Routine(0, "Morning Routine", 0, true, false, false, true, 0, 0, 0);
+        routine.startSession(1_000_000);
+        routine.pauseSession(1_045_000);
+
+        // THEN no matter how much later it is read, it reads 45 s
+        assertEquals(45, routine.routineElapsedTimeAt(9_000_000));
+        assertEquals(45, routine.taskElapsedTimeAt(9_000_000));
+    }
+
+    @Test
+    public void advanceMovesSessionStart() {
+        // GIVEN a routine started at t = 1000 s
+        Routine routine = new Routine(0, "Morning Routine", 0, true, false, false, false, 0, 0, 0);
+        routine.startSession(1_000_000);
+
+        // WHEN the routine and task timers are advanced by 30 s
+        routine.advanceSession(30_000);
+        routine.advanceTask(30_000);
+
+        // THEN both read 30 s more than the wall clock
+        assertEquals(40, routine.routineElapsedTimeAt(1_010_000));
+        assertEquals(40, routine.taskElapsedTimeAt(1_010_000));
+    }
+
+    @Test
+    public void elapsedTimeFallsBackToCounters() {
+        // GIVEN a routine saved before session timestamps existed
+        Routine routine = new Routine(0, "Morning Routine", 0, true, false, false, false, 125, 65, 0);
+
+        // THEN its elapsed times are the saved counters
+        assertFalse(routine.hasSession());
+        assertEquals(125, routine.routineElapsedTimeAt(1_000_000));
+        assertEquals(65, routine.taskElapsedTimeAt(1_000_000));
+    }
+}
@@ -0,0 +1,170 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import edu.ucsd.cse110.habitizer.lib.util.TimeFormat;
+
+public class TickSourceTest {
+    private final VirtualClock clock = new VirtualClock();
+    private int wakeUps = 0;
+
+    // Counts every wake-up the tick source asks for
+    private final Scheduler countingScheduler = new Scheduler() {
+        @Override
+        public long nowMillis() {
+            return clock.nowMillis();
+        }
+
+        @Override
+        public Cancellable schedule(Runnable task, long delayMs) {
+            return clock.schedule(() -> {
+                wakeUps++;
+                task.run();
+            }, delayMs);
+        }
+
+        @Override
+        public Cancellable scheduleAtFixedRate(Runnable task, long initialDelayMs, long periodMs) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private final TickSource ticks = new TickSource(countingScheduler);
+
+    private static void assertMatchesFormat(TickSource.Granularity granularity, IntFunction<String> format) {
+        for (int seconds = 0; seconds < 2 * 3600; seconds++) {
+            int next = granularity.nextChange(seconds);
+            assertTrue(next > seconds);
+            for (int between = seconds + 1; between < next; between++) {
+                assertEquals("at " + between, format.apply(seconds), format.apply(between));
+            }
+            assertNotEquals("at " + next, format.apply(seconds), format.apply(next));
+        }
+    }
+
+    @Test
+    public void granularitiesMatchTheDisplayedStrings() {
+        assertMatchesFormat(TickSource.Granularity.MINUTES, TimeFormat::roundedDownMinutes);
+        assertMatchesFormat(TickSource.Granularity.MINUTES, TimeFormat::roundedUpMinutes);
+        assertMatchesFormat(TickSource.Granularity.ROUNDED_UP_TASK_TIME, TimeFormat::roundedUpTaskTime);
+        assertMatchesFormat(TickSource.Granularity.SECONDS, TimeFormat::clock);
+    }
+
+    @Test
+    public void minuteSubscriberWakesOncePerMinute() {
+        // GIVEN a running timer shown in minutes
+        var timer = new MonotonicTimer(clock);
+        timer.startTimer();
+        List<Integer> changes = new ArrayList<>();
+        ticks.subscribe(timer, TickSource.Granularity.MINUTES).observe(seconds -> {
+            if (seconds != null) changes.add(seconds);
+        });
+
+        // WHEN an hour passes
+        clock.advance(3600_000);
+
+        // THEN it woke up 60 times instead of 3600, once on each minute
+        assertEquals(60, wakeUps);
+        assertEquals(60, changes.size());
+        assertEquals(60, (int) changes.get(0));
+        assertEquals(3600, (int) changes.get(59));
+    }
+
+    @Test
+    public void subscribersWithDifferentGranularitiesShareOneWakeUp() {
+        // GIVEN a task timer shown rounded up and a routine timer shown in minutes
+        var routineTimer = new MonotonicTimer(clock);
+        var taskTimer = new MonotonicTimer(clock);
+        routineTimer.startTimer();
+        taskTimer.startTimer();
+        List<Integer> task = new ArrayList<>();
+        List<Integer> routine = new ArrayList<>();
+        ticks.subscribe(taskTimer, TickSource.Granularity.ROUNDED_UP_TASK_TIME).observe(seconds -> {
+            if (seconds != null) task.add(seconds);
+        });
+        ticks.subscribe(routineTimer, TickSource.Granularity.MINUTES).observe(seconds -> {
+            if (seconds != null) routine.add(seconds);
+        });
+
+        // WHEN two minutes pass
+        clock.advance(120_000);
+
+        // THEN each was told exactly when its display changed
+        assertEquals(List.of(1, 6, 11, 16, 21, 26, 31, 36, 41, 46, 51, 55, 60, 120), task);
+        assertEquals(List.of(60, 120), routine);
+        // AND only one wake-up is ever pending, shared at 60 and 120
+        assertEquals(14, wakeUps);
+        assertEquals(1, clock.pendingTasks());
+    }
+
+    @Test
+    public void pausedTimersDoNotWakeUp() {
+        // GIVEN a running timer that is paused after 30 seconds
+        var timer = new MonotonicTimer(clock);
+        timer.startTimer();
+        List<Integer> changes = new ArrayList<>();
+        ticks.subscribe(timer, TickSource.Granularity.MINUTES).observe(seconds -> {
+            if (seconds != null) changes.add(seconds);
+        });
+        clock.advance(30_000);
+        timer.pauseTimer();
+        ticks.refresh();
+
+        // WHEN ten minutes pass
+        clock.advance(600_000);
+
+        // THEN nothing was scheduled or delivered
+        assertFalse(ticks.isScheduled());
+        assertEquals(0, wakeUps);
+        assertTrue(changes.isEmpty());
+
+        // WHEN it resumes
+        timer.resumeTimer();
+        ticks.refresh();
+        clock.advance(30_000);
+
+        // THEN the minute is reached 30 seconds later
+        assertEquals(List.of(60), changes);
+    }
+
+    @Test
+    public void advancedTimerMovesTheWakeUp() {
+        // GIVEN a running minute timer
+        var timer = new MonotonicTimer(clock);
+        timer.startTimer();
+        List<Integer> changes = new ArrayList<>();
+        ticks.subscribe(timer, TickSource.Granularity.MINUTES).observe(seconds -> {
+            if (seconds != null) changes.add(seconds);
+        });
+
+        // WHEN it is advanced by 30 seconds after 40 seconds
+        clock.advance(40_000);
+        timer.advanceTimer();
+        ticks.refresh();
+
+        // THEN the next change comes at 70 s on the timer, not 60 s on the clock
+        clock.advance(19_000);
+        assertTrue(changes.isEmpty());
+        clock.advance(51_000);
+        assertEquals(List.of(120), changes);
+    }
+
+    @Test
+    public void unsubscribedTimersStopWaking() {
+        var timer = new MonotonicTimer(clock);
+        timer.startTimer();
+        var seconds = ticks.subscribe(timer, TickSource.Granularity.SECONDS);
+
+        ticks.unsubscribe(seconds);
+        clock.advance(10_000);
+
+        assertEquals(0, wakeUps);
+        assertNull(seconds.getValue());
+    }
+}
@@ -0,0 +1,104 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TimerServiceTest {
+    private static final int TIMER_COUNT = 10_000;
+    private static final int LATENCY_PROBES = 200;
+    private static final long PROBE_DELAY_MS = 5;
+    // Far above what a free scheduler thread needs, so a busy build machine does not fail it
+    private static final long MAX_AVERAGE_LATENCY_MS = 50;
+
+    private TimerService timerService;
+
+    @Before
+    public void setUp() {
+        timerService = new TimerService("timer-service-test");
+    }
+
+    @After
+    public void tearDown() {
+        timerService.shutdown();
+    }
+
+    @Test
+    public void manyTimersShareOneThread() throws InterruptedException {
+        var threads = ManagementFactory.getThreadMXBean();
+        // Warm up the scheduler thread so it is already counted.
+        var warmedUp = new CountDownLatch(1);
+        timerService.schedule(warmedUp::countDown, 0);
+        assertTrue(warmedUp.await(1, TimeUnit.SECONDS));
+        int threadsBefore = threads.getThreadCount();
+
+        // GIVEN I have 10k timers on the same service
+        List<RegularTimer> timers = new ArrayList<>();
+        for (int i = 0; i < TIMER_COUNT; i++) {
+            timers.add(new RegularTimer(timerService));
+        }
+
+        // WHEN I start, pause and resume every one of them
+        timers.forEach(RegularTimer::startTimer);
+        timers.forEach(RegularTimer::pauseTimer);
+        timers.forEach(RegularTimer::resumeTimer);
+
+        int threadsAfter = threads.getThreadCount();
+
+        // THEN no additional timer threads were created
+        // (allowing one for unrelated JVM housekeeping)
+        assertTrue(threadsAfter <= threadsBefore + 1);
+        // AND other tasks on the busy service still run about on time
+        long latencyMs = averageLatencyMs();
+        assertTrue("average scheduling latency " + latencyMs + " ms",
+                latencyMs <= MAX_AVERAGE_LATENCY_MS);
+        // AND only the resumed tasks are left in the queue
+        assertEquals(TIMER_COUNT, timerService.pendingTasks());
+
+        // WHEN I stop every timer
+        timers.forEach(RegularTimer::stopTimer);
+        // THEN nothing is left scheduled
+        assertEquals(0, timerService.pendingTasks());
+    }
+
+    @Test
+    public void periodicTasksRepeat() throws InterruptedException {
+        // GIVEN a task scheduled every millisecond
+        var runs = new CountDownLatch(3);
+        var task = timerService.scheduleAtFixedRate(runs::countDown, 0, 1);
+        // THEN it runs repeatedly on the service thread
+        assertTrue(runs.await(1, TimeUnit.SECONDS));
+        // AND it leaves the queue once cancelled
+        task.cancel();
+        assertEquals(0, timerService.pendingTasks());
+    }
+
+    // Average lateness of one-shot tasks scheduled on the busy service
+    private long averageLatencyMs() throws InterruptedException {
+        var latch = new CountDownLatch(LATENCY_PROBES);
+        var lateness = new long[LATENCY_PROBES];
+        for (int i = 0; i < LATENCY_PROBES; i++) {
+            int probe = i;
+            long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PROBE_DELAY_MS);
+            timerService.schedule(() -> {
+                lateness[probe] = Math.max(0, System.nanoTime() - due);
+                latch.countDown();
+            }, PROBE_DELAY_MS);
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        long total = 0;
+        for (long nanos : lateness) {
+            total += nanos;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(total / LATENCY_PROBES);
+    }
+}
@@ -0,0 +1,97 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import edu.ucsd.cse110.observables.PlainMutableSubject;
+import edu.ucsd.cse110.observables.Transformations;
+
+public class VirtualClockTest {
+    private final VirtualClock clock = new VirtualClock();
+
+    @Test
+    public void advanceMovesTime() {
+        // GIVEN a virtual clock
+        long before = clock.nanoTime();
+        // WHEN I advance it by 1.5 seconds
+        clock.advance(1_500);
+        // THEN its reading moved by exactly that much
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1_500), clock.nanoTime() - before);
+    }
+
+    @Test
+    public void tasksRunInOrderAtTheirDueTime() {
+        // GIVEN tasks scheduled out of order
+        List<String> runs = new ArrayList<>();
+        clock.schedule(() -> runs.add("third@" + clock.nanoTime()), 300);
+        clock.schedule(() -> runs.add("first@" + clock.nanoTime()), 100);
+        clock.schedule(() -> runs.add("second@" + clock.nanoTime()), 200);
+        // WHEN I advance past all of them
+        clock.advance(1_000);
+        // THEN they ran in due order, each seeing its own due time
+        assertEquals(List.of(
+                "first@" + TimeUnit.MILLISECONDS.toNanos(100),
+                "second@" + TimeUnit.MILLISECONDS.toNanos(200),
+                "third@" + TimeUnit.MILLISECONDS.toNanos(300)), runs);
+        assertEquals(0, clock.pendingTasks());
+    }
+
+    @Test
+    public void periodicTaskRepeatsUntilCancelled() {
+        // GIVEN a task every second
+        int[] runs = {0};
+        var task = clock.scheduleAtFixedRate(() -> runs[0]++, 1_000, 1_000);
+        // WHEN 5.5 seconds pass
+        clock.advance(5_500);
+        // THEN it ran 5 times
+        assertEquals(5, runs[0]);
+
+        // WHEN I cancel it and more time passes
+        task.cancel();
+        clock.advance(10_000);
+        // THEN it does not run again
+        assertEquals(5, runs[0]);
+    }
+
+    @Test
+    public void hoursOfRoutineTimeWithoutWaiting() {
+        // GIVEN a ticking timer and a tickless timer on the same clock
+        var ticking = new RegularTimer(clock);
+        var tickless = new MonotonicTimer(clock);
+        ticking.startTimer();
+        tickless.startTimer();
+        // WHEN three simulated hours pass
+        clock.advance(TimeUnit.HOURS.toMillis(3));
+        // THEN both counted every second
+        assertEquals(3 * 3600, ticking.getSeconds());
+        assertEquals(3 * 3600, tickless.getSeconds());
+    }
+
+    @Test
+    public void drivesDebouncedSubjects() {
+        // GIVEN a subject debounced by 300 ms on the virtual clock
+        var typed = new PlainMutableSubject<String>();
+        var settled = Transformations.debounce(typed, 300, clock);
+        List<String> seen = new ArrayList<>();
+        settled.observe(seen::add);
+
+        // WHEN a value comes in every 100 ms
+        for (var text : List.of("h", "hi", "hi!")) {
+            typed.setValue(text);
+            clock.advance(100);
+        }
+        // THEN nothing is emitted while they keep coming
+        assertEquals(List.of(), seen);
+
+        // WHEN the source is quiet long enough
+        clock.advance(200);
+        // THEN only the last value is emitted, and no task is left behind
+        assertEquals(List.of("hi!"), seen);
+        assertEquals(0, clock.pendingTasks());
+    }
+}
@@ -0,0 +1,108 @@
+package edu.ucsd.cse110.habitizer.lib.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import edu.ucsd.cse110.observables.Instrumentation;
+import edu.ucsd.cse110.observables.SubjectMetrics;
+
+// SimpleSubject.named, recording into the observables module's Instrumentation
+public class InstrumentationTest {
+    @After
+    public void disable() {
+        Instrumentation.setEnabled(false);
+    }
+
+    // Metrics are global, so each test names its subjects differently
+    private static SubjectMetrics metricsOf(String name) {
+        return Instrumentation.snapshot().stream()
+                .filter(metrics -> metrics.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    public void disabledRecordsNothing() {
+        // GIVEN a named subject with an observer, instrumentation off
+        var subject = SimpleSubject.named("disabled", new SimpleSubject<Integer>());
+        subject.observe(value -> {});
+
+        // WHEN it emits
+        subject.setValue(1);
+
+        // THEN nothing was counted
+        assertEquals(0, metricsOf("disabled").getEmissions());
+    }
+
+    @Test
+    public void enabledRecordsEmissionsAndLatencies() {
+        // GIVEN a named subject with a fast and a slow observer
+        var subject = SimpleSubject.named("enabled", new SimpleSubject<Integer>());
+        subject.observe(value -> {});
+        subject.observe(value -> {
+            long until = System.nanoTime() + 200_000;
+            while (System.nanoTime() < until) Thread.onSpinWait();
+        });
+        Instrumentation.setEnabled(true);
+
+        // WHEN it emits 10 times
+        for (int i = 0; i < 10; i++) subject.setValue(i);
+
+        // THEN each emission and each observer call was recorded
+        var metrics = metricsOf("enabled");
+        assertEquals(10, metrics.getEmissions());
+        var latencies = metrics.getObserverLatencies().values();
+        assertEquals(2, latencies.size());
+        long slowest = 0;
+        for (var histogram : latencies) {
+            assertEquals(10, histogram.getCount());
+            slowest = Math.max(slowest, histogram.getPercentileNanos(50));
+        }
+        assertTrue(slowest >= 200_000);
+        assertTrue(Instrumentation.dump().contains("enabled: 10 emissions"));
+    }
+
+    @Test
+    public void resetZeroesCounters() {
+        // GIVEN a subject that emitted while instrumented
+        var subject = SimpleSubject.named("reset", new SimpleSubject<Integer>());
+        subject.observe(value -> {});
+        Instrumentation.setEnabled(true);
+        subject.setValue(1);
+
+        // WHEN the metrics are reset
+        Instrumentation.reset();
+
+        // THEN the counts start over, but the name still counts
+        assertEquals(0, metricsOf("reset").getEmissions());
+        subject.setValue(2);
+        assertEquals(1, metricsOf("reset").getEmissions());
+    }
+
+    @Test
+    public void removedObserversAreNoLongerReported() {
+        // GIVEN two observers of one call site that were timed
+        var subject = SimpleSubject.named("removed", new SimpleSubject<Integer>());
+        var observers = new ArrayList<Observer<Integer>>();
+        var seen = new int[2];
+        for (int i = 0; i < 2; i++) {
+            int view = i;
+            Observer<Integer> observer = value -> seen[view]++;
+            observers.add(observer);
+            subject.observe(observer);
+        }
+        Instrumentation.setEnabled(true);
+        subject.setValue(1);
+        assertEquals(2, metricsOf("removed").getObserverLatencies().size());
+
+        // WHEN one of them is removed
+        subject.removeObserver(observers.get(0));
+
+        // THEN only the other is reported
+        assertEquals(1, metricsOf("removed").getObserverLatencies().size());
+    }
+}
@@ -0,0 +1,227 @@
+package edu.ucsd.cse110.habitizer.lib.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.ucsd.cse110.observables.FakeLifecycleOwner;
+import edu.ucsd.cse110.observables.Subjects;
+
+public class SimpleSubjectTest {
+    @Test
+    public void plainSubjectNotifiesEverySet() {
+        // GIVEN a plain subject with one observer
+        var subject = new SimpleSubject<String>();
+        List<String> seen = new ArrayList<>();
+        subject.observe(seen::add);
+
+        // WHEN the same value is set twice
+        subject.setValue("a");
+        subject.setValue("a");
+
+        // THEN the observer heard both (after the initial null)
+        assertEquals(Arrays.asList(null, "a", "a"), seen);
+    }
+
+    @Test
+    public void distinctSubjectSkipsEqualValues() {
+        // GIVEN a distinct subject with one observer
+        var subject = new SimpleSubject<String>(true);
+        List<String> seen = new ArrayList<>();
+        subject.observe(seen::add);
+
+        // WHEN equal values are set in a row
+        subject.setValue("a");
+        subject.setValue(new String("a"));
+        subject.setValue("b");
+        subject.setValue(null);
+        subject.setValue(null);
+
+        // THEN only changes were delivered
+        assertEquals(Arrays.asList(null, "a", "b", null), seen);
+    }
+
+    @Test
+    public void distinctSubjectsOnARunningRoutine() {
+        // GIVEN the display subjects of a routine screen, plain and distinct
+        int[] plainCalls = {0};
+        int[] distinctCalls = {0};
+        List<MutableSubject<String>> plain = new ArrayList<>();
+        List<MutableSubject<String>> distinct = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            var p = new SimpleSubject<String>();
+            var d = new SimpleSubject<String>(true);
+            p.observe(value -> plainCalls[0]++);
+            d.observe(value -> distinctCalls[0]++);
+            plain.add(p);
+            distinct.add(d);
+        }
+
+        // WHEN each is republished every second for an hour (elapsed minutes, goal, paused)
+        for (int second = 0; second < 3600; second++) {
+            var values = List.of(TimeFormat.roundedDownMinutes(second), "60", "false");
+            for (int i = 0; i < 3; i++) {
+                plain.get(i).setValue(values.get(i));
+                distinct.get(i).setValue(values.get(i));
+            }
+        }
+
+        // THEN the distinct ones only called observers when the text changed
+        assertEquals(3 + 3 * 3600, plainCalls[0]);
+        assertEquals(3 + 60 + 1 + 1, distinctCalls[0]);
+    }
+
+    @Test
+    public void lifecycleObserverIsRemovedOnDestroy() {
+        // GIVEN an observer tied to a view lifecycle
+        var subject = new SimpleSubject<String>();
+        var view = new FakeLifecycleOwner();
+        List<String> seen = new ArrayList<>();
+        subject.observe(view, seen::add);
+        subject.setValue("a");
+
+        // WHEN the view is destroyed
+        view.destroy();
+        subject.setValue("b");
+
+        // THEN the observer is gone from both the subject and the lifecycle
+        assertEquals(Arrays.asList(null, "a"), seen);
+        assertTrue(subject.getObservers().isEmpty());
+        assertEquals(0, view.observerCount());
+    }
+
+    @Test
+    public void destroyedOwnerRegistersNothing() {
+        var subject = new SimpleSubject<String>();
+        var view = new FakeLifecycleOwner();
+        view.destroy();
+
+        subject.observe(view, value -> fail());
+
+        assertTrue(subject.getObservers().isEmpty());
+        assertEquals(0, view.observerCount());
+    }
+
+    @Test
+    public void observerCountStaysFlatAcrossViews() {
+        // GIVEN a long-lived subject, like one on the view model
+        var subject = new SimpleSubject<String>();
+        subject.observe(value -> {});
+
+        // WHEN 1000 views come and go, each observing it twice
+        for (int i = 0; i < 1000; i++) {
+            var view = new FakeLifecycleOwner();
+            subject.observe(view, value -> {});
+            subject.observe(view, value -> {});
+            subject.setValue(String.valueOf(i));
+            view.destroy();
+        }
+
+        // THEN only the long-lived observer is left
+        assertEquals(1, subject.getObservers().size());
+    }
+
+    @Test
+    public void reentrantSetsAreDeliveredInOrderWithoutRecursion() {
+        // GIVEN an observer that keeps counting up from inside its own notification
+        var subject = new SimpleSubject<Integer>();
+        List<Integer> first = new ArrayList<>();
+        List<Integer> second = new ArrayList<>();
+        subject.observe(value -> {
+            if (value == null) return;
+            first.add(value);
+            if (value < 10_000) subject.setValue(value + 1);
+        });
+        subject.observe(value -> {
+            if (value != null) second.add(value);
+        });
+
+        // WHEN it is started
+        subject.setValue(0);
+
+        // THEN all 10,001 values arrived, in order, at both observers, without overflowing the stack
+        assertEquals(10_001, first.size());
+        assertEquals(first, second);
+        for (int i = 0; i <= 10_000; i++) {
+            assertEquals(Integer.valueOf(i), first.get(i));
+        }
+        assertEquals(Integer.valueOf(10_000), subject.getValue());
+    }
+
+    @Test
+    public void laterObserversSeeValuesInTheOrderTheyWereSet() {
+        // GIVEN a first observer that corrects a value as it arrives
+        var subject = new SimpleSubject<String>();
+        subject.observe(value -> {
+            if ("draft".equals(value)) subject.setValue("final");
+        });
+        List<String> seen = new ArrayList<>();
+        subject.observe(seen::add);
+
+        // WHEN the value is set
+        subject.setValue("draft");
+
+        // THEN the second observer is not told "final" before "draft"
+        assertEquals(Arrays.asList(null, "draft", "final"), seen);
+    }
+
+    @Test
+    public void observersCanUnregisterWhileBeingNotified() {
+        var subject = new SimpleSubject<String>();
+        List<String> seen = new ArrayList<>();
+        subject.observe(new Observer<>() {
+            @Override
+            public void onChanged(String value) {
+                if ("stop".equals(value)) subject.removeObserver(this);
+            }
+        });
+        subject.observe(seen::add);
+
+        subject.setValue("stop");
+        subject.setValue("after");
+
+        assertEquals(Arrays.asList(null, "stop", "after"), seen);
+        assertEquals(1, subject.getObservers().size());
+    }
+
+    @Test
+    public void aThrowingObserverDoesNotWedgeTheSubject() {
+        var subject = new SimpleSubject<String>();
+        List<String> seen = new ArrayList<>();
+        subject.observe(value -> {
+            if ("bad".equals(value)) throw new IllegalStateException();
+        });
+        subject.observe(seen::add);
+
+        assertThrows(IllegalStateException.class, () -> subject.setValue("bad"));
+        subject.setValue("good");
+
+        assertEquals(Arrays.asList(null, "good"), seen);
+    }
+
+    @Test
+    public void subjectsSetInABatchNotifyTogether() {
+        // GIVEN two subjects, and an observer of one that reads the other
+        var done = new SimpleSubject<Boolean>();
+        var goal = new SimpleSubject<String>();
+        List<String> seen = new ArrayList<>();
+        done.observe(value -> seen.add(value + "/" + goal.getValue()));
+
+        // WHEN both are set in one batch, the first twice
+        Subjects.batch(() -> {
+            done.setValue(false);
+            done.setValue(true);
+            goal.setValue("60");
+
+            // THEN nobody hears about it before the batch ends
+            assertEquals(Arrays.asList("null/null"), seen);
+        });
+
+        // THEN the observer heard once, with both values already set
+        assertEquals(Arrays.asList("null/null", "true/60"), seen);
+    }
+}
@@ -0,0 +1,50 @@
+package edu.ucsd.cse110.habitizer.lib.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+
+public class SubjectRegistryTest {
+    @Test
+    public void keysAreKeptOnlyWhileObserved() {
+        // GIVEN a registry over a map
+        var store = new HashMap<Integer, String>();
+        store.put(1, "one");
+        var registry = new SubjectRegistry<Integer, String>(store::get);
+
+        // WHEN a key is only looked up
+        var subject = registry.find(1);
+
+        // THEN nothing is kept for it, and its value is read from the store
+        assertEquals(Set.of(), registry.keys());
+        store.put(1, "uno");
+        assertEquals("uno", subject.getValue());
+
+        // WHEN it is observed twice, and one observer is removed
+        var seen = new ArrayList<String>();
+        Observer<String> first = seen::add;
+        Observer<String> second = value -> {};
+        subject.observe(first);
+        registry.find(1).observe(second);
+        subject.removeObserver(second);
+
+        // THEN the other still hears about changes
+        store.put(1, "eins");
+        registry.changed(1);
+        assertEquals(Set.of(1), registry.keys());
+        assertEquals(List.of("uno", "eins"), seen);
+
+        // WHEN the last observer is removed
+        subject.removeObserver(first);
+
+        // THEN the key is dropped, and changes to it cost nothing
+        assertEquals(Set.of(), registry.keys());
+        registry.changed(1);
+        assertEquals(2, seen.size());
+    }
+}
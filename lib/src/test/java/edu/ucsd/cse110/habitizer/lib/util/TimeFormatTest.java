@@ -0,0 +1,66 @@
+package edu.ucsd.cse110.habitizer.lib.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+public class TimeFormatTest {
+    // The String.format calls TimeFormat replaced, kept here as the reference.
+    private static String expectedClock(int seconds) {
+        return String.format(Locale.getDefault(), "%02d:%02d", (seconds % 3600) / 60, seconds % 60);
+    }
+
+    private static String expectedRoundedDown(int seconds) {
+        int minutes = (seconds % 3600) / 60;
+        return minutes == 0 ? "-" : String.format(Locale.getDefault(), "%01d", minutes);
+    }
+
+    private static String expectedRoundedUp(int seconds) {
+        return String.format(Locale.getDefault(), "%01d", (seconds % 3600) / 60 + 1);
+    }
+
+    private static String expectedTaskTime(int seconds) {
+        if (seconds < 55) {
+            int rounded = seconds % 5 == 0 ? seconds : (seconds / 5 + 1) * 5;
+            return String.format(Locale.getDefault(), "%01ds", rounded);
+        }
+        return expectedRoundedUp(seconds);
+    }
+
+    @Test
+    public void clockMatchesStringFormat() {
+        // GIVEN every second in and around the cached range
+        for (int seconds = -4000; seconds <= 8000; seconds++) {
+            // THEN the formatted clock matches String.format
+            assertEquals(expectedClock(seconds), TimeFormat.clock(seconds));
+        }
+    }
+
+    @Test
+    public void roundedMinutesMatchStringFormat() {
+        for (int seconds = -4000; seconds <= 8000; seconds++) {
+            assertEquals(expectedRoundedDown(seconds), TimeFormat.roundedDownMinutes(seconds));
+            assertEquals(expectedRoundedUp(seconds), TimeFormat.roundedUpMinutes(seconds));
+            assertEquals(expectedTaskTime(seconds), TimeFormat.roundedUpTaskTime(seconds));
+        }
+    }
+
+    @Test
+    public void minutesOutsideCache() {
+        for (int minutes : new int[] {1234, -7, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            assertEquals(String.format(Locale.getDefault(), "%01d", minutes), TimeFormat.minutes(minutes));
+        }
+    }
+
+    @Test
+    public void cachedStringsAreReused() {
+        // GIVEN a value in the cached range
+        // WHEN I format it twice
+        // THEN I get the very same string instance back
+        assertSame(TimeFormat.clock(754), TimeFormat.clock(754));
+        assertSame(TimeFormat.roundedDownMinutes(754), TimeFormat.roundedDownMinutes(760));
+        assertSame(TimeFormat.roundedUpTaskTime(31), TimeFormat.roundedUpTaskTime(35));
+    }
+}
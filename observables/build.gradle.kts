@@ -1,5 +1,8 @@
 plugins {
     id("java-library")
+    // FakeLifecycleOwner and the like, for the tests of modules that use this one
+    id("java-test-fixtures")
+    alias(libs.plugins.jmh)
 }
 
 java {
@@ -11,6 +14,11 @@ dependencies {
     // This library contains no executable code, so it is
     // safe to use even in a non-Android library module.
     implementation(libs.androidx.annotations)
+    // Only the Lifecycle/LifecycleOwner interfaces, no Android code either. It is part of
+    // the Subject API (observing with an owner), hence api rather than implementation.
+    api(libs.androidx.lifecycle.common)
+
+    testFixturesImplementation(libs.androidx.annotations)
 
     testImplementation(libs.junit5.api)
     testRuntimeOnly(libs.junit5.engine)
@@ -19,4 +27,11 @@ dependencies {
 
 tasks.named<Test>("test") {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+// Microbenchmarks live in src/jmh; run them with ./gradlew :observables:jmh
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    // Adds bytes/op (gc.alloc.rate.norm) to every result
+    profilers = listOf("gc")
+}
@@ -0,0 +1,81 @@
+package edu.ucsd.cse110.observables;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one setValue delivered to N observers, for {@link PlainMutableSubject}
+ * ({@link ObserverRegistry}) against the linked-queue {@link QueueSubject} it replaced.
+ * Also measures registering and removing one observer on a subject that already has N.
+ * <p>
+ * Run with {@code ./gradlew :observables:jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FanOutBenchmark {
+    @Param({"1", "10", "100", "1000"})
+    public int observers;
+
+    private PlainMutableSubject<Integer> registrySubject;
+    private QueueSubject<Integer> queueSubject;
+    private Observer<Integer> extra;
+    private int value;
+    private long sum; // Written by every observer so that deliveries are not optimized away
+
+    @Setup
+    public void setup() {
+        registrySubject = new PlainMutableSubject<>();
+        queueSubject = new QueueSubject<>();
+        for (int i = 0; i < observers; i++) {
+            // Distinct instances, as real observers would be
+            Observer<Integer> observer = new Observer<>() {
+                @Override
+                public void onChanged(Integer v) {
+                    sum += v;
+                }
+            };
+            registrySubject.observe(observer);
+            queueSubject.observe(observer);
+        }
+        extra = v -> sum += v;
+    }
+
+    @Benchmark
+    public long setValueRegistry() {
+        registrySubject.setValue(value++);
+        return sum;
+    }
+
+    @Benchmark
+    public long setValueQueue() {
+        queueSubject.setValue(value++);
+        return sum;
+    }
+
+    @Benchmark
+    public void observeAndRemoveRegistry() {
+        registrySubject.observe(extra);
+        registrySubject.removeObserver(extra);
+    }
+
+    @Benchmark
+    public void observeAndRemoveQueue() {
+        queueSubject.observe(extra);
+        queueSubject.removeObserver(extra);
+    }
+}
@@ -0,0 +1,130 @@
+package edu.ucsd.cse110.observables;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one item changing in a 10k-element list, end to end: the list is set on a subject,
+ * and an observer brings its own copy (think adapter) up to date and "binds" the rows that
+ * need it.
+ * <p>
+ * {@code fullRefresh*} is what the fragments do today with a plain subject: clear the copy,
+ * add everything back and rebind every row. {@code diff*} goes through a {@link ListSubject}
+ * and applies only the changes. Each benchmark alternates between two lists so that the
+ * state does not drift.
+ * <p>
+ * Run with {@code ./gradlew :observables:jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListDiffBenchmark {
+    static final class Item {
+        final int id;
+        final int version;
+
+        Item(int id, int version) {
+            this.id = id;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Item && ((Item) o).id == id && ((Item) o).version == version;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * id + version;
+        }
+    }
+
+    @Param({"10000"})
+    private int size;
+
+    private List<Item> base;
+    private List<Item> changed;   // one item's contents changed
+    private List<Item> inserted;  // one item inserted in the middle
+
+    private PlainMutableSubject<List<Item>> plain;
+    private ListSubject<Item> keyed;
+    private final List<Item> plainCopy = new ArrayList<>();
+    private final List<Item> keyedCopy = new ArrayList<>();
+    private long bound; // Rows "bound", so that the binding is not optimized away
+    private boolean flip;
+
+    @Setup
+    public void setup() {
+        base = new ArrayList<>();
+        for (int i = 0; i < size; i++) base.add(new Item(i, 0));
+        changed = new ArrayList<>(base);
+        changed.set(size / 2, new Item(size / 2, 1));
+        inserted = new ArrayList<>(base);
+        inserted.add(size / 2, new Item(size, 0));
+
+        plain = new PlainMutableSubject<>();
+        plain.observe(list -> {
+            plainCopy.clear();
+            plainCopy.addAll(list);
+            for (var item : plainCopy) bind(item);
+        });
+
+        keyed = new ListSubject<>(item -> item.id);
+        keyed.observe(diff -> {
+            diff.applyTo(keyedCopy);
+            for (var change : diff.getChanges()) {
+                for (var item : change.getItems()) bind(item);
+            }
+        });
+        keyed.setList(base);
+    }
+
+    private void bind(Item item) {
+        bound += item.version;
+    }
+
+    private List<Item> next(List<Item> other) {
+        flip = !flip;
+        return flip ? other : base;
+    }
+
+    @Benchmark
+    public long fullRefreshChange() {
+        plain.setValue(next(changed));
+        return bound;
+    }
+
+    @Benchmark
+    public long diffChange() {
+        keyed.setList(next(changed));
+        return bound;
+    }
+
+    @Benchmark
+    public long fullRefreshInsert() {
+        plain.setValue(next(inserted));
+        return bound;
+    }
+
+    @Benchmark
+    public long diffInsert() {
+        keyed.setList(next(inserted));
+        return bound;
+    }
+}
@@ -0,0 +1,76 @@
+package edu.ucsd.cse110.observables;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one setValue travelling through a 5-stage chain of transformations
+ * (map, filter, scan, distinctUntilChanged, combineLatest), against the same logic
+ * hand-wired with mutable subjects and setValue calls in observers.
+ * <p>
+ * Run with {@code ./gradlew :observables:jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperatorChainBenchmark {
+    private PlainMutableSubject<Integer> operatorSource;
+    private PlainMutableSubject<Integer> handSource;
+    private int value;
+    private long sum; // Written by the end of each chain so that it is not optimized away
+
+    @Setup
+    public void setup() {
+        var offset = new PlainMutableSubject<>(1);
+
+        operatorSource = new PlainMutableSubject<>();
+        var mapped = Transformations.map(operatorSource, v -> v * 2);
+        var filtered = Transformations.filter(mapped, v -> v % 3 != 0);
+        var totals = Transformations.scan(filtered, 0L, (total, v) -> total + v);
+        var distinct = Transformations.distinctUntilChanged(totals);
+        var combined = Transformations.combineLatest(distinct, offset, (total, o) -> total + o);
+        combined.observe(v -> sum += v);
+
+        handSource = new PlainMutableSubject<>();
+        var handMapped = new PlainMutableSubject<Integer>();
+        var handFiltered = new PlainMutableSubject<Integer>();
+        var handTotals = new PlainMutableSubject<>(0L);
+        var handDistinct = new PlainMutableSubject<Long>();
+        var handCombined = new PlainMutableSubject<Long>();
+        handSource.observe(v -> handMapped.setValue(v * 2));
+        handMapped.observe(v -> {
+            if (v % 3 != 0) handFiltered.setValue(v);
+        });
+        handFiltered.observe(v -> handTotals.setValue(handTotals.getValue() + v));
+        handTotals.observe(v -> {
+            if (!v.equals(handDistinct.getValue())) handDistinct.setValue(v);
+        });
+        handDistinct.observe(v -> handCombined.setValue(v + offset.getValue()));
+        handCombined.observe(v -> sum += v);
+    }
+
+    @Benchmark
+    public long operators() {
+        operatorSource.setValue(value++);
+        return sum;
+    }
+
+    @Benchmark
+    public long handWired() {
+        handSource.setValue(value++);
+        return sum;
+    }
+}
@@ -0,0 +1,30 @@
+package edu.ucsd.cse110.observables;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The observer bookkeeping {@link PlainMutableSubject} used before {@link ObserverRegistry}:
+ * a linked queue with an O(n) contains() on every observe. Kept here only as a baseline.
+ */
+class QueueSubject<T> {
+    private final AtomicReference<Optional<T>> value = new AtomicReference<>(Optional.empty());
+    private final ConcurrentLinkedQueue<Observer<? super T>> observers = new ConcurrentLinkedQueue<>();
+
+    void setValue(T newValue) {
+        value.set(Optional.of(newValue));
+        T current = value.get().orElse(null);
+        observers.forEach(observer -> observer.onChanged(current));
+    }
+
+    void observe(Observer<? super T> observer) {
+        if (!observers.contains(observer)) {
+            observers.add(observer);
+        }
+    }
+
+    void removeObserver(Observer<? super T> observer) {
+        observers.removeIf(o -> o.equals(observer));
+    }
+}
@@ -0,0 +1,64 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An observer that hands values over to an executor, keeping only the newest one.
+ * <p>
+ * At most one task is queued on the executor at a time. Values that arrive while it is
+ * pending or running replace each other, so a slow consumer skips straight to the latest
+ * value and nothing queues up. The consumer is never run concurrently with itself, and the
+ * last value it receives is always the last value that was observed, so the final state is
+ * never dropped or reordered, whatever kind of executor is used.
+ *
+ * @param <T> The type of the values observed.
+ */
+final class ConflatingObserver<T> implements Observer<T> {
+    // Marks "nothing new since the last hand-over"; null is a legitimate value
+    private static final Object NONE = new Object();
+
+    private final Executor executor;
+    private final Observer<? super T> consumer;
+    private final AtomicReference<Object> latest = new AtomicReference<>(NONE);
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    ConflatingObserver(@NonNull Executor executor, @NonNull Observer<? super T> consumer) {
+        this.executor = executor;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void onChanged(@Nullable T value) {
+        latest.set(value);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drain() {
+        while (true) {
+            var value = latest.getAndSet(NONE);
+            if (value != NONE) {
+                try {
+                    consumer.onChanged((T) value);
+                } catch (RuntimeException | Error e) {
+                    // Let the next value through rather than wedging this observer
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+            scheduled.set(false);
+            // A value may have slipped in after getAndSet but before we cleared the flag;
+            // if so, and nobody else has claimed it, go round again instead of rescheduling.
+            if (latest.get() == NONE || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+}
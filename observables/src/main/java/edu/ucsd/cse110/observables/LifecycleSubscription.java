@@ -0,0 +1,65 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.function.Supplier;
+
+/**
+ * A subscription that is disposed of automatically when a lifecycle is destroyed.
+ * <p>
+ * Disposing it early also stops it from watching the lifecycle, so nothing is left
+ * registered on either side.
+ */
+final class LifecycleSubscription implements Subscription, LifecycleEventObserver {
+    private final Lifecycle lifecycle;
+    private final Subscription inner;
+
+    private LifecycleSubscription(Lifecycle lifecycle, Subscription inner) {
+        this.lifecycle = lifecycle;
+        this.inner = inner;
+    }
+
+    /**
+     * Tie a subscription to the lifecycle of an owner.
+     *
+     * @param owner     The owner whose destruction ends the subscription.
+     * @param subscribe Makes the subscription. Not called if the owner is already destroyed.
+     * @return A subscription that is disposed of when the owner is destroyed.
+     */
+    @MainThread
+    static Subscription bind(@NonNull LifecycleOwner owner, @NonNull Supplier<Subscription> subscribe) {
+        var lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            var nothing = Subscription.of(() -> {});
+            nothing.dispose();
+            return nothing;
+        }
+
+        var subscription = new LifecycleSubscription(lifecycle, subscribe.get());
+        lifecycle.addObserver(subscription);
+        return subscription;
+    }
+
+    @Override
+    public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+        if (event == Lifecycle.Event.ON_DESTROY) {
+            dispose();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (inner.isDisposed()) return;
+        inner.dispose();
+        lifecycle.removeObserver(this);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return inner.isDisposed();
+    }
+}
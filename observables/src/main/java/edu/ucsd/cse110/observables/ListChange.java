@@ -0,0 +1,122 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One step of a {@link ListDiff}: a range of items inserted, removed or changed, or a single
+ * item moved. The steps of a diff are meant to be applied in order, and each step's positions
+ * refer to the list as it is after the steps before it, the same convention as RecyclerView's
+ * ListUpdateCallback.
+ *
+ * @param <T> The type of the items in the list.
+ */
+public final class ListChange<T> {
+    public enum Type {
+        /** {@link #getItems()} were inserted at {@link #getPosition()}. */
+        INSERT,
+        /** {@link #getCount()} items were removed from {@link #getPosition()}. */
+        REMOVE,
+        /** The item at {@link #getPosition()} was moved to {@link #getToPosition()}. */
+        MOVE,
+        /** The items from {@link #getPosition()} on were replaced by {@link #getItems()}. */
+        CHANGE
+    }
+
+    private final Type type;
+    private final int position;
+    private final int count;
+    private final int toPosition;
+    private final List<T> items;
+
+    private ListChange(Type type, int position, int count, int toPosition, List<T> items) {
+        this.type = type;
+        this.position = position;
+        this.count = count;
+        this.toPosition = toPosition;
+        this.items = items;
+    }
+
+    public static <T> ListChange<T> insert(int position, @NonNull List<T> items) {
+        return new ListChange<>(Type.INSERT, position, items.size(), -1, Collections.unmodifiableList(items));
+    }
+
+    public static <T> ListChange<T> remove(int position, int count) {
+        return new ListChange<>(Type.REMOVE, position, count, -1, List.of());
+    }
+
+    public static <T> ListChange<T> move(int fromPosition, int toPosition) {
+        return new ListChange<>(Type.MOVE, fromPosition, 1, toPosition, List.of());
+    }
+
+    public static <T> ListChange<T> change(int position, @NonNull List<T> items) {
+        return new ListChange<>(Type.CHANGE, position, items.size(), -1, Collections.unmodifiableList(items));
+    }
+
+    @NonNull
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return Where the range starts, or for a move, where the item was.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * @return How many items the range covers; always 1 for a move.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return Where a moved item ends up, or -1 if this is not a move.
+     */
+    public int getToPosition() {
+        return toPosition;
+    }
+
+    /**
+     * @return The new items of an insert or change, empty otherwise.
+     */
+    @NonNull
+    public List<T> getItems() {
+        return items;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ListChange)) return false;
+        var other = (ListChange<?>) o;
+        return type == other.type
+                && position == other.position
+                && count == other.count
+                && toPosition == other.toPosition
+                && items.equals(other.items);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, position, count, toPosition, items);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        switch (type) {
+            case MOVE:
+                return "MOVE " + position + " -> " + toPosition;
+            case REMOVE:
+                return "REMOVE " + count + " at " + position;
+            default:
+                return type + " " + items + " at " + position;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * What a {@link ListSubject} emits: the new snapshot of the list, together with the changes
+ * that turn the previous snapshot into it.
+ * <p>
+ * Consumers that keep their own copy of the list (e.g. an adapter) can apply just the
+ * changes, see {@link #applyTo(List)}; consumers that don't care can simply use
+ * {@link #getList()}.
+ *
+ * @param <T> The type of the items in the list.
+ */
+public final class ListDiff<T> {
+    private final List<T> list;
+    private final List<ListChange<T>> changes;
+
+    ListDiff(@NonNull List<T> list, @NonNull List<ListChange<T>> changes) {
+        this.list = list;
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * @return The list after the changes, unmodifiable.
+     */
+    @NonNull
+    public List<T> getList() {
+        return list;
+    }
+
+    /**
+     * @return The changes, to be applied in order. See {@link ListChange}.
+     */
+    @NonNull
+    public List<ListChange<T>> getChanges() {
+        return changes;
+    }
+
+    /**
+     * @return True if the list did not change at all.
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Apply the changes to a copy of the previous snapshot, which then equals {@link #getList()}.
+     * Costs time in the number of changes (and the size of the list for the shifting an
+     * ArrayList does), not in a full rebuild.
+     *
+     * @param target A mutable list holding the previous snapshot.
+     */
+    public void applyTo(@NonNull List<T> target) {
+        for (var change : changes) {
+            int position = change.getPosition();
+            switch (change.getType()) {
+                case INSERT:
+                    target.addAll(position, change.getItems());
+                    break;
+                case REMOVE:
+                    target.subList(position, position + change.getCount()).clear();
+                    break;
+                case MOVE:
+                    target.add(change.getToPosition(), target.remove(position));
+                    break;
+                case CHANGE:
+                    var items = change.getItems();
+                    for (int i = 0; i < items.size(); i++) {
+                        target.set(position + i, items.get(i));
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Work out the changes from one list to another, matching items by key.
+     * <p>
+     * Keys that stay put at either end of the list are skipped over first, so a change to a
+     * single item in a long list only costs a pass of key comparisons. In the rest, items
+     * whose key is gone are removed, the longest run of surviving items still in the same
+     * order stays where it is, and everything else is moved or inserted, so that the number
+     * of steps is close to the smallest possible. That part takes O(m log m) for m items.
+     * <p>
+     * Keys should be unique. If one is repeated, the extra items are treated as removed and
+     * inserted, which is still correct, just less compact.
+     *
+     * @param oldList      The previous snapshot.
+     * @param newList      The new snapshot.
+     * @param keyOf        Identifies an item across snapshots, e.g. by its id.
+     * @param sameContents Returns true if an item (second) with the same key as the old one
+     *                     (first) needs no CHANGE, e.g. {@link Objects#equals}.
+     * @param <T>          The type of the items in the list.
+     * @return The diff, holding {@code newList} as its snapshot.
+     */
+    @NonNull
+    public static <T> ListDiff<T> compute(@NonNull List<T> oldList,
+                                          @NonNull List<T> newList,
+                                          @NonNull Function<? super T, ?> keyOf,
+                                          @NonNull BiPredicate<? super T, ? super T> sameContents) {
+        var changes = new Changes<T>();
+
+        // Common prefix and suffix, by key
+        int start = 0;
+        int limit = Math.min(oldList.size(), newList.size());
+        while (start < limit && sameKey(keyOf, oldList.get(start), newList.get(start))) {
+            start++;
+        }
+        int oldEnd = oldList.size();
+        int newEnd = newList.size();
+        while (oldEnd > start && newEnd > start && sameKey(keyOf, oldList.get(oldEnd - 1), newList.get(newEnd - 1))) {
+            oldEnd--;
+            newEnd--;
+        }
+
+        // Nothing in the middle moves the prefix, so its changes can go first
+        for (int i = 0; i < start; i++) {
+            if (!sameContents.test(oldList.get(i), newList.get(i))) {
+                changes.change(i, newList.get(i));
+            }
+        }
+
+        diffMiddle(oldList.subList(start, oldEnd), newList.subList(start, newEnd), start, keyOf, sameContents, changes);
+
+        // ...and by the end, the suffix is where it will stay
+        for (int i = 0; i < newList.size() - newEnd; i++) {
+            var oldItem = oldList.get(oldEnd + i);
+            var newItem = newList.get(newEnd + i);
+            if (!sameContents.test(oldItem, newItem)) {
+                changes.change(newEnd + i, newItem);
+            }
+        }
+
+        return new ListDiff<>(newList, changes.build());
+    }
+
+    private static <T> boolean sameKey(Function<? super T, ?> keyOf, T a, T b) {
+        return Objects.equals(keyOf.apply(a), keyOf.apply(b));
+    }
+
+    private static <T> void diffMiddle(List<T> oldList, List<T> newList, int offset,
+                                       Function<? super T, ?> keyOf,
+                                       BiPredicate<? super T, ? super T> sameContents,
+                                       Changes<T> changes) {
+        int oldSize = oldList.size();
+        int newSize = newList.size();
+        if (oldSize == 0 && newSize == 0) return;
+
+        // Pair old items with new ones by key
+        var newIndexOf = new HashMap<Object, Integer>(newSize * 2);
+        for (int j = newSize - 1; j >= 0; j--) {
+            newIndexOf.put(keyOf.apply(newList.get(j)), j); // the first occurrence wins
+        }
+        var oldToNew = new int[oldSize];
+        var newToKept = new int[newSize];
+        Arrays.fill(newToKept, -1);
+        int keptCount = 0;
+        for (int i = 0; i < oldSize; i++) {
+            var j = newIndexOf.get(keyOf.apply(oldList.get(i)));
+            if (j != null && newToKept[j] == -1) {
+                oldToNew[i] = j;
+                newToKept[j] = keptCount++;
+            } else {
+                oldToNew[i] = -1;
+            }
+        }
+
+        // Removals, back to front so that positions stay valid, in runs
+        for (int i = oldSize - 1; i >= 0; ) {
+            if (oldToNew[i] != -1) {
+                i--;
+                continue;
+            }
+            int end = i;
+            while (i >= 0 && oldToNew[i] == -1) i--;
+            changes.remove(offset + i + 1, end - i);
+        }
+
+        // What is left, in old order, as indices into the new list
+        var kept = new int[keptCount];
+        var keptOld = new int[keptCount];
+        for (int i = 0, q = 0; i < oldSize; i++) {
+            if (oldToNew[i] != -1) {
+                kept[q] = oldToNew[i];
+                keptOld[q] = i;
+                q++;
+            }
+        }
+        var anchored = longestIncreasing(kept, newSize);
+
+        // Give every position an item will ever take a slot, in list order: each surviving
+        // item's current place, and for every item that is moved or inserted, a place
+        // straight after its predecessor in the new list. Counting the occupied slots
+        // before one (a Fenwick tree) then tells the item's position at any time.
+        var chainSlot = new int[newSize];
+        var keptSlot = new int[keptCount];
+        int slots = chain(-1, anchored, chainSlot, 0);
+        for (int q = 0; q < keptCount; q++) {
+            keptSlot[q] = slots++;
+            if (anchored[kept[q]]) slots = chain(kept[q], anchored, chainSlot, slots);
+        }
+        var occupied = new Fenwick(slots);
+        for (int q = 0; q < keptCount; q++) {
+            occupied.add(keptSlot[q], 1);
+        }
+
+        // Walk the new list, putting each item after its predecessor
+        for (int j = 0; j < newSize; j++) {
+            var newItem = newList.get(j);
+            int q = newToKept[j];
+            if (q == -1) {
+                occupied.add(chainSlot[j], 1);
+                changes.insert(offset + occupied.countBefore(chainSlot[j]), newItem);
+                continue;
+            }
+            var oldItem = oldList.get(keptOld[q]);
+            int position;
+            if (anchored[j]) {
+                position = occupied.countBefore(keptSlot[q]);
+            } else {
+                int from = occupied.countBefore(keptSlot[q]);
+                occupied.add(keptSlot[q], -1);
+                occupied.add(chainSlot[j], 1);
+                position = occupied.countBefore(chainSlot[j]);
+                if (from != position) changes.move(offset + from, offset + position);
+            }
+            if (!sameContents.test(oldItem, newItem)) {
+                changes.change(offset + position, newItem);
+            }
+        }
+    }
+
+    // Allocate slots to the items after new index `after` that are not anchored
+    private static int chain(int after, boolean[] anchored, int[] chainSlot, int next) {
+        for (int j = after + 1; j < anchored.length && !anchored[j]; j++) {
+            chainSlot[j] = next++;
+        }
+        return next;
+    }
+
+    // Marks, by new index, the values that make up a longest increasing subsequence
+    private static boolean[] longestIncreasing(int[] values, int range) {
+        var anchored = new boolean[range];
+        int n = values.length;
+        var tails = new int[n]; // index into values of the smallest tail of each length
+        var previous = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            int lo = 0;
+            int hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[tails[mid]] < values[i]) lo = mid + 1;
+                else hi = mid;
+            }
+            previous[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if (lo == length) length++;
+        }
+        for (int i = length > 0 ? tails[length - 1] : -1; i != -1; i = previous[i]) {
+            anchored[values[i]] = true;
+        }
+        return anchored;
+    }
+
+    private static final class Fenwick {
+        private final int[] tree;
+
+        Fenwick(int size) {
+            tree = new int[size + 1];
+        }
+
+        void add(int index, int delta) {
+            for (int i = index + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        // Occupied slots strictly before index
+        int countBefore(int index) {
+            int sum = 0;
+            for (int i = index; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+    }
+
+    // Collects changes, merging adjacent inserts, removes and changes into ranges
+    private static final class Changes<T> {
+        private final List<ListChange<T>> done = new ArrayList<>();
+        private ListChange.Type openType;
+        private int openPosition;
+        private int openCount;
+        private List<T> openItems;
+
+        void insert(int position, T item) {
+            if (openType != ListChange.Type.INSERT || position != openPosition + openCount) {
+                open(ListChange.Type.INSERT, position);
+            }
+            openItems.add(item);
+            openCount++;
+        }
+
+        void change(int position, T item) {
+            if (openType != ListChange.Type.CHANGE || position != openPosition + openCount) {
+                open(ListChange.Type.CHANGE, position);
+            }
+            openItems.add(item);
+            openCount++;
+        }
+
+        void remove(int position, int count) {
+            // Removals come back to front, so the next run ends where the open one starts
+            if (openType == ListChange.Type.REMOVE && position + count == openPosition) {
+                openPosition = position;
+                openCount += count;
+                return;
+            }
+            open(ListChange.Type.REMOVE, position);
+            openCount = count;
+        }
+
+        void move(int from, int to) {
+            flush();
+            done.add(ListChange.move(from, to));
+        }
+
+        List<ListChange<T>> build() {
+            flush();
+            return done;
+        }
+
+        private void open(ListChange.Type type, int position) {
+            flush();
+            openType = type;
+            openPosition = position;
+            openCount = 0;
+            openItems = type == ListChange.Type.REMOVE ? null : new ArrayList<>();
+        }
+
+        private void flush() {
+            if (openType == null) return;
+            switch (openType) {
+                case INSERT:
+                    done.add(ListChange.insert(openPosition, openItems));
+                    break;
+                case CHANGE:
+                    done.add(ListChange.change(openPosition, openItems));
+                    break;
+                default:
+                    done.add(ListChange.remove(openPosition, openCount));
+                    break;
+            }
+            openType = null;
+        }
+    }
+}
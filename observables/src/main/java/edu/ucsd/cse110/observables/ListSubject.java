@@ -0,0 +1,130 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * A subject holding a list, which tells its observers not only the new list but also what
+ * changed since the last one (a {@link ListDiff}), worked out by key. An observer that keeps
+ * an adapter or other copy of the list up to date can then apply a handful of inserts,
+ * removes, moves and changes instead of rebuilding, and rebinding, every row.
+ * <p>
+ * The first list set is reported as one insert of everything. An observer registered later
+ * should start from {@code getValue().getList()} and apply the diffs that follow.
+ *
+ * @param <T> The type of the items in the list.
+ */
+public class ListSubject<T> implements Subject<ListDiff<T>> {
+    private final Function<? super T, ?> keyOf;
+    private final BiPredicate<? super T, ? super T> sameContents;
+    private final Diffs diffs = new Diffs();
+
+    // The last list set
+    private List<T> current = List.of();
+
+    // The list observers last heard about, while a batch holds the notification back
+    @Nullable
+    private List<T> heldBack;
+
+    /**
+     * @param keyOf Identifies an item across lists, e.g. by its id. Keys should be unique.
+     */
+    public ListSubject(@NonNull Function<? super T, ?> keyOf) {
+        this(keyOf, Objects::equals);
+    }
+
+    /**
+     * @param keyOf        Identifies an item across lists, e.g. by its id. Keys should be unique.
+     * @param sameContents Returns true if an item (second) with the same key as the old one
+     *                     (first) looks the same, so that it is not reported as changed.
+     */
+    public ListSubject(@NonNull Function<? super T, ?> keyOf,
+                       @NonNull BiPredicate<? super T, ? super T> sameContents) {
+        this.keyOf = keyOf;
+        this.sameContents = sameContents;
+    }
+
+    /**
+     * Replace the list, and notify observers of the difference. The list is copied, and
+     * must not contain nulls. A list without any difference is still emitted, with no changes.
+     * <p>
+     * Inside {@link Subjects#batch(Runnable)}, where observers only hear the last of several
+     * values, the diff covers everything since the list they were last told about.
+     *
+     * @param list The new list.
+     */
+    @MainThread
+    public void setList(@NonNull List<T> list) {
+        var snapshot = List.copyOf(list);
+        var from = heldBack != null ? heldBack : current;
+        var diff = ListDiff.compute(from, snapshot, keyOf, sameContents);
+        current = snapshot;
+        heldBack = Subjects.isBatching() ? from : null;
+        diffs.setValue(diff);
+    }
+
+    /**
+     * @return The last list set, empty if none was.
+     */
+    @NonNull
+    public List<T> getList() {
+        return current;
+    }
+
+    @Nullable
+    @Override
+    public ListDiff<T> getValue() {
+        return diffs.getValue();
+    }
+
+    @Override
+    public boolean hasObservers() {
+        return diffs.hasObservers();
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return diffs.isInitialized();
+    }
+
+    @Override
+    public Observer<? super ListDiff<T>> observe(@NonNull Observer<? super ListDiff<T>> observer) {
+        return diffs.observe(observer);
+    }
+
+    @Override
+    public void removeObserver(@NonNull Observer<? super ListDiff<T>> observer) {
+        diffs.removeObserver(observer);
+    }
+
+    @Override
+    public void removeObservers() {
+        diffs.removeObservers();
+    }
+
+    @Override
+    @VisibleForTesting
+    public List<Observer<? super ListDiff<T>>> getObservers() {
+        return diffs.getObservers();
+    }
+
+    PlainMutableSubject<ListDiff<T>> diffs() {
+        return diffs;
+    }
+
+    private final class Diffs extends PlainMutableSubject<ListDiff<T>> {
+        @Override
+        protected void notifyObservers() {
+            // The batch is delivering the latest diff, which spans everything held back
+            heldBack = null;
+            super.notifyObservers();
+        }
+    }
+}
@@ -16,17 +16,21 @@ public interface MediatorSubject<T> extends MutableSubject<T> {
     /**
      * Register a source subject to be observed.
      * <p>
+     * Adding the same subject with the same observer again does nothing and returns the
+     * existing subscription.
      *
      * @param subject  The source subject to observe.
      * @param observer The observer to notify when the source subject changes.
      * @param <S>      The type of the subject subject.
+     * @return A subscription that removes just this source when disposed.
      */
     @MainThread
-    <S> void addSource(Subject<S> subject, Observer<? super S> observer);
+    <S> Subscription addSource(Subject<S> subject, Observer<? super S> observer);
 
 
     /**
-     * Unregister a source subject that was previously registered.
+     * Unregister a source subject that was previously registered. Its observers are
+     * removed from the source subject immediately.
      *
      * @param source The source subject to stop observing.
      * @param <S>    The type of the source subject.
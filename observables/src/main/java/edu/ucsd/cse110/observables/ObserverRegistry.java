@@ -0,0 +1,144 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The set of observers registered on a subject.
+ * <p>
+ * Observers are kept in an immutable snapshot: a plain array, plus an identity map from
+ * each observer to its slot. Registering or removing an observer builds a new snapshot and
+ * swaps it in with a compare-and-set, so notifying never takes a lock and never sees a
+ * half-applied change. Duplicate checks and removals look the observer up by identity in
+ * O(1) instead of scanning the list with {@code equals}.
+ * <p>
+ * This favors the common case for subjects: many notifications, few (un)registrations.
+ *
+ * @param <T> The type of the value that the observers receive.
+ */
+final class ObserverRegistry<T> {
+    private final AtomicReference<Snapshot<T>> snapshot = new AtomicReference<>(Snapshot.empty());
+
+    /**
+     * Register an observer, unless this exact observer is already registered.
+     *
+     * @param observer The observer to add.
+     * @return The number of observers right after adding it (so 1 for the first), or -1 if
+     * it was already registered.
+     */
+    int add(@NonNull Observer<? super T> observer) {
+        while (true) {
+            var current = snapshot.get();
+            if (current.index.containsKey(observer)) return -1;
+            var next = current.with(observer);
+            if (snapshot.compareAndSet(current, next)) return next.observers.length;
+        }
+    }
+
+    /**
+     * Unregister an observer, if it is registered.
+     *
+     * @param observer The observer to remove.
+     * @return The number of observers right after removing it (so 0 for the last), or -1 if
+     * it was not registered.
+     */
+    int remove(@NonNull Observer<? super T> observer) {
+        while (true) {
+            var current = snapshot.get();
+            var position = current.index.get(observer);
+            if (position == null) return -1;
+            var next = current.without(position);
+            if (snapshot.compareAndSet(current, next)) return next.observers.length;
+        }
+    }
+
+    /**
+     * Unregister every observer.
+     *
+     * @return The observers that were removed; not to be changed.
+     */
+    Observer<? super T>[] clear() {
+        return snapshot.getAndSet(Snapshot.empty()).observers;
+    }
+
+    boolean isEmpty() {
+        return snapshot.get().observers.length == 0;
+    }
+
+    int size() {
+        return snapshot.get().observers.length;
+    }
+
+    /**
+     * Notify every observer registered at the time of the call, in registration order.
+     *
+     * @param value The value to deliver.
+     */
+    void notifyAll(@Nullable T value) {
+        for (var observer : snapshot.get().observers) {
+            observer.onChanged(value);
+        }
+    }
+
+    /**
+     * Like {@link #notifyAll(Object)}, but recording the delivery in the given metrics.
+     */
+    void notifyAll(@Nullable T value, @NonNull SubjectMetrics metrics) {
+        metrics.deliver(snapshot.get().observers, value);
+    }
+
+    List<Observer<? super T>> toList() {
+        return List.of(snapshot.get().observers);
+    }
+
+    // Never mutated after construction; a change always makes a new snapshot
+    private static final class Snapshot<T> {
+        private static final Snapshot<Object> EMPTY = new Snapshot<>(newArray(0), new IdentityHashMap<>());
+
+        final Observer<? super T>[] observers;
+        final IdentityHashMap<Observer<? super T>, Integer> index;
+
+        private Snapshot(Observer<? super T>[] observers, IdentityHashMap<Observer<? super T>, Integer> index) {
+            this.observers = observers;
+            this.index = index;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Snapshot<T> empty() {
+            return (Snapshot<T>) EMPTY;
+        }
+
+        // Arrays of a generic type can only be made raw; every element is an Observer<? super T>
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static <T> Observer<? super T>[] newArray(int length) {
+            return new Observer[length];
+        }
+
+        Snapshot<T> with(Observer<? super T> observer) {
+            var observers = Arrays.copyOf(this.observers, this.observers.length + 1);
+            observers[this.observers.length] = observer;
+            var index = new IdentityHashMap<>(this.index);
+            index.put(observer, this.observers.length);
+            return new Snapshot<>(observers, index);
+        }
+
+        Snapshot<T> without(int position) {
+            if (observers.length == 1) return empty();
+
+            Observer<? super T>[] observers = newArray(this.observers.length - 1);
+            System.arraycopy(this.observers, 0, observers, 0, position);
+            System.arraycopy(this.observers, position + 1, observers, position, observers.length - position);
+
+            var index = new IdentityHashMap<Observer<? super T>, Integer>(observers.length);
+            for (int i = 0; i < observers.length; i++) {
+                index.put(observers[i], i);
+            }
+            return new Snapshot<>(observers, index);
+        }
+    }
+}
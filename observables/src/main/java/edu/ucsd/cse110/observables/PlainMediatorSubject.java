@@ -1,25 +1,83 @@
 package edu.ucsd.cse110.observables;
 
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class PlainMediatorSubject<T> extends PlainMutableSubject<T> implements MediatorSubject<T> {
 
+    // Marks a source whose value has not been seen yet; null is a legitimate value
+    private static final Object NOT_SEEN = new Object();
+
     private final Queue<Source<?>> sources = new ConcurrentLinkedQueue<>();
 
+    // When true, sources are only observed while this subject has observers
+    private final boolean cold;
+
+    public PlainMediatorSubject() {
+        this(false);
+    }
+
+    private PlainMediatorSubject(boolean cold) {
+        this.cold = cold;
+    }
+
+    /**
+     * Create a mediator that observes its sources only while it has observers itself, like
+     * Android's MediatorLiveData. Without observers it costs its sources nothing, but its
+     * value may be out of date.
+     * <p>
+     * Whenever it starts observing a source, it catches up: if the source holds a value that
+     * this mediator has not seen yet, the source's observer is called with it right away.
+     *
+     * @param <T> The type of the value that the subject holds.
+     * @return A new uninitialized mediator.
+     */
+    public static <T> PlainMediatorSubject<T> cold() {
+        return new PlainMediatorSubject<>(true);
+    }
+
     @Override
-    public <S> void addSource(Subject<S> subject, Observer<? super S> observer) {
+    public <S> Subscription addSource(Subject<S> subject, Observer<? super S> observer) {
+        // Look for a duplicate before subscribing, so a rejected source never registers
+        for (var existing : sources) {
+            if (existing.subject.equals(subject) && existing.observer.equals(observer)) {
+                return existing;
+            }
+        }
         var source = new Source<>(subject, observer);
-        if (sources.contains(source)) return;
         sources.add(source);
+        if (!cold || hasObservers()) source.connect();
+        return source;
     }
 
     @Override
     public <S> void removeSource(Subject<S> subject) {
-        sources.removeIf(s -> s.subject.equals(subject));
+        for (var source : sources) {
+            if (source.subject.equals(subject)) {
+                source.dispose();
+            }
+        }
+    }
+
+    @Override
+    protected void onActive() {
+        if (!cold) return;
+        for (var source : sources) {
+            source.connect();
+        }
+    }
+
+    @Override
+    protected void onInactive() {
+        if (!cold) return;
+        for (var source : sources) {
+            source.disconnect();
+        }
     }
 
     /**
@@ -33,14 +91,55 @@ public class PlainMediatorSubject<T> extends PlainMutableSubject<T> implements M
         return sources.stream().map(s -> s.subject).toList();
     }
 
-    // Container record for registered sources (subject + observer)
-    private record Source<S>(Subject<S> subject, Observer<? super S> observer) {
-        Source {
-            subject.observe(observer);
+    // A registered source (subject + observer); disposing it unsubscribes right away
+    private final class Source<S> implements Subscription, Observer<S> {
+        final Subject<S> subject;
+        final Observer<? super S> observer;
+        private final AtomicBoolean disposed = new AtomicBoolean(false);
+
+        private boolean connected = false;
+        // The last value passed on, so that reconnecting only catches up on real changes
+        @Nullable
+        private Object lastSeen = NOT_SEEN;
+
+        Source(Subject<S> subject, Observer<? super S> observer) {
+            this.subject = subject;
+            this.observer = observer;
+        }
+
+        @Override
+        public void onChanged(@Nullable S value) {
+            if (cold) lastSeen = value;
+            observer.onChanged(value);
+        }
+
+        void connect() {
+            if (connected || disposed.get()) return;
+            connected = true;
+            subject.observe(this);
+
+            if (cold && subject.isInitialized()) {
+                var current = subject.getValue();
+                if (current != lastSeen) onChanged(current);
+            }
+        }
+
+        void disconnect() {
+            if (!connected) return;
+            connected = false;
+            subject.removeObserver(this);
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed.compareAndSet(false, true)) return;
+            sources.remove(this);
+            disconnect();
         }
 
-        protected void finalize() {
-            subject.removeObserver(observer);
+        @Override
+        public boolean isDisposed() {
+            return disposed.get();
         }
     }
 }
@@ -5,9 +5,11 @@ import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.BiPredicate;
 
 /**
  * A plain old LiveData-like subject that can be observed, but with no Android dependencies, and
@@ -25,31 +27,153 @@ import java.util.concurrent.atomic.AtomicReference;
  * @param <T> The type of the value that the subject holds.
  */
 public class PlainMutableSubject<T> implements MutableSubject<T> {
-    private final AtomicReference<Optional<T>> value = new AtomicReference<>(Optional.empty());
-    private final ConcurrentLinkedQueue<Observer<? super T>> observers = new ConcurrentLinkedQueue<>();
+    // Marks a subject that has never been set. Using a sentinel instead of wrapping the value
+    // in an Optional means setValue does not allocate, and null is a legitimate value.
+    private static final Object UNINITIALIZED = new Object();
+
+    // Stands in for null in the queue of pending values, which cannot hold nulls
+    private static final Object NULL = new Object();
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<PlainMutableSubject> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(PlainMutableSubject.class, "wip");
+
+    private volatile Object value = UNINITIALIZED;
+    private final ObserverRegistry<T> observers = new ObserverRegistry<>();
+
+    // Values set while a delivery was running, and the number of deliveries requested but
+    // not yet made. Whoever takes wip from 0 delivers; everyone else just queues. See emit.
+    private final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+    private volatile int wip = 0;
+
+    // Set by Instrumentation.named; only consulted while instrumentation is enabled
+    @Nullable
+    volatile SubjectMetrics metrics;
+
+    // When set, a value considered the same as the current one is not emitted
+    @Nullable
+    private final BiPredicate<? super T, ? super T> sameValue;
 
     public PlainMutableSubject() {
+        this.sameValue = null;
     }
 
     public PlainMutableSubject(T initialValue) {
-        this.value.getAndSet(Optional.of(initialValue));
+        this.value = initialValue;
+        this.sameValue = null;
+    }
+
+    private PlainMutableSubject(Object initialValue, @Nullable BiPredicate<? super T, ? super T> sameValue) {
+        this.value = initialValue;
+        this.sameValue = sameValue;
+    }
+
+    /**
+     * Create a subject that drops a setValue whose value equals (by {@link Object#equals})
+     * the one it already holds, so observers only hear about actual changes.
+     *
+     * @param <T> The type of the value that the subject holds.
+     * @return A new uninitialized subject.
+     */
+    public static <T> PlainMutableSubject<T> distinct() {
+        return new PlainMutableSubject<>(UNINITIALIZED, Objects::equals);
+    }
+
+    /**
+     * Like {@link #distinct()}, but starting with a value.
+     *
+     * @param initialValue The initial value.
+     * @param <T>          The type of the value that the subject holds.
+     * @return A new initialized subject.
+     */
+    public static <T> PlainMutableSubject<T> distinct(T initialValue) {
+        return new PlainMutableSubject<>(initialValue, Objects::equals);
+    }
+
+    /**
+     * Like {@link #distinct()}, but with a custom notion of "the same value", e.g. comparing
+     * only the fields that a view actually shows.
+     *
+     * @param sameValue Returns true if the new value (second) need not be emitted after the
+     *                  current one (first).
+     * @param <T>       The type of the value that the subject holds.
+     * @return A new uninitialized subject.
+     */
+    public static <T> PlainMutableSubject<T> distinctBy(@NonNull BiPredicate<? super T, ? super T> sameValue) {
+        return new PlainMutableSubject<>(UNINITIALIZED, sameValue);
     }
 
     protected void notifyObservers() {
-        T newValue = value.get().orElse(null);
-        observers.forEach(observer -> observer.onChanged(newValue));
+        emit(getValue());
+    }
+
+    /**
+     * Deliver a value to the observers. Deliveries never overlap: a value set while one is
+     * running (by an observer of this subject, or by another thread) is queued, and the
+     * running delivery goes on to deliver it next, in a loop rather than by recursion. So
+     * every observer sees every value, in the order they were set, and observers that set
+     * the value themselves cannot overflow the stack. A value queued by another thread is
+     * delivered on the thread that was already delivering.
+     * <p>
+     * Nothing is queued, and nothing allocated, when no delivery is running.
+     */
+    @SuppressWarnings("unchecked")
+    private void emit(@Nullable T value) {
+        int missed;
+        if (WIP.compareAndSet(this, 0, 1)) {
+            deliver(value);
+            missed = WIP.decrementAndGet(this);
+            if (missed == 0) return;
+        } else {
+            pending.offer(value == null ? NULL : value);
+            if (WIP.getAndIncrement(this) != 0) return;
+            missed = 1;
+        }
+
+        while (true) {
+            Object next;
+            while ((next = pending.poll()) != null) {
+                deliver(next == NULL ? null : (T) next);
+            }
+            missed = WIP.addAndGet(this, -missed);
+            if (missed == 0) return;
+        }
+    }
+
+    private void deliver(@Nullable T value) {
+        try {
+            var metrics = this.metrics;
+            if (metrics != null && Instrumentation.isEnabled()) {
+                observers.notifyAll(value, metrics);
+            } else {
+                observers.notifyAll(value);
+            }
+        } catch (RuntimeException | Error e) {
+            // Don't leave the subject stuck mid-delivery; what was queued is dropped
+            pending.clear();
+            wip = 0;
+            throw e;
+        }
     }
 
     @Override
     @Nullable
+    @SuppressWarnings("unchecked")
     public T getValue() {
-        return value.get().orElse(null);
+        var current = value;
+        return current == UNINITIALIZED ? null : (T) current;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void setValue(T newValue) {
-        value.set(Optional.of(newValue));
-        notifyObservers();
+        var current = value;
+        if (sameValue != null && current != UNINITIALIZED && sameValue.test((T) current, newValue)) {
+            return;
+        }
+        value = newValue;
+        if (Subjects.defer(this)) return;
+        emit(newValue);
     }
 
     @Override
@@ -59,30 +183,52 @@ public class PlainMutableSubject<T> implements MutableSubject<T> {
 
     @Override
     public boolean isInitialized() {
-        return value.get().isPresent();
+        return value != UNINITIALIZED;
     }
 
     @Override
     public Observer<? super T> observe(@NonNull Observer<? super T> observer) {
-        if (!observers.contains(observer)) {
-            observers.add(observer);
-        }
+        if (observers.add(observer) == 1) onActive();
         return observer;
     }
 
     @Override
     public void removeObserver(@NonNull Observer<? super T> observer) {
-        observers.removeIf(o -> o.equals(observer));
+        int left = observers.remove(observer);
+        var metrics = this.metrics;
+        if (left >= 0 && metrics != null) metrics.observerRemoved(observer);
+        if (left == 0) onInactive();
     }
 
     @Override
     public void removeObservers() {
-        observers.clear();
+        var removed = observers.clear();
+        var metrics = this.metrics;
+        if (metrics != null) {
+            for (var observer : removed) metrics.observerRemoved(observer);
+        }
+        if (removed.length > 0) onInactive();
+    }
+
+    /**
+     * Called when the first observer is registered, i.e. the number of observers goes from 0
+     * to 1. It runs after the observer was added, on the thread that added it. Analogous to
+     * LiveData's onActive: subclasses can start the work that feeds them here.
+     * Does nothing by default.
+     */
+    protected void onActive() {
+    }
+
+    /**
+     * Called when the last observer is unregistered, i.e. the number of observers goes back
+     * to 0. Subclasses can stop the work that feeds them here. Does nothing by default.
+     */
+    protected void onInactive() {
     }
 
     @Override
     @VisibleForTesting
     public List<Observer<? super T>> getObservers() {
-        return List.copyOf(observers);
+        return observers.toList();
     }
 }
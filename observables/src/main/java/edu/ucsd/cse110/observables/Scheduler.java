@@ -0,0 +1,52 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks after a delay, for the time-based transformations such as
+ * {@link Transformations#debounce(Subject, long, Scheduler)}. Passing one in, rather than
+ * having the transformations start threads or timers themselves, lets tests substitute a
+ * scheduler with virtual time, and lets an app deliver on its main thread.
+ */
+public interface Scheduler {
+    /**
+     * @return The current time in milliseconds, on the same clock that delays are measured.
+     */
+    long nowMillis();
+
+    /**
+     * Run a task once, after a delay.
+     *
+     * @param task        The task to run.
+     * @param delayMillis How long to wait, in milliseconds.
+     * @return A subscription that cancels the task if it has not run yet.
+     */
+    @NonNull
+    Subscription schedule(@NonNull Runnable task, long delayMillis);
+
+    /**
+     * Adapt an executor service. Note that tasks then run on its threads, so the
+     * resulting subjects emit there too.
+     *
+     * @param executor The executor service to schedule tasks on.
+     * @return A scheduler backed by the executor service, on the {@link System#nanoTime()} clock.
+     */
+    static Scheduler from(@NonNull ScheduledExecutorService executor) {
+        return new Scheduler() {
+            @Override
+            public long nowMillis() {
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+            }
+
+            @NonNull
+            @Override
+            public Subscription schedule(@NonNull Runnable task, long delayMillis) {
+                var future = executor.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+                return Subscription.of(() -> future.cancel(false));
+            }
+        };
+    }
+}
@@ -4,6 +4,7 @@ import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
+import androidx.lifecycle.LifecycleOwner;
 
 import java.util.List;
 
@@ -43,6 +44,38 @@ public interface Subject<T> {
     @MainThread
     Observer<? super T> observe(@NonNull Observer<? super T> observer);
 
+    /**
+     * Like {@link #observe(Observer)}, but returns a handle that unregisters the observer
+     * when disposed, so callers need not hold on to the observer itself.
+     * <p>
+     * An observer is only ever registered once, so disposing any handle for it unregisters it.
+     *
+     * @param observer The observer to register.
+     * @return A subscription that unregisters the observer.
+     */
+    @MainThread
+    default Subscription subscribe(@NonNull Observer<? super T> observer) {
+        observe(observer);
+        return Subscription.of(() -> removeObserver(observer));
+    }
+
+    /**
+     * Like {@link #subscribe(Observer)}, but the observer is unregistered automatically when
+     * the owner is destroyed. In a fragment, pass {@code getViewLifecycleOwner()} for
+     * observers that update views, so that they go away together with the view.
+     * <p>
+     * Unlike Android's LiveData.observe, the observer is notified whatever state the owner is
+     * in, until it is destroyed. If the owner is already destroyed, nothing is registered.
+     *
+     * @param owner    The owner whose lifecycle bounds the observation.
+     * @param observer The observer to register.
+     * @return A subscription that unregisters the observer early when disposed.
+     */
+    @MainThread
+    default Subscription observe(@NonNull LifecycleOwner owner, @NonNull Observer<? super T> observer) {
+        return LifecycleSubscription.bind(owner, () -> subscribe(observer));
+    }
+
     /**
      * Unregister an observer so that it will no longer be notified when the value changes.
      *
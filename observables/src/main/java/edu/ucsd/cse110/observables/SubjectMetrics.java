@@ -0,0 +1,154 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What {@link Instrumentation} has measured for one named subject: how often it emitted,
+ * and how long each of its observers took to handle a value.
+ * <p>
+ * Every observer has a histogram of its own, for as long as it is registered: observers
+ * are told apart by identity, not by class, so two lambdas from the same place in the code
+ * are still reported separately. Removing an observer drops its histogram.
+ */
+public final class SubjectMetrics {
+    private final String name;
+    private final LongAdder emissions = new LongAdder();
+    // By observer identity. Replaced rather than changed, under the lock, so delivering a
+    // value only reads it; observers come and go far less often than values
+    private volatile IdentityHashMap<Object, ObserverLatency> latencies = new IdentityHashMap<>();
+    // Numbers the observers in the order they were first seen, to tell their labels apart
+    private int observersSeen = 0;
+
+    private static final class ObserverLatency {
+        final String label;
+        final LatencyHistogram histogram;
+
+        ObserverLatency(String label, LatencyHistogram histogram) {
+            this.label = label;
+            this.histogram = histogram;
+        }
+    }
+
+    SubjectMetrics(@NonNull String name) {
+        this.name = name;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return How many values the subject delivered while instrumentation was enabled.
+     */
+    public long getEmissions() {
+        return emissions.sum();
+    }
+
+    /**
+     * @return The time spent in each registered observer per value, sorted by label: the
+     * observer's class, and a number that tells observers of the same class apart.
+     */
+    @NonNull
+    public Map<String, LatencyHistogram> getObserverLatencies() {
+        var byName = new TreeMap<String, LatencyHistogram>();
+        for (var latency : latencies.values()) {
+            byName.put(latency.label, latency.histogram);
+        }
+        return Collections.unmodifiableMap(byName);
+    }
+
+    /**
+     * Deliver a value to observers, timing each one. Allocates nothing once every observer
+     * has been seen before.
+     */
+    <T> void deliver(@NonNull Observer<? super T>[] observers, T value) {
+        emissions.increment();
+        for (var observer : observers) {
+            var histogram = latencyOf(observer);
+            long start = System.nanoTime();
+            try {
+                observer.onChanged(value);
+            } finally {
+                histogram.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Count one value delivered, for subjects outside this module, which time their own
+     * observers with {@link #recordLatency}.
+     */
+    public void recordEmission() {
+        emissions.increment();
+    }
+
+    /**
+     * Record how long an observer of a subject outside this module took to handle a value.
+     *
+     * @param observer The observer, of whatever type the subject takes.
+     * @param nanos    The time it took, in nanoseconds.
+     */
+    public void recordLatency(@NonNull Object observer, long nanos) {
+        latencyOf(observer).record(nanos);
+    }
+
+    /**
+     * Stop reporting an observer once it was removed from its subject, so that its histogram
+     * does not outlive it.
+     *
+     * @param observer The observer that was removed.
+     */
+    public synchronized void observerRemoved(@NonNull Object observer) {
+        if (!latencies.containsKey(observer)) return;
+        var next = new IdentityHashMap<>(latencies);
+        next.remove(observer);
+        latencies = next;
+    }
+
+    private LatencyHistogram latencyOf(Object observer) {
+        var latency = latencies.get(observer);
+        return latency != null ? latency.histogram : added(observer);
+    }
+
+    private synchronized LatencyHistogram added(Object observer) {
+        var latency = latencies.get(observer);
+        if (latency == null) {
+            var label = labelOf(observer.getClass()) + "#" + ++observersSeen;
+            latency = new ObserverLatency(label, new LatencyHistogram());
+            var next = new IdentityHashMap<>(latencies);
+            next.put(observer, latency);
+            latencies = next;
+        }
+        return latency.histogram;
+    }
+
+    SubjectMetrics copy() {
+        var copy = new SubjectMetrics(name);
+        copy.emissions.add(emissions.sum());
+        var latencies = new IdentityHashMap<Object, ObserverLatency>();
+        this.latencies.forEach((observer, latency) ->
+                latencies.put(observer, new ObserverLatency(latency.label, latency.histogram.copy())));
+        copy.latencies = latencies;
+        return copy;
+    }
+
+    void reset() {
+        emissions.reset();
+        latencies.values().forEach(latency -> latency.histogram.reset());
+    }
+
+    // A lambda's class is named after the class it was written in, plus a suffix that
+    // differs between runs; keep the readable part
+    private static String labelOf(Class<?> type) {
+        var label = type.getName();
+        int hidden = label.indexOf('/');
+        return hidden < 0 ? label : label.substring(0, hidden);
+    }
+}
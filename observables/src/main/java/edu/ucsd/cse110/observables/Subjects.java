@@ -0,0 +1,117 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+/**
+ * Utility methods that act on several subjects at once.
+ */
+public final class Subjects {
+    // The batch open on each thread, if any
+    private static final ThreadLocal<Batch> CURRENT = new ThreadLocal<>();
+
+    private Subjects() {
+    }
+
+    /**
+     * Run the given code with notifications held back. Inside the batch, {@code setValue}
+     * updates the value right away (so {@code getValue} sees it), but observers are only
+     * told once the outermost batch ends. Each subject that changed then notifies once,
+     * with its latest value, in the order it was first set. Observers therefore never see
+     * some subjects updated and others not yet.
+     * <p>
+     * Batches nest: an inner batch simply joins the outer one. Values set by observers
+     * while the batch is being delivered are batched as well and delivered in a following
+     * round, until nothing is left. Batches are per thread.
+     * <p>
+     * If the body throws, observers are still told about the values it set, and the
+     * body's exception is rethrown; should delivering fail as well, that failure is added
+     * to it as suppressed.
+     *
+     * @param body The updates to make.
+     */
+    @MainThread
+    public static void batch(@NonNull Runnable body) {
+        if (CURRENT.get() != null) {
+            // Nested: the outermost batch delivers
+            body.run();
+            return;
+        }
+
+        var batch = new Batch();
+        CURRENT.set(batch);
+        Throwable failure = null;
+        try {
+            body.run();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            // Values were already set, so observers hear about them even if the body threw
+            try {
+                batch.deliver();
+            } catch (RuntimeException | Error e) {
+                // The body's exception comes first; a failed delivery is attached to it
+                if (failure == null) throw e;
+                failure.addSuppressed(e);
+            } finally {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * @return True if the calling thread is inside {@link #batch(Runnable)}.
+     */
+    public static boolean isBatching() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Hold back the notification of a subject if a batch is open.
+     *
+     * @param subject The subject whose value just changed.
+     * @return True if the notification will be delivered when the batch ends.
+     */
+    static boolean defer(PlainMutableSubject<?> subject) {
+        var batch = CURRENT.get();
+        if (batch == null) return false;
+        if (!batch.pending.containsKey(subject)) batch.pending.put(subject, subject::notifyObservers);
+        return true;
+    }
+
+    /**
+     * Hold back the notification of a subject that is not from this module, if a batch is
+     * open, so that it takes part in the batch like the subjects here do.
+     *
+     * @param subject The subject whose value just changed. However often it changes, it is
+     *                notified once per round.
+     * @param notify  Tells the subject's observers about its latest value.
+     * @return True if {@code notify} will be run when the batch ends; false if there is no
+     * batch, and the subject should notify right away.
+     */
+    public static boolean defer(@NonNull Object subject, @NonNull Runnable notify) {
+        var batch = CURRENT.get();
+        if (batch == null) return false;
+        batch.pending.putIfAbsent(subject, notify);
+        return true;
+    }
+
+    private static final class Batch {
+        // Subjects do not override equals, so this is keyed by identity, and keeps order
+        final LinkedHashMap<Object, Runnable> pending = new LinkedHashMap<>();
+
+        void deliver() {
+            while (!pending.isEmpty()) {
+                var round = new ArrayList<>(pending.values());
+                pending.clear();
+                for (var notify : round) {
+                    notify.run();
+                }
+            }
+        }
+    }
+}
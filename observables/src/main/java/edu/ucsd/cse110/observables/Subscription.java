@@ -0,0 +1,45 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A handle to a registration, e.g. an observer on a subject or a source on a mediator.
+ * Disposing it undoes the registration right away, on the calling thread, instead of
+ * leaving it to the garbage collector.
+ */
+public interface Subscription {
+    /**
+     * Undo the registration. Disposing more than once has no further effect.
+     */
+    void dispose();
+
+    /**
+     * @return True once {@link #dispose()} has been called.
+     */
+    boolean isDisposed();
+
+    /**
+     * Create a subscription that runs the given teardown the first time it is disposed.
+     *
+     * @param teardown The code that undoes the registration.
+     * @return A new subscription.
+     */
+    static Subscription of(@NonNull Runnable teardown) {
+        var disposed = new AtomicBoolean(false);
+        return new Subscription() {
+            @Override
+            public void dispose() {
+                if (disposed.compareAndSet(false, true)) {
+                    teardown.run();
+                }
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return disposed.get();
+            }
+        };
+    }
+}
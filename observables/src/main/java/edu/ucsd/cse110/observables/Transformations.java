@@ -2,7 +2,14 @@ package edu.ucsd.cse110.observables;
 
 import androidx.annotation.Nullable;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Utility methods for working with subjects.
@@ -30,6 +37,246 @@ public class Transformations {
         return result;
     }
 
+    /**
+     * Returns a Subject that only emits when the source emits a value that is not equal
+     * (by {@link Object#equals}) to the last one it emitted. The first value always passes.
+     * <p>
+     * Useful in front of views that would otherwise redraw with the same content.
+     *
+     * @param subject The subject to filter.
+     * @param <T>     The type of the values of the subject.
+     * @return A new subject which skips consecutive duplicates.
+     */
+    public static <T> Subject<T> distinctUntilChanged(Subject<T> subject) {
+        var result = new PlainMediatorSubject<T>();
+        result.addSource(subject, value -> {
+            if (result.isInitialized() && Objects.equals(result.getValue(), value)) return;
+            result.setValue(value);
+        });
+        return result;
+    }
+
+    /**
+     * Returns a Subject that observes the source only while it has observers itself: it
+     * connects when the first observer is registered and disconnects when the last one is
+     * removed. Put it in front of a subject that is expensive to keep up to date, such as
+     * one backed by a database query, so that it costs nothing while nobody is watching.
+     * <p>
+     * On connecting, it catches up with the value the source holds, if it changed in the
+     * meantime, so the first observer is told about it. While disconnected, its value may
+     * be out of date.
+     *
+     * @param subject The subject to share.
+     * @param <T>     The type of the values of the subject.
+     * @return A new subject which follows the source while observed.
+     * @see PlainMediatorSubject#cold()
+     */
+    public static <T> Subject<T> refCount(Subject<T> subject) {
+        var result = PlainMediatorSubject.<T>cold();
+        result.addSource(subject, result::setValue);
+        return result;
+    }
+
+    /**
+     * Returns a Subject that only emits the values of the source that pass the predicate.
+     * Values that fail it are dropped, so the result keeps the last value that passed.
+     *
+     * @param subject   The subject to filter.
+     * @param predicate Returns true for the values to keep.
+     * @param <T>       The type of the values of the subject.
+     * @return A new subject which emits the values that pass.
+     */
+    public static <T> Subject<T> filter(Subject<T> subject, Predicate<? super T> predicate) {
+        var result = new PlainMediatorSubject<T>();
+        result.addSource(subject, value -> {
+            if (predicate.test(value)) result.setValue(value);
+        });
+        return result;
+    }
+
+    /**
+     * Returns a Subject that holds a running aggregate of the values of the source, e.g. a
+     * total or a count. It starts out holding {@code initial}, and each value of the source
+     * is folded into the current aggregate with the accumulator.
+     *
+     * @param subject     The subject to aggregate.
+     * @param initial     The aggregate before the source emits anything.
+     * @param accumulator Combines the current aggregate (first) with a new value (second).
+     * @param <T>         The type of the values of the source subject.
+     * @param <R>         The type of the aggregate.
+     * @return A new subject which emits the aggregate after each value.
+     */
+    public static <T, R> Subject<R> scan(Subject<T> subject, R initial,
+                                         BiFunction<? super R, ? super T, ? extends R> accumulator) {
+        var result = new PlainMediatorSubject<R>();
+        result.setValue(initial);
+        result.addSource(subject, value -> result.setValue(accumulator.apply(result.getValue(), value)));
+        return result;
+    }
+
+    /**
+     * Returns a Subject that holds {@code initial} until the source emits, and then follows
+     * the source. If the source already holds a value, the result starts with that instead,
+     * since a subject's value is its current state.
+     *
+     * @param subject The subject to follow.
+     * @param initial The value to hold until the source has one.
+     * @param <T>     The type of the values of the subject.
+     * @return A new, initialized subject.
+     */
+    public static <T> Subject<T> startWith(Subject<T> subject, T initial) {
+        var result = new PlainMediatorSubject<T>();
+        result.setValue(subject.isInitialized() ? subject.getValue() : initial);
+        result.addSource(subject, result::setValue);
+        return result;
+    }
+
+    /**
+     * Returns a Subject that combines the latest values of two sources. It emits whenever
+     * either one changes, once both hold a value (which may already be the case when this
+     * is called). The current values are read from the sources themselves, so within a
+     * {@link Subjects#batch(Runnable)} the combiner sees both updates together.
+     * <p>
+     * No allocation happens per emission beyond what the combiner does.
+     *
+     * @param first    The first source.
+     * @param second   The second source.
+     * @param combiner Makes the result from the latest value of each source.
+     * @param <A>      The type of the values of the first source.
+     * @param <B>      The type of the values of the second source.
+     * @param <R>      The type of the values of the result subject.
+     * @return A new subject which emits the combined values.
+     */
+    public static <A, B, R> Subject<R> combineLatest(Subject<A> first, Subject<B> second,
+                                                     BiFunction<? super A, ? super B, ? extends R> combiner) {
+        var result = new PlainMediatorSubject<R>();
+        Runnable combine = () -> {
+            if (!first.isInitialized() || !second.isInitialized()) return;
+            result.setValue(combiner.apply(first.getValue(), second.getValue()));
+        };
+        result.addSource(first, value -> combine.run());
+        result.addSource(second, value -> combine.run());
+        combine.run();
+        return result;
+    }
+
+    /**
+     * Like {@link #combineLatest(Subject, Subject, BiFunction)}, but for any number of sources
+     * of the same type.
+     * <p>
+     * The combiner is handed a read-only view of the latest values, in the order of the
+     * sources. The view is reused for every emission to avoid allocating, so the combiner
+     * must copy it if it wants to keep it.
+     *
+     * @param sources  The sources to combine.
+     * @param combiner Makes the result from the latest value of each source.
+     * @param <T>      The type of the values of the sources.
+     * @param <R>      The type of the values of the result subject.
+     * @return A new subject which emits the combined values.
+     */
+    public static <T, R> Subject<R> combineLatest(List<? extends Subject<? extends T>> sources,
+                                                  Function<? super List<T>, ? extends R> combiner) {
+        var result = new PlainMediatorSubject<R>();
+        var inputs = List.copyOf(sources);
+        var latest = new Object[inputs.size()];
+        @SuppressWarnings("unchecked")
+        var view = (List<T>) Collections.unmodifiableList(Arrays.asList(latest));
+
+        Runnable combine = () -> {
+            for (int i = 0; i < latest.length; i++) {
+                var source = inputs.get(i);
+                if (!source.isInitialized()) return;
+                latest[i] = source.getValue();
+            }
+            result.setValue(combiner.apply(view));
+        };
+        for (var source : inputs) {
+            result.addSource(source, value -> combine.run());
+        }
+        combine.run();
+        return result;
+    }
+
+    /**
+     * Returns a Subject that emits the latest value of the source once the source has been
+     * quiet for the given time, e.g. to save text only when the user stops typing. A burst
+     * of values yields a single emission, of the last one.
+     * <p>
+     * A burst keeps a single task on the scheduler, which is pushed back when it comes due
+     * early, instead of cancelling and scheduling a task for every value. Values are emitted
+     * from the scheduler's tasks.
+     *
+     * @param subject     The subject to debounce.
+     * @param quietMillis How long the source must be quiet before its value is emitted.
+     * @param scheduler   Where to wait.
+     * @param <T>         The type of the values of the subject.
+     * @return A new subject which emits the settled values.
+     */
+    public static <T> Subject<T> debounce(Subject<T> subject, long quietMillis, Scheduler scheduler) {
+        var result = new PlainMediatorSubject<T>();
+        result.addSource(subject, new Debounce<>(result, quietMillis, scheduler));
+        return result;
+    }
+
+    /**
+     * Returns a Subject that emits at most once per period. The first value is emitted right
+     * away; values that arrive within the period are held back, and only the latest of them
+     * is emitted when the period ends. Unlike {@link #debounce}, a steady stream of values
+     * still gets through at a regular pace, and the final value is never lost.
+     *
+     * @param subject      The subject to throttle.
+     * @param periodMillis The minimum time between two emissions.
+     * @param scheduler    Where to wait.
+     * @param <T>          The type of the values of the subject.
+     * @return A new subject which emits at most once per period.
+     */
+    public static <T> Subject<T> throttleLatest(Subject<T> subject, long periodMillis, Scheduler scheduler) {
+        var result = new PlainMediatorSubject<T>();
+        result.addSource(subject, new ThrottleLatest<>(result, periodMillis, scheduler));
+        return result;
+    }
+
+    /**
+     * Returns a Subject that re-emits the values of the source on the given executor, e.g.
+     * the main thread. Values are conflated: if the executor is slow to get to them, the
+     * observers only see the newest value, and nothing queues up in between. The last value
+     * the source emits is always delivered last.
+     *
+     * @param subject  The subject to move.
+     * @param executor Where to deliver the values.
+     * @param <T>      The type of the values of the subject.
+     * @return A new subject which emits on the executor.
+     */
+    public static <T> Subject<T> observeOn(Subject<T> subject, Executor executor) {
+        var result = new PlainMediatorSubject<T>();
+        result.addSource(subject, new ConflatingObserver<>(executor, result::setValue));
+        return result;
+    }
+
+    /**
+     * Like {@link #map(Subject, Function)}, but the transformation runs on a worker executor
+     * and the results are delivered on another one, e.g. the main thread. Both steps are
+     * conflated as in {@link #observeOn(Subject, Executor)}: values that are superseded
+     * before the worker gets to them are never transformed, and the result of the latest
+     * value is always the last one delivered.
+     *
+     * @param subject        The subject to map.
+     * @param transformation The function to map the subject with. Runs on the worker.
+     * @param worker         Where to run the transformation.
+     * @param delivery       Where to deliver the results.
+     * @param <T>            The type of the values of source subject.
+     * @param <R>            The type of the values of the result subject.
+     * @return A new subject which emits the transformed values on the delivery executor.
+     */
+    public static <T, R> Subject<R> mapAsync(Subject<T> subject, Function<T, R> transformation,
+                                             Executor worker, Executor delivery) {
+        var result = new PlainMediatorSubject<R>();
+        var deliver = new ConflatingObserver<R>(delivery, result::setValue);
+        result.addSource(subject, new ConflatingObserver<T>(worker,
+                value -> deliver.onChanged(transformation.apply(value))));
+        return result;
+    }
+
     /**
      * Advanced fancy transformation. Returns a new {@link Subject} that "switches"
      * to different {@link Subject}s depending on a trigger {@link Subject}.
@@ -51,6 +298,8 @@ public class Transformations {
         result.addSource(trigger, new Observer<T>() {
             @Nullable
             Subject<R> currentSource = null;
+            @Nullable
+            Subscription currentSubscription = null;
 
             @Override
             public void onChanged(@Nullable T value) {
@@ -58,15 +307,111 @@ public class Transformations {
 
                 if (switchedTo.equals(currentSource)) {
                     return; // optimization: do nothing
-                } else {
-                    result.removeSource(currentSource);
+                } else if (currentSubscription != null) {
+                    // Stop listening to the old source now, not when it is collected
+                    currentSubscription.dispose();
                 }
 
                 this.currentSource = switchedTo;
-                result.addSource(currentSource, result::setValue);
+                this.currentSubscription = result.addSource(currentSource, result::setValue);
             }
         });
 
         return result;
     }
+
+    // Keeps the latest value and a single pending task; see debounce
+    private static final class Debounce<T> implements Observer<T>, Runnable {
+        private final MutableSubject<T> result;
+        private final long quietMillis;
+        private final Scheduler scheduler;
+
+        @Nullable
+        private T latest;
+        private long dueAt;
+        private boolean isScheduled = false;
+
+        Debounce(MutableSubject<T> result, long quietMillis, Scheduler scheduler) {
+            this.result = result;
+            this.quietMillis = quietMillis;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void onChanged(@Nullable T value) {
+            synchronized (this) {
+                latest = value;
+                dueAt = scheduler.nowMillis() + quietMillis;
+                if (isScheduled) return;
+                isScheduled = true;
+            }
+            scheduler.schedule(this, quietMillis);
+        }
+
+        @Override
+        public void run() {
+            T value;
+            synchronized (this) {
+                long remaining = dueAt - scheduler.nowMillis();
+                if (remaining > 0) {
+                    // More values came in since this was scheduled; wait for the rest of the quiet
+                    scheduler.schedule(this, remaining);
+                    return;
+                }
+                isScheduled = false;
+                value = latest;
+                latest = null;
+            }
+            result.setValue(value);
+        }
+    }
+
+    // Emits straight away when no period is running, else holds the latest value for its end
+    private static final class ThrottleLatest<T> implements Observer<T>, Runnable {
+        private final MutableSubject<T> result;
+        private final long periodMillis;
+        private final Scheduler scheduler;
+
+        @Nullable
+        private T pending;
+        private boolean hasPending = false;
+        private boolean inPeriod = false;
+
+        ThrottleLatest(MutableSubject<T> result, long periodMillis, Scheduler scheduler) {
+            this.result = result;
+            this.periodMillis = periodMillis;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void onChanged(@Nullable T value) {
+            synchronized (this) {
+                if (inPeriod) {
+                    pending = value;
+                    hasPending = true;
+                    return;
+                }
+                inPeriod = true;
+            }
+            scheduler.schedule(this, periodMillis);
+            result.setValue(value);
+        }
+
+        @Override
+        public void run() {
+            T value;
+            synchronized (this) {
+                if (!hasPending) {
+                    inPeriod = false;
+                    return;
+                }
+                value = pending;
+                pending = null;
+                hasPending = false;
+            }
+            // The emission starts a new period
+            scheduler.schedule(this, periodMillis);
+            result.setValue(value);
+        }
+    }
 }
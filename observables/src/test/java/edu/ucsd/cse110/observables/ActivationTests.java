@@ -0,0 +1,202 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+@DisplayName("Subject Activation")
+public class ActivationTests {
+    // Records when it becomes active and inactive
+    static class RecordingSubject extends PlainMutableSubject<String> {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        protected void onActive() {
+            events.add("active");
+        }
+
+        @Override
+        protected void onInactive() {
+            events.add("inactive");
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a subject with activation hooks")
+    class GivenHooks {
+        RecordingSubject subject = new RecordingSubject();
+        Observer<String> first = value -> {
+        };
+        Observer<String> second = value -> {
+        };
+
+        @Test
+        @DisplayName("Then it becomes active with the first observer only")
+        void ThenActiveOnFirstObserver() {
+            subject.observe(first);
+            subject.observe(second);
+            subject.observe(first);
+
+            assertThat(subject.events, contains("active"));
+        }
+
+        @Test
+        @DisplayName("Then it becomes inactive when the last observer leaves")
+        void ThenInactiveOnLastObserver() {
+            subject.observe(first);
+            subject.observe(second);
+
+            subject.removeObserver(first);
+            assertThat(subject.events, contains("active"));
+
+            subject.removeObserver(second);
+            subject.removeObserver(second);
+            assertThat(subject.events, contains("active", "inactive"));
+        }
+
+        @Test
+        @DisplayName("Then removing all observers makes it inactive once")
+        void ThenRemoveObserversDeactivates() {
+            subject.observe(first);
+            subject.observe(second);
+
+            subject.removeObservers();
+            subject.removeObservers();
+
+            assertThat(subject.events, contains("active", "inactive"));
+        }
+
+        @Test
+        @DisplayName("Then it activates again for a new observer")
+        void ThenReactivates() {
+            var subscription = subject.subscribe(first);
+            subscription.dispose();
+            subject.observe(second);
+
+            assertThat(subject.events, contains("active", "inactive", "active"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a ref-counted subject")
+    class GivenRefCount {
+        RecordingSubject upstream = new RecordingSubject();
+        Subject<String> shared = Transformations.refCount(upstream);
+        List<String> seen = new ArrayList<>();
+
+        @Test
+        @DisplayName("Then the upstream is not observed until it is")
+        void ThenUpstreamIdleWithoutObservers() {
+            upstream.setValue("ignored");
+
+            assertThat(upstream.hasObservers(), is(false));
+            assertThat(upstream.events, is(empty()));
+        }
+
+        @Test
+        @DisplayName("Then it connects on the first observer and disconnects on the last")
+        void ThenConnectsWhileObserved() {
+            var a = shared.subscribe(seen::add);
+            var b = shared.subscribe(value -> {
+            });
+            assertThat(upstream.getObservers().size(), is(1));
+
+            upstream.setValue("live");
+            a.dispose();
+            assertThat(upstream.hasObservers(), is(true));
+
+            b.dispose();
+            upstream.setValue("unseen");
+
+            assertThat(upstream.events, contains("active", "inactive"));
+            assertThat(seen, contains("live"));
+        }
+
+        @Test
+        @DisplayName("Then it catches up with changes made while disconnected")
+        void ThenCatchesUp() {
+            upstream.setValue("before");
+            var subscription = shared.subscribe(seen::add);
+            assertThat(shared.getValue(), is("before"));
+
+            subscription.dispose();
+            upstream.setValue("while away");
+            shared.subscribe(seen::add);
+
+            assertThat(seen, contains("before", "while away"));
+        }
+
+        @Test
+        @DisplayName("Then reconnecting without changes does not repeat the value")
+        void ThenNoRepeatWithoutChanges() {
+            upstream.setValue("same");
+            shared.subscribe(seen::add).dispose();
+            shared.subscribe(seen::add);
+
+            assertThat(seen, contains("same"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a cold mediator")
+    class GivenColdMediator {
+        RecordingSubject upstream = new RecordingSubject();
+        PlainMediatorSubject<Integer> lengths = PlainMediatorSubject.cold();
+        int[] calls = {0};
+
+        GivenColdMediator() {
+            lengths.addSource(upstream, value -> {
+                calls[0]++;
+                lengths.setValue(value.length());
+            });
+        }
+
+        @Test
+        @DisplayName("Then its sources do no work until it is observed")
+        void ThenSourcesIdle() {
+            upstream.setValue("abc");
+            upstream.setValue("abcd");
+
+            assertThat(upstream.hasObservers(), is(false));
+            assertThat(calls[0], is(0));
+            assertThat(lengths.getSourceSubjects(), contains(upstream));
+        }
+
+        @Test
+        @DisplayName("Then observing it connects and computes the current value once")
+        void ThenConnectsAndCatchesUp() {
+            upstream.setValue("abc");
+            upstream.setValue("abcd");
+
+            var subscription = lengths.subscribe(value -> {
+            });
+
+            assertThat(lengths.getValue(), is(4));
+            assertThat(calls[0], is(1));
+
+            subscription.dispose();
+            assertThat(upstream.hasObservers(), is(false));
+        }
+
+        @Test
+        @DisplayName("Then a source added while observed is connected right away")
+        void ThenLateSourceConnects() {
+            lengths.subscribe(value -> {
+            });
+            var late = new PlainMutableSubject<>("hello");
+
+            lengths.addSource(late, value -> lengths.setValue(value.length()));
+
+            assertThat(late.hasObservers(), is(true));
+            assertThat(lengths.getValue(), is(5));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+@DisplayName("Subject Allocation")
+class AllocationTests {
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 100_000;
+
+    // Bytes allocated by this thread so far, as counted by the JVM
+    private static long allocatedBytes() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Nested
+    @DisplayName("Given an observed subject in steady state")
+    class GivenObservedSubject {
+        MutableSubject<String> subject = new PlainMutableSubject<>("initial");
+        String[] values = {"a", "b", "c"};
+        int[] deliveries = {0};
+
+        @Test
+        @DisplayName("Then setValue allocates nothing")
+        void ThenSetValueAllocatesNothing() {
+            subject.observe(value -> deliveries[0]++);
+            subject.observe(value -> deliveries[0]++);
+            for (int i = 0; i < WARMUP; i++) {
+                subject.setValue(values[i % values.length]);
+            }
+
+            long before = allocatedBytes();
+            for (int i = 0; i < ITERATIONS; i++) {
+                subject.setValue(values[i % values.length]);
+            }
+            long allocated = allocatedBytes() - before;
+
+            assertThat(deliveries[0], is(2 * (WARMUP + ITERATIONS)));
+            // Less than one byte per call means no allocation on the path at all;
+            // the slack covers the measurement itself.
+            assertThat(allocated, lessThan((long) ITERATIONS));
+        }
+
+        @Test
+        @DisplayName("Then setValue allocates nothing while instrumented")
+        void ThenInstrumentedSetValueAllocatesNothing() {
+            Instrumentation.named("allocation", (PlainMutableSubject<String>) subject);
+            subject.observe(value -> deliveries[0]++);
+            Instrumentation.setEnabled(true);
+            try {
+                for (int i = 0; i < WARMUP; i++) {
+                    subject.setValue(values[i % values.length]);
+                }
+
+                long before = allocatedBytes();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    subject.setValue(values[i % values.length]);
+                }
+                long allocated = allocatedBytes() - before;
+
+                assertThat(deliveries[0], is(WARMUP + ITERATIONS));
+                assertThat(allocated, lessThan((long) ITERATIONS));
+            } finally {
+                Instrumentation.setEnabled(false);
+            }
+        }
+
+        @Test
+        @DisplayName("Then getValue and isInitialized allocate nothing")
+        void ThenReadsAllocateNothing() {
+            int initialized = 0;
+            for (int i = 0; i < WARMUP; i++) {
+                if (subject.isInitialized() && subject.getValue() != null) initialized++;
+            }
+
+            long before = allocatedBytes();
+            for (int i = 0; i < ITERATIONS; i++) {
+                if (subject.isInitialized() && subject.getValue() != null) initialized++;
+            }
+            long allocated = allocatedBytes() - before;
+
+            assertThat(initialized, is(WARMUP + ITERATIONS));
+            assertThat(allocated, lessThan((long) ITERATIONS));
+        }
+    }
+}
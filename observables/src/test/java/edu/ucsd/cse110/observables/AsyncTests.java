@@ -0,0 +1,234 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+@DisplayName("Asynchronous Delivery")
+class AsyncTests {
+    // An executor that only runs what it was given when asked to
+    static class ManualExecutor implements Executor {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a subject observed on another executor")
+    class GivenObserveOn {
+        MutableSubject<Integer> source = new PlainMutableSubject<>();
+        ManualExecutor executor = new ManualExecutor();
+        Subject<Integer> moved = Transformations.observeOn(source, executor);
+        List<Integer> seen = new ArrayList<>();
+
+        GivenObserveOn() {
+            moved.observe(seen::add);
+        }
+
+        @Test
+        @DisplayName("Then nothing is delivered until the executor runs")
+        void ThenDeliveryWaitsForExecutor() {
+            source.setValue(1);
+            assertThat(seen, is(empty()));
+
+            executor.runAll();
+            assertThat(seen, contains(1));
+        }
+
+        @Test
+        @DisplayName("Then a burst of values is conflated to the newest one")
+        void ThenBurstIsConflated() {
+            for (int i = 1; i <= 1000; i++) {
+                source.setValue(i);
+            }
+
+            // One task, not a thousand
+            assertThat(executor.tasks.size(), is(1));
+            executor.runAll();
+            assertThat(seen, contains(1000));
+        }
+
+        @Test
+        @DisplayName("Then values set after a delivery are delivered too")
+        void ThenLaterValuesAreDelivered() {
+            source.setValue(1);
+            executor.runAll();
+            source.setValue(2);
+            source.setValue(3);
+            executor.runAll();
+
+            assertThat(seen, contains(1, 3));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a slow consumer on a real thread")
+    class GivenSlowConsumer {
+        @Test
+        @DisplayName("Then it skips to the newest value and sees the last one last")
+        void ThenSlowConsumerSeesLatest() throws InterruptedException {
+            var executor = Executors.newSingleThreadExecutor();
+            var source = new PlainMutableSubject<Integer>();
+            var moved = Transformations.observeOn(source, executor);
+
+            var blocked = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+            var done = new CountDownLatch(1);
+            var seen = new ArrayList<Integer>();
+            moved.observe(value -> {
+                if (value == 0) {
+                    blocked.countDown();
+                    await(release);
+                }
+                seen.add(value);
+                if (value == 10_000) done.countDown();
+            });
+
+            // The consumer is stuck on the first value while 10,000 more arrive
+            source.setValue(0);
+            assertThat(blocked.await(5, TimeUnit.SECONDS), is(true));
+            for (int i = 1; i <= 10_000; i++) {
+                source.setValue(i);
+            }
+            release.countDown();
+
+            assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+            executor.shutdown();
+            assertThat(seen, contains(0, 10_000));
+        }
+
+        @Test
+        @DisplayName("Then a thread pool never delivers out of order or concurrently")
+        void ThenPoolKeepsOrder() throws InterruptedException {
+            var executor = Executors.newFixedThreadPool(4);
+            var source = new PlainMutableSubject<Integer>();
+            var moved = Transformations.observeOn(source, executor);
+
+            var inConsumer = new AtomicBoolean(false);
+            var overlaps = new AtomicInteger();
+            var outOfOrder = new AtomicInteger();
+            var last = new AtomicInteger(-1);
+            var done = new CountDownLatch(1);
+            moved.observe(value -> {
+                if (!inConsumer.compareAndSet(false, true)) overlaps.incrementAndGet();
+                if (value <= last.get()) outOfOrder.incrementAndGet();
+                last.set(value);
+                inConsumer.set(false);
+                if (value == 100_000) done.countDown();
+            });
+
+            for (int i = 0; i <= 100_000; i++) {
+                source.setValue(i);
+            }
+
+            assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+            executor.shutdown();
+            assertThat(overlaps.get(), is(0));
+            assertThat(outOfOrder.get(), is(0));
+            assertThat(last.get(), is(100_000));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a subject mapped on a worker")
+    class GivenMapAsync {
+        MutableSubject<String> source = new PlainMutableSubject<>();
+        ManualExecutor worker = new ManualExecutor();
+        ManualExecutor main = new ManualExecutor();
+        AtomicInteger transforms = new AtomicInteger();
+        Subject<Integer> lengths = Transformations.mapAsync(source, value -> {
+            transforms.incrementAndGet();
+            return value.length();
+        }, worker, main);
+        List<Integer> seen = new ArrayList<>();
+
+        GivenMapAsync() {
+            lengths.observe(seen::add);
+        }
+
+        @Test
+        @DisplayName("Then the transformation runs on the worker and results arrive on delivery")
+        void ThenStepsRunOnTheirExecutors() {
+            source.setValue("hello");
+            assertThat(transforms.get(), is(0));
+
+            worker.runAll();
+            assertThat(transforms.get(), is(1));
+            assertThat(seen, is(empty()));
+
+            main.runAll();
+            assertThat(seen, contains(5));
+        }
+
+        @Test
+        @DisplayName("Then superseded values are never transformed")
+        void ThenSupersededValuesAreSkipped() {
+            source.setValue("a");
+            source.setValue("bb");
+            source.setValue("ccc");
+            worker.runAll();
+            main.runAll();
+
+            assertThat(transforms.get(), is(1));
+            assertThat(seen, contains(3));
+        }
+
+        @Test
+        @DisplayName("Then the work happens off the calling thread with a real worker")
+        void ThenWorkerThreadIsUsed() throws InterruptedException {
+            var pool = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "mapper"));
+            var threads = new ArrayList<String>();
+            var done = new CountDownLatch(1);
+            var mapped = Transformations.mapAsync(source, value -> {
+                synchronized (threads) {
+                    threads.add(Thread.currentThread().getName());
+                }
+                return value.length();
+            }, pool, Runnable::run);
+            mapped.observe(value -> {
+                if (value != null && value == 4) done.countDown();
+            });
+
+            source.setValue("done");
+            assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+            pool.shutdown();
+
+            synchronized (threads) {
+                assertThat(threads, contains("mapper"));
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
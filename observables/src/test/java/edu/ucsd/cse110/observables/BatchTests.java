@@ -0,0 +1,175 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Batched Updates")
+class BatchTests {
+    @Nested
+    @DisplayName("Given several observed subjects")
+    class GivenSubjects {
+        MutableSubject<String> goal = new PlainMutableSubject<>();
+        MutableSubject<Boolean> paused = new PlainMutableSubject<>();
+        MutableSubject<String> elapsed = new PlainMutableSubject<>();
+        List<String> log = new ArrayList<>();
+
+        GivenSubjects() {
+            goal.observe(value -> log.add("goal=" + value));
+            paused.observe(value -> log.add("paused=" + value));
+            elapsed.observe(value -> log.add("elapsed=" + value));
+        }
+
+        @Nested
+        @DisplayName("When they are set inside a batch")
+        class WhenBatched {
+            @Test
+            @DisplayName("Then nobody is notified until the batch ends")
+            void ThenNotificationsAreDeferred() {
+                Subjects.batch(() -> {
+                    goal.setValue("60");
+                    paused.setValue(false);
+                    assertThat(log, is(empty()));
+                    // The values themselves are visible right away
+                    assertThat(goal.getValue(), is("60"));
+                    assertThat(Subjects.isBatching(), is(true));
+                });
+
+                assertThat(log, contains("goal=60", "paused=false"));
+                assertThat(Subjects.isBatching(), is(false));
+            }
+
+            @Test
+            @DisplayName("Then each subject notifies once with its latest value")
+            void ThenEachSubjectNotifiesOnce() {
+                Subjects.batch(() -> {
+                    elapsed.setValue("1");
+                    goal.setValue("60");
+                    elapsed.setValue("2");
+                    elapsed.setValue("3");
+                });
+
+                assertThat(log, contains("elapsed=3", "goal=60"));
+            }
+
+            @Test
+            @DisplayName("Then every observer sees all the new values together")
+            void ThenObserversSeeConsistentState() {
+                var seen = new ArrayList<String>();
+                goal.observe(value -> seen.add(value + "/" + paused.getValue()));
+
+                Subjects.batch(() -> {
+                    goal.setValue("90");
+                    paused.setValue(true);
+                });
+
+                assertThat(seen, contains("90/true"));
+            }
+
+            @Test
+            @DisplayName("Then observers are still notified if the batch throws")
+            void ThenThrowingBatchStillDelivers() {
+                assertThrows(IllegalStateException.class, () -> Subjects.batch(() -> {
+                    goal.setValue("30");
+                    throw new IllegalStateException();
+                }));
+
+                assertThat(log, contains("goal=30"));
+                assertThat(Subjects.isBatching(), is(false));
+            }
+
+            @Test
+            @DisplayName("Then a failed delivery is attached to the batch's own failure")
+            void ThenDeliveryFailureIsSuppressed() {
+                var delivery = new IllegalArgumentException();
+                paused.observe(value -> {
+                    if (Boolean.TRUE.equals(value)) throw delivery;
+                });
+
+                var thrown = assertThrows(IllegalStateException.class, () -> Subjects.batch(() -> {
+                    paused.setValue(true);
+                    throw new IllegalStateException();
+                }));
+
+                assertThat(List.of(thrown.getSuppressed()), contains(delivery));
+                assertThat(Subjects.isBatching(), is(false));
+            }
+        }
+
+        @Nested
+        @DisplayName("When batches are nested")
+        class WhenNested {
+            @Test
+            @DisplayName("Then only the outermost batch delivers")
+            void ThenOutermostDelivers() {
+                Subjects.batch(() -> {
+                    goal.setValue("60");
+                    Subjects.batch(() -> {
+                        paused.setValue(true);
+                        goal.setValue("75");
+                    });
+                    assertThat(log, is(empty()));
+                    elapsed.setValue("4");
+                });
+
+                assertThat(log, contains("goal=75", "paused=true", "elapsed=4"));
+            }
+        }
+
+        @Nested
+        @DisplayName("When an observer sets a subject during delivery")
+        class WhenReentrant {
+            @Test
+            @DisplayName("Then that update is delivered in a following round")
+            void ThenReentrantSetIsDelivered() {
+                // Pausing resets the elapsed display
+                paused.observe(value -> {
+                    if (Boolean.TRUE.equals(value)) elapsed.setValue("paused");
+                });
+
+                Subjects.batch(() -> {
+                    elapsed.setValue("5");
+                    paused.setValue(true);
+                });
+
+                assertThat(log, contains("elapsed=5", "paused=true", "elapsed=paused"));
+            }
+
+            @Test
+            @DisplayName("Then a batch opened by an observer joins the delivery")
+            void ThenObserverBatchJoins() {
+                paused.observe(value -> Subjects.batch(() -> {
+                    goal.setValue("none");
+                    elapsed.setValue("-");
+                }));
+
+                Subjects.batch(() -> paused.setValue(true));
+
+                assertThat(log, contains("paused=true", "goal=none", "elapsed=-"));
+            }
+
+            @Test
+            @DisplayName("Then a derived subject updates in the same batch")
+            void ThenMappedSubjectsFollow() {
+                var label = Transformations.map(paused, value -> value ? "Resume" : "Pause");
+                label.observe(value -> log.add("label=" + value));
+
+                Subjects.batch(() -> {
+                    paused.setValue(true);
+                    goal.setValue("60");
+                });
+
+                assertThat(log, contains("paused=true", "goal=60", "label=Resume"));
+            }
+        }
+    }
+}
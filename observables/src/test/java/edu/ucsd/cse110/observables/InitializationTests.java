@@ -44,7 +44,19 @@ class InitializationTests {
         void ThenItHasThatValue() {
             assertThat(subject.getValue(), is("Hello World!"));
         }
+    }
 
+    @Nested
+    @DisplayName("Given a subject explicitly set to null")
+    class GivenSubjectSetToNull {
+        MutableSubject<String> subject = new PlainMutableSubject<>();
 
+        @Test
+        @DisplayName("Then it is explicitly initialized with a null value")
+        void ThenItIsInitialized() {
+            subject.setValue(null);
+            assertThat(subject.isInitialized(), is(true));
+            assertThat(subject.getValue(), is(nullValue()));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,214 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Instrumentation")
+public class InstrumentationTests {
+    // Metrics are global, so every test uses names of its own
+    static SubjectMetrics metricsOf(String name) {
+        return Instrumentation.snapshot().stream()
+                .filter(metrics -> metrics.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Nested
+    @DisplayName("Given a latency histogram")
+    class GivenHistogram {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        @Test
+        @DisplayName("Then percentiles are accurate to within a bucket")
+        void ThenPercentilesWithinBucket() {
+            for (long nanos = 1; nanos <= 10_000; nanos++) {
+                histogram.record(nanos * 1_000);
+            }
+
+            assertThat(histogram.getCount(), is(10_000L));
+            assertThat(histogram.getMaxNanos(), is(10_000_000L));
+            assertThat(histogram.getMeanNanos(), is(5_000_500.0));
+            assertWithin(histogram.getPercentileNanos(50), 5_000_000);
+            assertWithin(histogram.getPercentileNanos(99), 9_900_000);
+            assertThat(histogram.getPercentileNanos(100), is(10_000_000L));
+        }
+
+        @Test
+        @DisplayName("Then every value falls in a bucket that contains it")
+        void ThenBucketsContainValues() {
+            for (long nanos = 0; nanos < 100_000; nanos += 7) {
+                int bucket = LatencyHistogram.bucketOf(nanos);
+                assertThat(LatencyHistogram.highestInBucket(bucket), greaterThanOrEqualTo(nanos));
+                if (bucket > 0) {
+                    assertThat(LatencyHistogram.highestInBucket(bucket - 1), lessThan(nanos));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Then very long durations are clamped to the last bucket")
+        void ThenLongDurationsClamp() {
+            histogram.record(Long.MAX_VALUE);
+
+            assertThat(histogram.getCount(), is(1L));
+            assertThat(histogram.getPercentileNanos(50), is(Long.MAX_VALUE));
+        }
+
+        @Test
+        @DisplayName("Then a copy does not see later recordings")
+        void ThenCopyIsFrozen() {
+            histogram.record(100);
+            var copy = histogram.copy();
+
+            histogram.record(200);
+            histogram.reset();
+
+            assertThat(copy.getCount(), is(1L));
+            assertThat(histogram.getCount(), is(0L));
+        }
+
+        void assertWithin(long actual, long expected) {
+            // Buckets are at most 1/8 wide relative to their values
+            assertThat(actual, greaterThanOrEqualTo(expected));
+            assertThat((double) actual, lessThan(expected * 1.125));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a named subject")
+    class GivenNamedSubject {
+        PlainMutableSubject<Integer> subject = Instrumentation.named("counter", new PlainMutableSubject<>());
+        Observer<Integer> fast = value -> {
+        };
+        Observer<Integer> slow = value -> {
+            long until = System.nanoTime() + 200_000;
+            while (System.nanoTime() < until) Thread.onSpinWait();
+        };
+
+        @AfterEach
+        void disable() {
+            Instrumentation.setEnabled(false);
+        }
+
+        @Test
+        @DisplayName("Then nothing is recorded while instrumentation is disabled")
+        void ThenDisabledRecordsNothing() {
+            Instrumentation.reset();
+            subject.observe(fast);
+
+            subject.setValue(1);
+
+            assertThat(metricsOf("counter").getEmissions(), is(0L));
+        }
+
+        @Test
+        @DisplayName("Then emissions and per-observer latencies are recorded while enabled")
+        void ThenEnabledRecords() {
+            Instrumentation.reset();
+            subject.observe(fast);
+            subject.observe(slow);
+            Instrumentation.setEnabled(true);
+
+            for (int i = 0; i < 10; i++) subject.setValue(i);
+
+            var metrics = metricsOf("counter");
+            assertThat(metrics.getEmissions(), is(10L));
+            var latencies = List.copyOf(metrics.getObserverLatencies().values());
+            assertThat(latencies, hasSize(2));
+            var slowest = Math.max(latencies.get(0).getPercentileNanos(50), latencies.get(1).getPercentileNanos(50));
+            assertThat(slowest, greaterThanOrEqualTo(200_000L));
+            assertThat(Instrumentation.dump(), containsString("counter: 10 emissions"));
+        }
+
+        @Test
+        @DisplayName("Then observers from one place in the code each get a histogram")
+        void ThenEachObserverIsReportedApart() {
+            var subject = Instrumentation.named("perView", new PlainMutableSubject<Integer>());
+            var seen = new int[5];
+            for (int i = 0; i < 5; i++) {
+                int view = i;
+                subject.observe(value -> seen[view]++);
+            }
+            Instrumentation.setEnabled(true);
+
+            subject.setValue(1);
+
+            var latencies = metricsOf("perView").getObserverLatencies();
+            assertThat(latencies.size(), is(5));
+            for (var histogram : latencies.values()) {
+                assertThat(histogram.getCount(), is(1L));
+            }
+        }
+
+        @Test
+        @DisplayName("Then a removed observer is no longer reported")
+        void ThenRemovedObserversAreDropped() {
+            var subject = Instrumentation.named("removed", new PlainMutableSubject<Integer>());
+            Observer<Integer> other = value -> {
+            };
+            subject.observe(fast);
+            subject.observe(other);
+            Instrumentation.setEnabled(true);
+            subject.setValue(1);
+
+            subject.removeObserver(fast);
+
+            assertThat(metricsOf("removed").getObserverLatencies().size(), is(1));
+
+            subject.removeObservers();
+
+            assertThat(metricsOf("removed").getObserverLatencies().size(), is(0));
+        }
+
+        @Test
+        @DisplayName("Then a list subject can be named too, but not any subject")
+        void ThenOnlyKnownSubjects() {
+            var list = Instrumentation.named("list", new ListSubject<Integer>(value -> value));
+            list.observe(diff -> {
+            });
+            Instrumentation.setEnabled(true);
+
+            list.setList(List.of(1, 2));
+
+            assertThat(metricsOf("list").getEmissions(), is(1L));
+            assertThrows(IllegalArgumentException.class, () -> Instrumentation.named("other", new Subject<Integer>() {
+                public Integer getValue() { return null; }
+                public boolean hasObservers() { return false; }
+                public boolean isInitialized() { return false; }
+                public Observer<? super Integer> observe(Observer<? super Integer> observer) { return observer; }
+                public void removeObserver(Observer<? super Integer> observer) { }
+                public void removeObservers() { }
+                public List<Observer<? super Integer>> getObservers() { return List.of(); }
+            }));
+        }
+
+        @Test
+        @DisplayName("Then other subjects can record under a name of their own")
+        void ThenOtherSubjectsRecordThroughMetrics() {
+            var metrics = Instrumentation.metrics("foreign");
+            Runnable observer = () -> {
+            };
+
+            metrics.recordEmission();
+            metrics.recordLatency(observer, 1_000);
+            metrics.recordLatency(observer, 3_000);
+
+            assertThat(metricsOf("foreign").getEmissions(), is(1L));
+            var latency = metricsOf("foreign").getObserverLatencies().values().iterator().next();
+            assertThat(latency.getCount(), is(2L));
+            assertThat(latency.getMaxNanos(), is(3_000L));
+        }
+    }
+}
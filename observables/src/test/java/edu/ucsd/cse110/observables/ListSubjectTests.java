@@ -0,0 +1,225 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+@DisplayName("List Subjects")
+public class ListSubjectTests {
+    // An item with an identity (id) and contents (label) that can change independently
+    record Item(int id, String label) {
+        @Override
+        public String toString() {
+            return id + ":" + label;
+        }
+    }
+
+    static List<Item> items(int... ids) {
+        var items = new ArrayList<Item>();
+        for (var id : ids) items.add(new Item(id, "v0"));
+        return items;
+    }
+
+    static ListDiff<Item> diff(List<Item> from, List<Item> to) {
+        return ListDiff.compute(from, to, Item::id, Objects::equals);
+    }
+
+    static List<Item> applied(List<Item> from, ListDiff<Item> diff) {
+        var copy = new ArrayList<>(from);
+        diff.applyTo(copy);
+        return copy;
+    }
+
+    @Nested
+    @DisplayName("Given a list")
+    class GivenList {
+        List<Item> before = items(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+        @Test
+        @DisplayName("Then changing one item is a single change")
+        void ThenOneChange() {
+            var after = new ArrayList<>(before);
+            after.set(4, new Item(4, "v1"));
+
+            var diff = diff(before, after);
+
+            assertThat(diff.getChanges(), contains(ListChange.change(4, List.of(new Item(4, "v1")))));
+            assertThat(applied(before, diff), is(after));
+        }
+
+        @Test
+        @DisplayName("Then inserting a run of items is a single insert")
+        void ThenOneInsert() {
+            var after = new ArrayList<>(before);
+            after.addAll(3, items(10, 11, 12));
+
+            var diff = diff(before, after);
+
+            assertThat(diff.getChanges(), contains(ListChange.insert(3, items(10, 11, 12))));
+            assertThat(applied(before, diff), is(after));
+        }
+
+        @Test
+        @DisplayName("Then removing a run of items is a single remove")
+        void ThenOneRemove() {
+            var after = new ArrayList<>(before);
+            after.subList(2, 5).clear();
+
+            var diff = diff(before, after);
+
+            assertThat(diff.getChanges(), contains(ListChange.remove(2, 3)));
+            assertThat(applied(before, diff), is(after));
+        }
+
+        @Test
+        @DisplayName("Then moving an item to the front or the back is a single move")
+        void ThenOneMove() {
+            var toFront = new ArrayList<>(before);
+            toFront.add(0, toFront.remove(7));
+            var toBack = new ArrayList<>(before);
+            toBack.add(toBack.remove(0));
+
+            assertThat(diff(before, toFront).getChanges(), contains(ListChange.move(7, 0)));
+            assertThat(diff(before, toBack).getChanges(), contains(ListChange.move(0, 9)));
+            assertThat(applied(before, diff(before, toBack)), is(toBack));
+        }
+
+        @Test
+        @DisplayName("Then an identical list has no changes")
+        void ThenNoChanges() {
+            var diff = diff(before, new ArrayList<>(before));
+
+            assertThat(diff.isEmpty(), is(true));
+        }
+
+        @Test
+        @DisplayName("Then a repeated key is still handled correctly")
+        void ThenRepeatedKeys() {
+            var after = items(3, 3, 1, 1, 0);
+
+            assertThat(applied(before, diff(before, after)), is(after));
+            assertThat(applied(after, diff(after, before)), is(before));
+        }
+
+        @Test
+        @DisplayName("Then any rearrangement can be replayed from the changes")
+        void ThenRandomDiffsReplay() {
+            var random = new Random(110);
+            for (int round = 0; round < 2_000; round++) {
+                var from = randomList(random);
+                var to = randomList(random);
+
+                assertThat(applied(from, diff(from, to)), is(to));
+            }
+        }
+
+        @Test
+        @DisplayName("Then reversing the list takes one move per item at most")
+        void ThenReverseIsCompact() {
+            var reversed = new ArrayList<>(before);
+            Collections.reverse(reversed);
+
+            var diff = diff(before, reversed);
+
+            assertThat(diff.getChanges(), hasSize(9));
+            assertThat(applied(before, diff), is(reversed));
+        }
+
+        List<Item> randomList(Random random) {
+            var list = new ArrayList<Item>();
+            for (int id = 0; id < 12; id++) {
+                if (random.nextInt(3) > 0) list.add(new Item(id, "v" + random.nextInt(2)));
+            }
+            Collections.shuffle(list.subList(0, random.nextInt(list.size() + 1)), random);
+            return list;
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a list subject")
+    class GivenSubject {
+        ListSubject<Item> subject = new ListSubject<>(Item::id);
+        List<ListDiff<Item>> seen = new ArrayList<>();
+
+        @Test
+        @DisplayName("Then the first list is one insert of everything")
+        void ThenFirstListIsInsert() {
+            subject.observe(seen::add);
+
+            subject.setList(items(1, 2, 3));
+
+            assertThat(seen, hasSize(1));
+            assertThat(seen.get(0).getChanges(), contains(ListChange.insert(0, items(1, 2, 3))));
+            assertThat(subject.getList(), is(items(1, 2, 3)));
+        }
+
+        @Test
+        @DisplayName("Then observers can keep a copy up to date from the changes alone")
+        void ThenCopyFollows() {
+            var copy = new ArrayList<Item>();
+            subject.observe(diff -> diff.applyTo(copy));
+
+            subject.setList(items(1, 2, 3, 4));
+            subject.setList(items(4, 1, 3));
+            subject.setList(List.of(new Item(4, "v1"), new Item(5, "v0"), new Item(1, "v0")));
+
+            assertThat(copy, is(subject.getList()));
+        }
+
+        @Test
+        @DisplayName("Then changing the list it was given does not change the subject")
+        void ThenListIsCopied() {
+            var list = items(1, 2);
+            subject.setList(list);
+
+            list.add(new Item(3, "v0"));
+
+            assertThat(subject.getList(), is(items(1, 2)));
+        }
+
+        @Test
+        @DisplayName("Then in a batch the one diff delivered covers every change")
+        void ThenBatchDiffSpansAll() {
+            subject.setList(items(1, 2, 3));
+            var copy = new ArrayList<>(subject.getList());
+            subject.observe(seen::add);
+            subject.observe(diff -> diff.applyTo(copy));
+
+            Subjects.batch(() -> {
+                subject.setList(items(1, 2, 3, 4));
+                subject.setList(items(2, 3, 4));
+            });
+
+            assertThat(seen, hasSize(1));
+            assertThat(copy, is(items(2, 3, 4)));
+
+            subject.setList(items(2, 3));
+            assertThat(seen.get(1).getChanges(), contains(ListChange.remove(2, 1)));
+            assertThat(copy, is(items(2, 3)));
+        }
+
+        @Test
+        @DisplayName("Then an unchanged list is emitted with no changes")
+        void ThenUnchangedIsEmpty() {
+            subject.setList(items(1, 2));
+            subject.observe(seen::add);
+
+            subject.setList(items(1, 2));
+
+            assertThat(seen, hasSize(1));
+            assertThat(seen.get(0).getChanges(), is(empty()));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+
+import java.util.PriorityQueue;
+
+/**
+ * A scheduler on virtual time, for tests. Nothing runs until the clock is advanced.
+ */
+class ManualScheduler implements Scheduler {
+    private record Task(long dueAt, long order, Runnable task, Subscription subscription) {
+    }
+
+    private final PriorityQueue<Task> tasks = new PriorityQueue<>((a, b) -> a.dueAt != b.dueAt
+            ? Long.compare(a.dueAt, b.dueAt)
+            : Long.compare(a.order, b.order));
+    private long now = 0;
+    private long scheduled = 0;
+
+    @Override
+    public long nowMillis() {
+        return now;
+    }
+
+    @NonNull
+    @Override
+    public Subscription schedule(@NonNull Runnable task, long delayMillis) {
+        var subscription = Subscription.of(() -> {});
+        tasks.add(new Task(now + delayMillis, scheduled++, task, subscription));
+        return subscription;
+    }
+
+    /**
+     * Move the clock forward, running every task that comes due on the way, in order.
+     */
+    void advance(long millis) {
+        long until = now + millis;
+        while (!tasks.isEmpty() && tasks.peek().dueAt <= until) {
+            var next = tasks.poll();
+            now = next.dueAt;
+            if (!next.subscription.isDisposed()) next.task.run();
+        }
+        now = until;
+    }
+
+    /**
+     * @return How many tasks were ever scheduled.
+     */
+    long scheduledCount() {
+        return scheduled;
+    }
+}
@@ -5,13 +5,18 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DisplayName("Subject Observation")
 public class ObservationTests {
@@ -117,6 +122,263 @@ public class ObservationTests {
                 assertThat(subject.hasObservers(), is(false));
                 assertThat(subject.getObservers(), hasSize(0));
             }
+
+            @Test
+            @DisplayName("Then the other observers keep their order")
+            void ThenOthersKeepOrder() {
+                var calls = new ArrayList<String>();
+                subject.observe(value -> calls.add("first"));
+                var middle = subject.observe(value -> calls.add("middle"));
+                subject.observe(value -> calls.add("last"));
+
+                subject.removeObserver(middle);
+                subject.setValue(UPDATE_VALUE);
+
+                assertThat(calls, contains("first", "last"));
+            }
+
+            @Test
+            @DisplayName("Then unregistering during a notification takes effect on the next one")
+            void ThenRemovalDuringNotificationIsSafe() {
+                var calls = new ArrayList<String>();
+                subject.observe(new Observer<>() {
+                    @Override
+                    public void onChanged(@Nullable String value) {
+                        calls.add("once");
+                        subject.removeObserver(this);
+                    }
+                });
+                subject.observe(value -> calls.add("always"));
+
+                subject.setValue(UPDATE_VALUE);
+                subject.setValue(UPDATE_VALUE);
+
+                assertThat(calls, contains("once", "always", "always"));
+            }
+        }
+
+        @Nested
+        @DisplayName("When an observer is subscribed")
+        class WhenSubscribed {
+            @Test
+            @DisplayName("Then disposing the subscription unregisters it")
+            void ThenDisposingUnregisters() {
+                var calls = new ArrayList<String>();
+                var subscription = subject.subscribe(calls::add);
+                subject.setValue(UPDATE_VALUE);
+
+                subscription.dispose();
+                subject.setValue(UPDATE_VALUE);
+
+                assertThat(subscription.isDisposed(), is(true));
+                assertThat(subject.hasObservers(), is(false));
+                assertThat(calls, contains(UPDATE_VALUE));
+            }
+
+            @Test
+            @DisplayName("Then disposing twice leaves other observers alone")
+            void ThenDisposingTwiceIsHarmless() {
+                var subscription = subject.subscribe(value -> {
+                });
+                subject.observe(value -> {
+                });
+
+                subscription.dispose();
+                subscription.dispose();
+
+                assertThat(subject.getObservers(), hasSize(1));
+            }
+        }
+
+        @Nested
+        @DisplayName("When an observer is tied to a lifecycle")
+        class WhenObservedWithOwner {
+            FakeLifecycleOwner owner = new FakeLifecycleOwner();
+
+            @Test
+            @DisplayName("Then it is unregistered when the owner is destroyed")
+            void ThenRemovedOnDestroy() {
+                var calls = new ArrayList<String>();
+                var subscription = subject.observe(owner, calls::add);
+                subject.setValue(UPDATE_VALUE);
+
+                owner.destroy();
+                subject.setValue(UPDATE_VALUE);
+
+                assertThat(calls, contains(UPDATE_VALUE));
+                assertThat(subscription.isDisposed(), is(true));
+                assertThat(subject.hasObservers(), is(false));
+                assertThat(owner.observerCount(), is(0));
+            }
+
+            @Test
+            @DisplayName("Then disposing it early stops watching the owner too")
+            void ThenDisposingEarlyReleasesOwner() {
+                var subscription = subject.observe(owner, value -> {
+                });
+
+                subscription.dispose();
+
+                assertThat(subject.hasObservers(), is(false));
+                assertThat(owner.observerCount(), is(0));
+            }
+
+            @Test
+            @DisplayName("Then nothing is registered if the owner is already destroyed")
+            void ThenDestroyedOwnerRegistersNothing() {
+                owner.destroy();
+
+                var subscription = subject.observe(owner, value -> {
+                });
+
+                assertThat(subscription.isDisposed(), is(true));
+                assertThat(subject.hasObservers(), is(false));
+            }
+
+            @Test
+            @DisplayName("Then observers do not pile up as owners come and go")
+            void ThenCountStaysFlat() {
+                for (int i = 0; i < 1000; i++) {
+                    var view = new FakeLifecycleOwner();
+                    subject.observe(view, value -> {
+                    });
+                    subject.setValue(UPDATE_VALUE);
+                    view.destroy();
+                }
+
+                assertThat(subject.getObservers(), hasSize(0));
+            }
+        }
+
+        @Nested
+        @DisplayName("When an observer sets the value from its notification")
+        class WhenReentrant {
+            @Test
+            @DisplayName("Then 10,000 nested sets are delivered in order without overflowing the stack")
+            void ThenDeliveredIteratively() {
+                var counter = new PlainMutableSubject<Integer>();
+                var first = new ArrayList<Integer>();
+                var second = new ArrayList<Integer>();
+                counter.observe(value -> {
+                    first.add(value);
+                    if (value < 10_000) counter.setValue(value + 1);
+                });
+                counter.observe(second::add);
+
+                counter.setValue(0);
+
+                assertThat(first, hasSize(10_001));
+                assertThat(second, is(first));
+                for (int i = 0; i <= 10_000; i++) {
+                    assertThat(first.get(i), is(i));
+                }
+            }
+
+            @Test
+            @DisplayName("Then later observers see the values in the order they were set")
+            void ThenOrderIsKept() {
+                subject.observe(value -> {
+                    if ("draft".equals(value)) subject.setValue("final");
+                });
+                var seen = new ArrayList<String>();
+                subject.observe(seen::add);
+
+                subject.setValue("draft");
+
+                assertThat(seen, contains("draft", "final"));
+            }
+
+            @Test
+            @DisplayName("Then an observer that throws does not stop later deliveries")
+            void ThenThrowingObserverDoesNotWedge() {
+                var seen = new ArrayList<String>();
+                subject.observe(value -> {
+                    if ("bad".equals(value)) throw new IllegalStateException();
+                });
+                subject.observe(seen::add);
+
+                assertThrows(IllegalStateException.class, () -> subject.setValue("bad"));
+                subject.setValue(UPDATE_VALUE);
+
+                assertThat(seen, contains(UPDATE_VALUE));
+            }
+        }
+
+        @Nested
+        @DisplayName("When values are set from many threads")
+        class WhenSetConcurrently {
+            @Test
+            @DisplayName("Then observers are never called concurrently and miss nothing")
+            void ThenDeliveriesAreSerial() throws InterruptedException {
+                var counter = new PlainMutableSubject<Integer>();
+                var inFlight = new AtomicInteger();
+                var overlaps = new AtomicInteger();
+                var delivered = new AtomicInteger();
+                counter.observe(value -> {
+                    if (inFlight.incrementAndGet() > 1) overlaps.incrementAndGet();
+                    delivered.incrementAndGet();
+                    inFlight.decrementAndGet();
+                });
+
+                int threads = 8;
+                int perThread = 10_000;
+                var start = new CountDownLatch(1);
+                var pool = Executors.newFixedThreadPool(threads);
+                for (int t = 0; t < threads; t++) {
+                    pool.execute(() -> {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        for (int i = 0; i < perThread; i++) {
+                            counter.setValue(i);
+                        }
+                    });
+                }
+                start.countDown();
+                pool.shutdown();
+                assertThat(pool.awaitTermination(10, TimeUnit.SECONDS), is(true));
+
+                assertThat(overlaps.get(), is(0));
+                assertThat(delivered.get(), is(threads * perThread));
+            }
+        }
+
+        @Nested
+        @DisplayName("When observers are registered from many threads")
+        class WhenRegisteredConcurrently {
+            @Test
+            @DisplayName("Then every observer is registered exactly once")
+            void ThenNoneAreLost() throws InterruptedException {
+                int threads = 8;
+                int perThread = 500;
+                var start = new CountDownLatch(1);
+                var pool = Executors.newFixedThreadPool(threads);
+                for (int t = 0; t < threads; t++) {
+                    pool.execute(() -> {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        for (int i = 0; i < perThread; i++) {
+                            // A distinct instance each time (a non-capturing lambda would be shared)
+                            var observer = subject.observe(new Observer<>() {
+                                @Override
+                                public void onChanged(@Nullable String value) {
+                                }
+                            });
+                            subject.observe(observer);
+                        }
+                    });
+                }
+                start.countDown();
+                pool.shutdown();
+                assertThat(pool.awaitTermination(10, TimeUnit.SECONDS), is(true));
+
+                assertThat(subject.getObservers(), hasSize(threads * perThread));
+            }
         }
 
         @Nested
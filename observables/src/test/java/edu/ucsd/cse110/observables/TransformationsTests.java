@@ -1,14 +1,17 @@
 package edu.ucsd.cse110.observables;
 
-import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -21,12 +24,6 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 @DisplayName("Transformations")
 public class TransformationsTests {
-    @AfterAll
-    static void cleanup() {
-        // For finalizer coverage. Don't worry about this.
-        System.gc();
-    }
-
     @Test
     @DisplayName("mapping (map)")
     void testMap() {
@@ -107,4 +104,343 @@ public class TransformationsTests {
             assertThat(outputLatch.getCount(), is(0L));
         });
     }
+
+    @Test
+    @DisplayName("switching lets go of old sources right away (switchMap)")
+    void testSwitchMapReleasesOldSources() {
+        var left = new PlainMutableSubject<String>();
+        var right = new PlainMutableSubject<String>();
+        var trigger = new PlainMutableSubject<Boolean>();
+        var output = Transformations.switchMap(trigger, b -> b ? right : left);
+
+        // No System.gc(): every switch must unsubscribe on the spot
+        for (int i = 0; i < 100_000; i++) {
+            trigger.setValue(i % 2 == 0);
+            int active = left.getObservers().size() + right.getObservers().size();
+            assertThat(active, is(1));
+        }
+
+        // Only the trigger and the current source are still registered
+        if (output instanceof PlainMediatorSubject<String> mediator) {
+            assertThat(mediator.getSourceSubjects(), containsInAnyOrder(trigger, left));
+        }
+        assertThat(right.hasObservers(), is(false));
+    }
+
+    @Test
+    @DisplayName("switching to fresh sources does not keep the old ones observed (switchMap)")
+    void testSwitchMapToFreshSources() {
+        var trigger = new PlainMutableSubject<Integer>();
+        var switchedTo = new ArrayList<PlainMutableSubject<Integer>>();
+        var output = Transformations.switchMap(trigger, i -> {
+            var source = new PlainMutableSubject<>(i);
+            switchedTo.add(source);
+            return source;
+        });
+
+        for (int i = 0; i < 100_000; i++) {
+            trigger.setValue(i);
+        }
+
+        long stillObserved = switchedTo.stream().filter(Subject::hasObservers).count();
+        assertThat(stillObserved, is(1L));
+        assertThat(switchedTo.get(switchedTo.size() - 1).hasObservers(), is(true));
+    }
+
+    @Test
+    @DisplayName("mediators subscribe once per source and unsubscribe on removal")
+    void testMediatorSources() {
+        var input = new PlainMutableSubject<String>();
+        var mediator = new PlainMediatorSubject<String>();
+        Observer<String> forward = mediator::setValue;
+
+        var first = mediator.addSource(input, forward);
+        var second = mediator.addSource(input, forward);
+
+        assertThat(second, is(first));
+        assertThat(input.getObservers(), hasSize(1));
+        assertThat(mediator.getSourceSubjects(), hasSize(1));
+
+        mediator.removeSource(input);
+
+        assertThat(first.isDisposed(), is(true));
+        assertThat(input.hasObservers(), is(false));
+        assertThat(mediator.getSourceSubjects(), hasSize(0));
+    }
+
+    @Test
+    @DisplayName("disposing a source subscription removes just that source")
+    void testMediatorSourceSubscription() {
+        var a = new PlainMutableSubject<String>();
+        var b = new PlainMutableSubject<String>();
+        var mediator = new PlainMediatorSubject<String>();
+
+        var fromA = mediator.addSource(a, mediator::setValue);
+        mediator.addSource(b, mediator::setValue);
+        fromA.dispose();
+        fromA.dispose();
+
+        assertThat(a.hasObservers(), is(false));
+        assertThat(b.hasObservers(), is(true));
+        assertThat(mediator.getSourceSubjects(), contains(b));
+
+        a.setValue("ignored");
+        b.setValue("forwarded");
+        assertThat(mediator.getValue(), is("forwarded"));
+    }
+
+    @Test
+    @DisplayName("skipping repeats (distinctUntilChanged)")
+    void testDistinctUntilChanged() {
+        var input = new PlainMutableSubject<String>();
+        var output = Transformations.distinctUntilChanged(input);
+
+        var seen = new ArrayList<String>();
+        output.observe(seen::add);
+
+        for (var value : List.of("a", "a", "b", "b", "b", "a", "a")) {
+            input.setValue(value);
+        }
+
+        assertThat(seen, contains("a", "b", "a"));
+        assertThat(output.getValue(), is("a"));
+    }
+
+    @Test
+    @DisplayName("skipping repeats from a simulated running routine")
+    void testDistinctUntilChangedOnRunningRoutine() {
+        // A routine screen republishes its display state once per second for an hour:
+        // elapsed minutes, goal time and whether it is paused.
+        var minutes = new PlainMutableSubject<String>();
+        var goal = new PlainMutableSubject<String>();
+        var paused = new PlainMutableSubject<Boolean>();
+        int[] plainCalls = {0};
+        int[] distinctCalls = {0};
+        for (Subject<?> subject : List.of(minutes, goal, paused)) {
+            subject.observe(value -> plainCalls[0]++);
+            Transformations.distinctUntilChanged(subject).observe(value -> distinctCalls[0]++);
+        }
+
+        for (int second = 0; second < 3600; second++) {
+            minutes.setValue(second < 60 ? "-" : String.valueOf(second / 60));
+            goal.setValue("60");
+            paused.setValue(false);
+        }
+
+        // 3 observers * 3600 ticks without filtering; with it, one call per
+        // distinct minute (60) plus the first goal and paused values.
+        assertThat(plainCalls[0], is(3 * 3600));
+        assertThat(distinctCalls[0], is(60 + 1 + 1));
+    }
+
+    @Test
+    @DisplayName("distinct subjects drop equal values at the source")
+    void testDistinctSubject() {
+        var subject = PlainMutableSubject.<String>distinct();
+        var seen = new ArrayList<String>();
+        subject.observe(seen::add);
+
+        subject.setValue("a");
+        subject.setValue(new String("a"));
+        subject.setValue("b");
+
+        assertThat(seen, contains("a", "b"));
+    }
+
+    @Test
+    @DisplayName("distinct subjects can compare with a custom strategy")
+    void testDistinctBySubject() {
+        var subject = PlainMutableSubject.<String>distinctBy(String::equalsIgnoreCase);
+        var seen = new ArrayList<String>();
+        subject.observe(seen::add);
+
+        subject.setValue("hello");
+        subject.setValue("HELLO");
+        subject.setValue("world");
+
+        assertThat(seen, contains("hello", "world"));
+        assertThat(subject.getValue(), is("world"));
+    }
+
+    @Test
+    @DisplayName("keeping some values (filter)")
+    void testFilter() {
+        var input = new PlainMutableSubject<Integer>();
+        var output = Transformations.filter(input, i -> i % 2 == 0);
+
+        var seen = new ArrayList<Integer>();
+        output.observe(seen::add);
+        for (int i = 1; i <= 6; i++) {
+            input.setValue(i);
+        }
+
+        assertThat(seen, contains(2, 4, 6));
+        assertThat(output.getValue(), is(6));
+    }
+
+    @Test
+    @DisplayName("running totals (scan)")
+    void testScan() {
+        var input = new PlainMutableSubject<Integer>();
+        var output = Transformations.scan(input, 0, Integer::sum);
+        assertThat(output.getValue(), is(0));
+
+        var seen = new ArrayList<Integer>();
+        output.observe(seen::add);
+        input.setValue(1);
+        input.setValue(2);
+        input.setValue(3);
+
+        assertThat(seen, contains(1, 3, 6));
+    }
+
+    @Test
+    @DisplayName("holding a value until the source has one (startWith)")
+    void testStartWith() {
+        var input = new PlainMutableSubject<String>();
+        var output = Transformations.startWith(input, "loading");
+        assertThat(output.isInitialized(), is(true));
+        assertThat(output.getValue(), is("loading"));
+
+        input.setValue("ready");
+        assertThat(output.getValue(), is("ready"));
+
+        var alreadySet = new PlainMutableSubject<>("current");
+        assertThat(Transformations.startWith(alreadySet, "loading").getValue(), is("current"));
+    }
+
+    @Test
+    @DisplayName("combining two sources (combineLatest)")
+    void testCombineLatest() {
+        var name = new PlainMutableSubject<String>();
+        var minutes = new PlainMutableSubject<Integer>();
+        var output = Transformations.combineLatest(name, minutes, (n, m) -> n + ": " + m);
+
+        var seen = new ArrayList<String>();
+        output.observe(seen::add);
+
+        // Nothing until both have a value
+        minutes.setValue(1);
+        assertThat(output.isInitialized(), is(false));
+
+        name.setValue("Morning");
+        minutes.setValue(2);
+        name.setValue("Evening");
+
+        assertThat(seen, contains("Morning: 1", "Morning: 2", "Evening: 2"));
+    }
+
+    @Test
+    @DisplayName("combining sources that already have values (combineLatest)")
+    void testCombineLatestInitialized() {
+        var a = new PlainMutableSubject<>(1);
+        var b = new PlainMutableSubject<>(2);
+
+        var output = Transformations.combineLatest(a, b, Integer::sum);
+
+        assertThat(output.getValue(), is(3));
+    }
+
+    @Test
+    @DisplayName("combining a batch of changes once (combineLatest)")
+    void testCombineLatestBatched() {
+        var a = new PlainMutableSubject<>(1);
+        var b = new PlainMutableSubject<>(2);
+        var output = Transformations.combineLatest(a, b, Integer::sum);
+        var seen = new ArrayList<Integer>();
+        output.observe(seen::add);
+
+        Subjects.batch(() -> {
+            a.setValue(10);
+            b.setValue(20);
+        });
+
+        // The combined subject is set during the batch too, so it notifies once, and
+        // never with a mix of old and new values (no 12 or 21)
+        assertThat(seen, contains(30));
+    }
+
+    @Test
+    @DisplayName("combining many sources (combineLatest)")
+    void testCombineLatestMany() {
+        var sources = new ArrayList<PlainMutableSubject<Integer>>();
+        for (int i = 0; i < 5; i++) {
+            sources.add(new PlainMutableSubject<>());
+        }
+        var output = Transformations.combineLatest(sources,
+                values -> values.stream().mapToInt(Integer::intValue).sum());
+
+        for (int i = 0; i < 4; i++) {
+            sources.get(i).setValue(i);
+        }
+        assertThat(output.isInitialized(), is(false));
+
+        sources.get(4).setValue(4);
+        assertThat(output.getValue(), is(0 + 1 + 2 + 3 + 4));
+
+        sources.get(0).setValue(100);
+        assertThat(output.getValue(), is(100 + 1 + 2 + 3 + 4));
+    }
+
+    @Test
+    @DisplayName("waiting for the source to settle (debounce)")
+    void testDebounce() {
+        var scheduler = new ManualScheduler();
+        var input = new PlainMutableSubject<String>();
+        var output = Transformations.debounce(input, 300, scheduler);
+        var seen = new ArrayList<String>();
+        output.observe(seen::add);
+
+        // Typing: a key every 100 ms
+        for (var text : List.of("h", "he", "hel", "hell", "hello")) {
+            input.setValue(text);
+            scheduler.advance(100);
+        }
+        assertThat(seen, hasSize(0));
+
+        scheduler.advance(200);
+        assertThat(seen, contains("hello"));
+
+        // A burst keeps rescheduling one task instead of one per value
+        assertThat(scheduler.scheduledCount() < 5, is(true));
+
+        input.setValue("hello!");
+        scheduler.advance(1000);
+        assertThat(seen, contains("hello", "hello!"));
+    }
+
+    @Test
+    @DisplayName("limiting the rate but keeping the last value (throttleLatest)")
+    void testThrottleLatest() {
+        var scheduler = new ManualScheduler();
+        var input = new PlainMutableSubject<Integer>();
+        var output = Transformations.throttleLatest(input, 1000, scheduler);
+        var seen = new ArrayList<Integer>();
+        output.observe(seen::add);
+
+        // Ten values per second for two and a half seconds
+        for (int i = 0; i < 25; i++) {
+            input.setValue(i);
+            scheduler.advance(100);
+        }
+        scheduler.advance(5000);
+
+        // The first right away, then the latest at the end of every period, ending on the last
+        assertThat(seen, contains(0, 9, 19, 24));
+    }
+
+    @Test
+    @DisplayName("throttling lets a lone value straight through (throttleLatest)")
+    void testThrottleLatestIdle() {
+        var scheduler = new ManualScheduler();
+        var input = new PlainMutableSubject<Integer>();
+        var output = Transformations.throttleLatest(input, 1000, scheduler);
+
+        input.setValue(1);
+        assertThat(output.getValue(), is(1));
+
+        scheduler.advance(5000);
+        input.setValue(2);
+        assertThat(output.getValue(), is(2));
+    }
 }
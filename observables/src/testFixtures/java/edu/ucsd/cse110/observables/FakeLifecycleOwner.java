@@ -0,0 +1,52 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A lifecycle owner for tests that only moves when told to, e.g. a fragment view. Shared
+ * with the tests of modules that use this one, as a test fixture.
+ */
+public class FakeLifecycleOwner extends Lifecycle implements LifecycleOwner {
+    private final List<LifecycleObserver> observers = new ArrayList<>();
+    private State state = State.RESUMED;
+
+    @NonNull
+    @Override
+    public Lifecycle getLifecycle() {
+        return this;
+    }
+
+    @Override
+    public void addObserver(@NonNull LifecycleObserver observer) {
+        observers.add(observer);
+    }
+
+    @Override
+    public void removeObserver(@NonNull LifecycleObserver observer) {
+        observers.remove(observer);
+    }
+
+    @NonNull
+    @Override
+    public State getCurrentState() {
+        return state;
+    }
+
+    public int observerCount() {
+        return observers.size();
+    }
+
+    public void destroy() {
+        state = State.DESTROYED;
+        for (var observer : List.copyOf(observers)) {
+            ((LifecycleEventObserver) observer).onStateChanged(this, Event.ON_DESTROY);
+        }
+    }
+}